@@ -0,0 +1,141 @@
+package com.flightapp.gateway.cache;
+
+import com.flightapp.gateway.dto.ValidateTokenResponse;
+import com.flightapp.gateway.util.JwtUtil;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Caches successful remote token validations keyed by the SHA-256 of the token and coalesces
+ * concurrent validations of the same token into a single call to auth-service.
+ */
+@Component
+public class ValidatedTokenCache {
+
+    private static final String METRIC_NAME = "gateway.token.cache.requests";
+
+    private final JwtUtil jwtUtil;
+    private final Duration maxTtl;
+    private final Cache<String, CachedValidation> cache;
+    private final ConcurrentMap<String, Mono<ValidateTokenResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter coalesced;
+
+    public ValidatedTokenCache(JwtUtil jwtUtil,
+                               MeterRegistry meterRegistry,
+                               @Value("${jwt.validation.cache.max-size:10000}") long maxSize,
+                               @Value("${jwt.validation.cache.max-ttl:60s}") Duration maxTtl) {
+        this.jwtUtil = jwtUtil;
+        this.maxTtl = maxTtl;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, CachedValidation>() {
+                    @Override
+                    public long expireAfterCreate(String key, CachedValidation value, long currentTime) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return value.ttlNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, CachedValidation value, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+
+        this.hits = Counter.builder(METRIC_NAME).tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder(METRIC_NAME).tag("result", "miss").register(meterRegistry);
+        this.coalesced = Counter.builder(METRIC_NAME).tag("result", "coalesced").register(meterRegistry);
+        Gauge.builder("gateway.token.cache.size", cache, Cache::estimatedSize).register(meterRegistry);
+        Gauge.builder("gateway.token.cache.in-flight", inFlight, ConcurrentMap::size).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached validation for the token, joins a validation already in flight for it, or
+     * starts a new one with the given loader. Only valid responses are cached.
+     */
+    public Mono<ValidateTokenResponse> validate(String token, Function<String, Mono<ValidateTokenResponse>> loader) {
+        String key = hash(token);
+
+        CachedValidation cached = cache.getIfPresent(key);
+        if (cached != null) {
+            hits.increment();
+            return Mono.just(cached.response());
+        }
+
+        Mono<ValidateTokenResponse> existing = inFlight.get(key);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+
+        AtomicReference<Mono<ValidateTokenResponse>> shared = new AtomicReference<>();
+        shared.set(loader.apply(token)
+                .doOnNext(response -> store(key, token, response))
+                .doFinally(signal -> inFlight.remove(key, shared.get()))
+                .cache());
+
+        existing = inFlight.putIfAbsent(key, shared.get());
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        misses.increment();
+        return shared.get();
+    }
+
+    private void store(String key, String token, ValidateTokenResponse response) {
+        if (!Boolean.TRUE.equals(response.getValid())) {
+            return;
+        }
+
+        Duration ttl = maxTtl;
+        Instant expiration = jwtUtil.peekExpiration(token);
+        if (expiration != null) {
+            Duration untilExpiry = Duration.between(Instant.now(), expiration);
+            if (untilExpiry.compareTo(ttl) < 0) {
+                ttl = untilExpiry;
+            }
+        }
+
+        if (!ttl.isNegative() && !ttl.isZero()) {
+            cache.put(key, new CachedValidation(response, ttl.toNanos()));
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record CachedValidation(ValidateTokenResponse response, long ttlNanos) {
+    }
+}
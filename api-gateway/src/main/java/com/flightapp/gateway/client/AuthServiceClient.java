@@ -0,0 +1,142 @@
+package com.flightapp.gateway.client;
+
+import com.flightapp.gateway.dto.BatchValidateTokenRequest;
+import com.flightapp.gateway.dto.BatchValidateTokenResponse;
+import com.flightapp.gateway.dto.ValidateTokenRequest;
+import com.flightapp.gateway.dto.ValidateTokenResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remote token validation against auth-service. When batching is enabled, validations requested within
+ * a short window are collected and sent as a single call to {@code /api/auth/validate/batch}.
+ */
+@Component
+@Slf4j
+public class AuthServiceClient {
+
+    private static final String AUTH_SERVICE_URL = "http://auth-service";
+
+    private final WebClient webClient;
+    private final boolean batchingEnabled;
+    private final long batchWindowNanos;
+    private final int maxBatchSize;
+
+    private final Object lock = new Object();
+    private List<PendingValidation> pending = new ArrayList<>();
+    private Disposable scheduledFlush;
+
+    public AuthServiceClient(WebClient.Builder webClientBuilder,
+                             @Value("${jwt.validation.batch.enabled:false}") boolean batchingEnabled,
+                             @Value("${jwt.validation.batch.window:2ms}") Duration batchWindow,
+                             @Value("${jwt.validation.batch.max-size:64}") int maxBatchSize) {
+        this.webClient = webClientBuilder.build();
+        this.batchingEnabled = batchingEnabled;
+        this.batchWindowNanos = batchWindow.toNanos();
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public Mono<ValidateTokenResponse> validateToken(String token) {
+        if (!batchingEnabled) {
+            return validateSingle(token);
+        }
+        return Mono.create(sink -> enqueue(new PendingValidation(token, sink)));
+    }
+
+    private Mono<ValidateTokenResponse> validateSingle(String token) {
+        ValidateTokenRequest request = ValidateTokenRequest.builder()
+                .token(token)
+                .build();
+
+        return webClient
+                .post()
+                .uri(AUTH_SERVICE_URL + "/api/auth/validate")
+                .bodyValue(request)
+                .retrieve()
+                .bodyToMono(ValidateTokenResponse.class)
+                .onErrorReturn(unavailable());
+    }
+
+    private void enqueue(PendingValidation validation) {
+        List<PendingValidation> batch = null;
+        synchronized (lock) {
+            pending.add(validation);
+            if (pending.size() >= maxBatchSize) {
+                batch = drain();
+            } else if (pending.size() == 1) {
+                scheduledFlush = Schedulers.parallel().schedule(this::flush, batchWindowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+    }
+
+    private void flush() {
+        List<PendingValidation> batch;
+        synchronized (lock) {
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = drain();
+        }
+        send(batch);
+    }
+
+    private List<PendingValidation> drain() {
+        if (scheduledFlush != null) {
+            scheduledFlush.dispose();
+            scheduledFlush = null;
+        }
+        List<PendingValidation> batch = pending;
+        pending = new ArrayList<>();
+        return batch;
+    }
+
+    private void send(List<PendingValidation> batch) {
+        List<String> tokens = new ArrayList<>(batch.size());
+        for (PendingValidation validation : batch) {
+            tokens.add(validation.token());
+        }
+
+        webClient.post()
+                .uri(AUTH_SERVICE_URL + "/api/auth/validate/batch")
+                .bodyValue(BatchValidateTokenRequest.builder().tokens(tokens).build())
+                .retrieve()
+                .bodyToMono(BatchValidateTokenResponse.class)
+                .defaultIfEmpty(new BatchValidateTokenResponse())
+                .subscribe(response -> complete(batch, response.getResults()),
+                        error -> {
+                            log.error("Batch token validation failed for {} tokens: {}", batch.size(), error.getMessage());
+                            complete(batch, null);
+                        });
+    }
+
+    private void complete(List<PendingValidation> batch, List<ValidateTokenResponse> results) {
+        for (int i = 0; i < batch.size(); i++) {
+            boolean answered = results != null && i < results.size() && results.get(i) != null;
+            batch.get(i).sink().success(answered ? results.get(i) : unavailable());
+        }
+    }
+
+    private static ValidateTokenResponse unavailable() {
+        return ValidateTokenResponse.builder()
+                .valid(false)
+                .message("Auth service unavailable")
+                .build();
+    }
+
+    private record PendingValidation(String token, MonoSink<ValidateTokenResponse> sink) {
+    }
+}
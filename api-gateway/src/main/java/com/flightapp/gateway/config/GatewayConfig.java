@@ -25,11 +25,19 @@ public class GatewayConfig {
         return builder.routes()
                 // Flight Service Routes - All secured with JWT
                 .route("flight-search", r -> r
-                        .path("/api/flights/search")
+                        .path("/api/flights/search/**")
                         .filters(f -> f.filter(jwtAuthenticationFilter))
                         .uri(FLIGHT_SERVICE_URI))
                 .route("flight-add", r -> r
-                        .path("/api/flights/add")
+                        .path("/api/flights/add", "/api/flights/add/**")
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri(FLIGHT_SERVICE_URI))
+                .route("flight-schedules", r -> r
+                        .path("/api/flights/schedules", "/api/flights/schedules/**")
+                        .filters(f -> f.filter(jwtAuthenticationFilter))
+                        .uri(FLIGHT_SERVICE_URI))
+                .route("flight-holds", r -> r
+                        .path("/api/flights/holds", "/api/flights/holds/**")
                         .filters(f -> f.filter(jwtAuthenticationFilter))
                         .uri(FLIGHT_SERVICE_URI))
                 .route("flight-inventory", r -> r
@@ -0,0 +1,17 @@
+package com.flightapp.gateway.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchValidateTokenResponse {
+
+    private List<ValidateTokenResponse> results;
+}
@@ -1,15 +1,19 @@
 package com.flightapp.gateway.filter;
 
-import com.flightapp.gateway.dto.ValidateTokenRequest;
-import com.flightapp.gateway.dto.ValidateTokenResponse;
+import com.flightapp.gateway.cache.ValidatedTokenCache;
+import com.flightapp.gateway.client.AuthServiceClient;
+import com.flightapp.gateway.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.gateway.filter.GatewayFilter;
 import org.springframework.cloud.gateway.filter.GatewayFilterChain;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.http.server.reactive.ServerHttpResponse;
 import org.springframework.stereotype.Component;
-import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Mono;
 
@@ -17,11 +21,29 @@ import reactor.core.publisher.Mono;
 @Slf4j
 public class JwtAuthenticationFilter implements GatewayFilter {
 
-    private final WebClient.Builder webClientBuilder;
-    private static final String AUTH_SERVICE_URL = "http://auth-service";
+    private static final String LOCAL_MODE = "local";
 
-    public JwtAuthenticationFilter(WebClient.Builder webClientBuilder) {
-        this.webClientBuilder = webClientBuilder;
+    public static final String USER_NAME_HEADER = "X-User-Name";
+    public static final String USER_ROLE_HEADER = "X-User-Role";
+    public static final String USER_EMAIL_HEADER = "X-User-Email";
+
+    private final AuthServiceClient authServiceClient;
+    private final JwtUtil jwtUtil;
+    private final ValidatedTokenCache validatedTokenCache;
+    private final boolean localValidation;
+    private final boolean remoteFallback;
+
+    public JwtAuthenticationFilter(AuthServiceClient authServiceClient,
+                                   JwtUtil jwtUtil,
+                                   ValidatedTokenCache validatedTokenCache,
+                                   @Value("${jwt.validation.mode:local}") String validationMode,
+                                   @Value("${jwt.validation.remote-fallback:false}") boolean remoteFallback) {
+        this.authServiceClient = authServiceClient;
+        this.jwtUtil = jwtUtil;
+        this.validatedTokenCache = validatedTokenCache;
+        this.localValidation = LOCAL_MODE.equalsIgnoreCase(validationMode);
+        this.remoteFallback = remoteFallback;
+        log.info("JWT validation mode: {} (remote fallback: {})", localValidation ? "local" : "remote", remoteFallback);
     }
 
     @Override
@@ -41,17 +63,41 @@ public class JwtAuthenticationFilter implements GatewayFilter {
 
         String token = authHeader.substring(7);
 
-        // Call auth-service to validate token
-        return validateTokenWithAuthService(token)
+        if (localValidation) {
+            return validateLocally(token, exchange, chain);
+        }
+        return validateRemotely(token, exchange, chain);
+    }
+
+    private Mono<Void> validateLocally(String token, ServerWebExchange exchange, GatewayFilterChain chain) {
+        Claims claims;
+        try {
+            claims = jwtUtil.extractAllClaims(token);
+        } catch (ExpiredJwtException e) {
+            log.warn("Token expired for user: {}", e.getClaims().getSubject());
+            return onError(exchange, HttpStatus.UNAUTHORIZED);
+        } catch (JwtException | IllegalArgumentException e) {
+            if (remoteFallback) {
+                log.debug("Local token verification failed, falling back to auth-service: {}", e.getMessage());
+                return validateRemotely(token, exchange, chain);
+            }
+            log.warn("Token verification failed: {}", e.getMessage());
+            return onError(exchange, HttpStatus.UNAUTHORIZED);
+        }
+
+        log.debug("Token verified locally for user: {}", claims.getSubject());
+        return chain.filter(withUserHeaders(exchange,
+                claims.getSubject(),
+                claims.get("role", String.class),
+                claims.get("email", String.class)));
+    }
+
+    private Mono<Void> validateRemotely(String token, ServerWebExchange exchange, GatewayFilterChain chain) {
+        return validatedTokenCache.validate(token, authServiceClient::validateToken)
                 .flatMap(response -> {
                     if (Boolean.TRUE.equals(response.getValid())) {
                         log.info("Token validated successfully for user: {}", response.getUsername());
-
-                        ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
-                                .header("X-User-Name", response.getUsername())
-                                .build();
-
-                        return chain.filter(exchange.mutate().request(modifiedRequest).build());
+                        return chain.filter(withUserHeaders(exchange, response.getUsername(), null, null));
                     } else {
                         log.warn("Token validation failed: {}", response.getMessage());
                         return onError(exchange, HttpStatus.UNAUTHORIZED);
@@ -63,21 +109,24 @@ public class JwtAuthenticationFilter implements GatewayFilter {
                 });
     }
 
-    private Mono<ValidateTokenResponse> validateTokenWithAuthService(String token) {
-        ValidateTokenRequest request = ValidateTokenRequest.builder()
-                .token(token)
+    private ServerWebExchange withUserHeaders(ServerWebExchange exchange, String username, String role, String email) {
+        // Drop any identity headers sent by the client so downstream services only see verified values
+        ServerHttpRequest modifiedRequest = exchange.getRequest().mutate()
+                .headers(headers -> {
+                    headers.remove(USER_NAME_HEADER);
+                    headers.remove(USER_ROLE_HEADER);
+                    headers.remove(USER_EMAIL_HEADER);
+                    headers.set(USER_NAME_HEADER, username);
+                    if (role != null) {
+                        headers.set(USER_ROLE_HEADER, role);
+                    }
+                    if (email != null) {
+                        headers.set(USER_EMAIL_HEADER, email);
+                    }
+                })
                 .build();
 
-        return webClientBuilder.build()
-                .post()
-                .uri(AUTH_SERVICE_URL + "/api/auth/validate")
-                .bodyValue(request)
-                .retrieve()
-                .bodyToMono(ValidateTokenResponse.class)
-                .onErrorReturn(ValidateTokenResponse.builder()
-                        .valid(false)
-                        .message("Auth service unavailable")
-                        .build());
+        return exchange.mutate().request(modifiedRequest).build();
     }
 
     private Mono<Void> onError(ServerWebExchange exchange, HttpStatus httpStatus) {
@@ -0,0 +1,108 @@
+package com.flightapp.auth.cache;
+
+import com.flightapp.auth.repository.UserRepository;
+import com.flightapp.auth.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Bloom filters over taken usernames and emails, warmed from the users table at startup. A negative answer
+ * means the value is definitely available; until warm-up completes every value is reported as possibly taken.
+ *
+ * <p>Accounts created through other instances, including bulk imports, are picked up by polling the rows changed
+ * since the last poll, like {@link RevocationRegistry} does, so they show up within one poll interval.
+ */
+@Component
+@Slf4j
+public class AccountAvailabilityFilter {
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // updated_at comes from each instance's own clock, so rows committed a little late can carry an older
+    // timestamp than ones already seen; re-reading this much costs little since adding is idempotent
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final BloomFilter usernames;
+    private final BloomFilter emails;
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile LocalDateTime since;
+    private volatile boolean ready;
+
+    public AccountAvailabilityFilter(UserRepository userRepository,
+                                     @Value("${auth.availability.expected-users:1000000}") long expectedUsers,
+                                     @Value("${auth.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userRepository = userRepository;
+        this.usernames = new BloomFilter(expectedUsers, falsePositiveRate);
+        this.emails = new BloomFilter(expectedUsers, falsePositiveRate);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        poll();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.availability.poll-interval-ms:5000}")
+    public void poll() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        // a failed warm-up is retried on the next poll
+        (ready ? loadChanges() : loadAll())
+                .doFinally(signal -> polling.set(false))
+                .subscribe(null, error -> log.warn("Account availability filter refresh failed: {}", error.getMessage()));
+    }
+
+    private Mono<Void> loadAll() {
+        // read the high-water mark first: accounts created while the rest loads are picked up by the next poll
+        return userRepository.findLatestUpdate()
+                .defaultIfEmpty(EPOCH)
+                .flatMap(latest -> Mono.when(
+                                userRepository.findAllUsernames().doOnNext(username -> usernames.add(normalize(username))),
+                                userRepository.findAllEmails().doOnNext(email -> emails.add(normalize(email))))
+                        .then(Mono.fromRunnable(() -> {
+                            since = latest;
+                            ready = true;
+                            log.info("Account availability filter warmed up");
+                        })))
+                .then();
+    }
+
+    private Mono<Void> loadChanges() {
+        LocalDateTime from = since.minus(OVERLAP);
+        return userRepository.findLatestUpdate()
+                .defaultIfEmpty(since)
+                .flatMap(latest -> Mono.when(
+                                userRepository.findUsernamesUpdatedSince(from).doOnNext(username -> usernames.add(normalize(username))),
+                                userRepository.findEmailsUpdatedSince(from).doOnNext(email -> emails.add(normalize(email))))
+                        .then(Mono.fromRunnable(() -> since = latest)))
+                .then();
+    }
+
+    public void add(String username, String email) {
+        usernames.add(normalize(username));
+        emails.add(normalize(email));
+    }
+
+    public boolean mightContainUsername(String username) {
+        return !ready || usernames.mightContain(normalize(username));
+    }
+
+    public boolean mightContainEmail(String email) {
+        return !ready || emails.mightContain(normalize(email));
+    }
+
+    // MySQL's default collation compares case-insensitively, so the filter does too
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,120 @@
+package com.flightapp.auth.cache;
+
+import com.flightapp.auth.dto.UserStatus;
+import com.flightapp.auth.repository.UserRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory set of disabled usernames, each with the time it was disabled, used instead of a users table
+ * lookup when {@code auth.validation.mode} is {@code revocation-list}. Loaded at startup and kept current by
+ * polling the rows changed since the last poll, re-reading a short overlap so a change that committed late is
+ * not skipped, so changes made through other instances show up within one poll interval. Until the first load completes {@link #isActive()} is false and callers use the database.
+ */
+@Component
+@Slf4j
+public class RevocationRegistry {
+
+    public static final String MODE = "revocation-list";
+
+    private static final LocalDateTime EPOCH = LocalDateTime.of(1970, 1, 1, 0, 0);
+    // a change committed late, with an updated_at older than the high-water mark, is still read if it is this recent
+    private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+    private final UserRepository userRepository;
+    private final boolean enabled;
+    private final Map<String, LocalDateTime> revoked = new ConcurrentHashMap<>();
+    private final AtomicBoolean polling = new AtomicBoolean();
+    private volatile LocalDateTime since;
+    private volatile boolean ready;
+
+    public RevocationRegistry(UserRepository userRepository,
+                              MeterRegistry meterRegistry,
+                              @Value("${auth.validation.mode:database}") String mode) {
+        this.userRepository = userRepository;
+        this.enabled = MODE.equals(mode);
+        Gauge.builder("auth.revocation.size", revoked, Map::size).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        poll();
+    }
+
+    @Scheduled(fixedDelayString = "${auth.validation.poll-interval-ms:5000}")
+    public void poll() {
+        if (!enabled || !polling.compareAndSet(false, true)) {
+            return;
+        }
+        // a failed startup load, e.g. the database was not reachable yet, is retried on the next poll
+        (ready ? loadChanges() : loadAll())
+                .doFinally(signal -> polling.set(false))
+                .subscribe(null, error -> log.warn("Revocation list refresh failed: {}", error.getMessage()));
+    }
+
+    private Mono<Void> loadAll() {
+        // read the high-water mark first: anything changed while the disabled users load is picked up by the next poll
+        return userRepository.findLatestUpdate()
+                .defaultIfEmpty(EPOCH)
+                .flatMap(latest -> userRepository.findDisabledStatuses()
+                        .doOnNext(status -> revoked.put(status.getUsername(), status.getUpdatedAt()))
+                        .then(Mono.fromRunnable(() -> {
+                            since = latest;
+                            ready = true;
+                            log.info("Revocation list loaded with {} disabled users", revoked.size());
+                        })))
+                .then();
+    }
+
+    private Mono<Void> loadChanges() {
+        // rows in the overlap are read again on every poll; applying a row's current status is idempotent
+        LocalDateTime from = since.minus(OVERLAP);
+        return userRepository.findLatestUpdate()
+                .defaultIfEmpty(since)
+                .flatMap(latest -> userRepository.findStatusUpdatedSince(from)
+                        .doOnNext(this::apply)
+                        .then(Mono.fromRunnable(() -> since = latest)))
+                .then();
+    }
+
+    private void apply(UserStatus status) {
+        if (Boolean.TRUE.equals(status.getEnabled())) {
+            restore(status.getUsername());
+        } else {
+            revoke(status.getUsername(), status.getUpdatedAt());
+        }
+    }
+
+    public boolean isActive() {
+        return enabled && ready;
+    }
+
+    public boolean isRevoked(String username) {
+        return revoked.containsKey(username);
+    }
+
+    public void revoke(String username, LocalDateTime disabledAt) {
+        if (revoked.put(username, disabledAt) == null) {
+            log.info("User {} added to revocation list", username);
+        }
+    }
+
+    public void restore(String username) {
+        if (revoked.remove(username) != null) {
+            log.info("User {} removed from revocation list", username);
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.flightapp.auth.cache;
+
+import com.flightapp.auth.dto.UserStatus;
+import com.flightapp.auth.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Bounded, TTL-capped cache of the user state needed for token validation. Unknown usernames are
+ * cached as well, so any change to a user must be followed by {@link #invalidate(String)}.
+ */
+@Component
+@Slf4j
+public class UserStatusCache {
+
+    private final UserRepository userRepository;
+    private final Cache<String, Optional<UserStatus>> cache;
+
+    public UserStatusCache(UserRepository userRepository,
+                           MeterRegistry meterRegistry,
+                           @Value("${auth.user-cache.max-size:10000}") long maxSize,
+                           @Value("${auth.user-cache.ttl:30s}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "auth.user-status");
+    }
+
+    public Mono<UserStatus> get(String username) {
+        Optional<UserStatus> cached = cache.getIfPresent(username);
+        if (cached != null) {
+            return Mono.justOrEmpty(cached);
+        }
+
+        return userRepository.findStatusByUsername(username)
+                .map(Optional::of)
+                .defaultIfEmpty(Optional.empty())
+                .doOnNext(status -> cache.put(username, status))
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    /**
+     * Returns the known users among the given usernames, loading all misses with a single query.
+     */
+    public Mono<Map<String, UserStatus>> getAll(Collection<String> usernames) {
+        Map<String, UserStatus> found = new HashMap<>();
+        Set<String> missing = new HashSet<>();
+        for (String username : usernames) {
+            Optional<UserStatus> cached = cache.getIfPresent(username);
+            if (cached == null) {
+                missing.add(username);
+            } else {
+                cached.ifPresent(status -> found.put(username, status));
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        return userRepository.findStatusByUsernameIn(missing)
+                .collectMap(UserStatus::getUsername)
+                .map(loaded -> {
+                    for (String username : missing) {
+                        UserStatus status = loaded.get(username);
+                        cache.put(username, Optional.ofNullable(status));
+                        if (status != null) {
+                            found.put(username, status);
+                        }
+                    }
+                    return found;
+                });
+    }
+
+    public void invalidate(String username) {
+        cache.invalidate(username);
+        log.debug("Invalidated cached status for user: {}", username);
+    }
+}
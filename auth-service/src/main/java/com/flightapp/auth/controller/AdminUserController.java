@@ -0,0 +1,76 @@
+package com.flightapp.auth.controller;
+
+import com.flightapp.auth.dto.BulkUserResult;
+import com.flightapp.auth.dto.UpdateUserStatusRequest;
+import com.flightapp.auth.dto.UserStatus;
+import com.flightapp.auth.exception.ForbiddenException;
+import com.flightapp.auth.service.AuthService;
+import com.flightapp.auth.service.UserProvisioningService;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/api/auth/admin/users")
+@RequiredArgsConstructor
+@Slf4j
+public class AdminUserController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
+    private final AuthService authService;
+    private final UserProvisioningService userProvisioningService;
+
+    @PostMapping(value = "/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Mono<ResponseEntity<Flux<BulkUserResult>>> bulkImport(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                                                 @RequestBody Flux<String> lines,
+                                                                 ServerHttpRequest request) {
+        boolean csv = TEXT_CSV.isCompatibleWith(request.getHeaders().getContentType());
+
+        return authService.authorizeAdmin(bearerToken(authHeader))
+                .map(admin -> {
+                    log.info("POST /api/auth/admin/users/bulk - {} import started by {}", csv ? "CSV" : "NDJSON", admin);
+                    return ResponseEntity.ok()
+                            .contentType(MediaType.APPLICATION_NDJSON)
+                            .body(userProvisioningService.importUsers(lines, csv));
+                })
+                .onErrorResume(ForbiddenException.class, e -> {
+                    log.warn("Bulk user import rejected: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).<Flux<BulkUserResult>>build());
+                });
+    }
+
+    @PutMapping("/{username}/status")
+    public Mono<ResponseEntity<UserStatus>> updateStatus(@RequestHeader(value = HttpHeaders.AUTHORIZATION, required = false) String authHeader,
+                                                         @PathVariable String username,
+                                                         @Valid @RequestBody UpdateUserStatusRequest request) {
+        return authService.authorizeAdmin(bearerToken(authHeader))
+                .flatMap(admin -> {
+                    log.info("PUT /api/auth/admin/users/{}/status - enabled={} by {}", username, request.getEnabled(), admin);
+                    return userProvisioningService.setEnabled(username, request.getEnabled());
+                })
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(ForbiddenException.class, e -> {
+                    log.warn("User status change rejected: {}", e.getMessage());
+                    return Mono.just(ResponseEntity.status(HttpStatus.FORBIDDEN).build());
+                });
+    }
+
+    private static String bearerToken(String authHeader) {
+        if (authHeader == null) {
+            return null;
+        }
+        return authHeader.startsWith("Bearer ") ? authHeader.substring(7) : authHeader;
+    }
+}
@@ -1,19 +1,29 @@
 package com.flightapp.auth.controller;
 
 import com.flightapp.auth.dto.AuthRequest;
+import com.flightapp.auth.dto.BatchValidateTokenRequest;
+import com.flightapp.auth.dto.BatchValidateTokenResponse;
 import com.flightapp.auth.dto.AuthResponse;
+import com.flightapp.auth.dto.AvailabilityResponse;
 import com.flightapp.auth.dto.RegisterRequest;
 import com.flightapp.auth.dto.ValidateTokenRequest;
 import com.flightapp.auth.dto.ValidateTokenResponse;
+import com.flightapp.auth.exception.ServiceBusyException;
+import com.flightapp.auth.exception.TooManyRequestsException;
 import com.flightapp.auth.service.AuthService;
+import com.flightapp.auth.service.LoginRateLimiter;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Mono;
 
+import java.net.InetSocketAddress;
+
 @RestController
 @RequestMapping("/api/auth")
 @RequiredArgsConstructor
@@ -21,18 +31,25 @@ import reactor.core.publisher.Mono;
 public class AuthController {
 
     private final AuthService authService;
+    private final LoginRateLimiter loginRateLimiter;
 
     @PostMapping("/login")
-    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest request) {
+    public Mono<ResponseEntity<AuthResponse>> login(@Valid @RequestBody AuthRequest request, ServerHttpRequest httpRequest) {
         log.info("POST /api/auth/login - Login request for username: {}", request.getUsername());
 
-        return authService.login(request)
+        return authService.login(request, clientAddress(httpRequest))
                 .map(response -> {
                     if (response.getToken() != null) {
                         return ResponseEntity.ok(response);
                     }
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
-                });
+                })
+                .onErrorResume(ServiceBusyException.class, this::serviceBusy)
+                .onErrorResume(TooManyRequestsException.class, e -> Mono.just(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                        .header(HttpHeaders.RETRY_AFTER, String.valueOf(loginRateLimiter.getWindow().toSeconds()))
+                        .body(AuthResponse.builder()
+                                .message(e.getMessage())
+                                .build())));
     }
 
     @PostMapping("/register")
@@ -45,7 +62,8 @@ public class AuthController {
                         return ResponseEntity.status(HttpStatus.CREATED).body(response);
                     }
                     return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(response);
-                });
+                })
+                .onErrorResume(ServiceBusyException.class, this::serviceBusy);
     }
 
     @PostMapping("/validate")
@@ -61,6 +79,16 @@ public class AuthController {
                 });
     }
 
+    @PostMapping("/validate/batch")
+    public Mono<ResponseEntity<BatchValidateTokenResponse>> validateTokens(@Valid @RequestBody BatchValidateTokenRequest request) {
+        log.info("POST /api/auth/validate/batch - Batch validation request for {} tokens", request.getTokens().size());
+
+        return authService.validateTokens(request.getTokens())
+                .map(results -> ResponseEntity.ok(BatchValidateTokenResponse.builder()
+                        .results(results)
+                        .build()));
+    }
+
     @GetMapping("/validate")
     public Mono<ResponseEntity<ValidateTokenResponse>> validateTokenHeader(@RequestHeader("Authorization") String authHeader) {
         log.info("GET /api/auth/validate - Token validation request from header");
@@ -75,4 +103,40 @@ public class AuthController {
                     return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
                 });
     }
+
+    @GetMapping("/availability/username")
+    public Mono<ResponseEntity<AvailabilityResponse>> checkUsername(@RequestParam String username) {
+        return authService.checkUsernameAvailability(username)
+                .map(ResponseEntity::ok);
+    }
+
+    @GetMapping("/availability/email")
+    public Mono<ResponseEntity<AvailabilityResponse>> checkEmail(@RequestParam String email) {
+        return authService.checkEmailAvailability(email)
+                .map(ResponseEntity::ok);
+    }
+
+    /**
+     * The gateway appends the peer address to X-Forwarded-For, so its last entry is the client, but only when the
+     * request really came through a trusted proxy. Anyone else could have written the header themselves.
+     */
+    private String clientAddress(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+        String peer = remoteAddress == null ? null
+                : remoteAddress.getAddress() != null ? remoteAddress.getAddress().getHostAddress() : remoteAddress.getHostString();
+        String forwardedFor = request.getHeaders().getFirst("X-Forwarded-For");
+        if (forwardedFor != null && !forwardedFor.isBlank() && loginRateLimiter.isTrustedProxy(peer)) {
+            String[] addresses = forwardedFor.split(",");
+            return addresses[addresses.length - 1].trim();
+        }
+        return peer;
+    }
+
+    private Mono<ResponseEntity<AuthResponse>> serviceBusy(ServiceBusyException e) {
+        return Mono.just(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(AuthResponse.builder()
+                        .message(e.getMessage())
+                        .build()));
+    }
 }
@@ -0,0 +1,26 @@
+package com.flightapp.auth.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The part of a {@code users} row needed to validate a token. {@code updatedAt} serves as the row version.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatus {
+
+    private String username;
+
+    private Boolean enabled;
+
+    private String role;
+
+    private LocalDateTime updatedAt;
+}
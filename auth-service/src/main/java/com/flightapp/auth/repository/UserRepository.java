@@ -1,15 +1,53 @@
 package com.flightapp.auth.repository;
 
+import com.flightapp.auth.dto.UserStatus;
 import com.flightapp.auth.entity.User;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.r2dbc.repository.R2dbcRepository;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+
 @Repository
 public interface UserRepository extends R2dbcRepository<User, Long> {
 
     Mono<User> findByUsername(String username);
 
+    @Query("SELECT username, enabled, role, updated_at FROM users WHERE username = :username")
+    Mono<UserStatus> findStatusByUsername(String username);
+
+    @Query("SELECT username, enabled, role, updated_at FROM users WHERE username IN (:usernames)")
+    Flux<UserStatus> findStatusByUsernameIn(Collection<String> usernames);
+
+    @Query("SELECT username, enabled, role, updated_at FROM users WHERE enabled = FALSE")
+    Flux<UserStatus> findDisabledStatuses();
+
+    @Query("SELECT username, enabled, role, updated_at FROM users WHERE updated_at >= :since")
+    Flux<UserStatus> findStatusUpdatedSince(LocalDateTime since);
+
+    @Query("SELECT MAX(updated_at) FROM users")
+    Mono<LocalDateTime> findLatestUpdate();
+
+    @Modifying
+    @Query("UPDATE users SET enabled = :enabled, updated_at = CURRENT_TIMESTAMP WHERE username = :username")
+    Mono<Integer> updateEnabled(String username, boolean enabled);
+
+    @Query("SELECT username FROM users")
+    Flux<String> findAllUsernames();
+
+    @Query("SELECT email FROM users")
+    Flux<String> findAllEmails();
+
+    @Query("SELECT username FROM users WHERE updated_at >= :since")
+    Flux<String> findUsernamesUpdatedSince(LocalDateTime since);
+
+    @Query("SELECT email FROM users WHERE updated_at >= :since")
+    Flux<String> findEmailsUpdatedSince(LocalDateTime since);
+
     Mono<User> findByEmail(String email);
 
     Mono<Boolean> existsByUsername(String username);
@@ -2,15 +2,33 @@ package com.flightapp.auth.service;
 
 import com.flightapp.auth.dto.AuthRequest;
 import com.flightapp.auth.dto.AuthResponse;
+import com.flightapp.auth.dto.AvailabilityResponse;
 import com.flightapp.auth.dto.RegisterRequest;
 import com.flightapp.auth.dto.ValidateTokenResponse;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface AuthService {
 
-    Mono<AuthResponse> login(AuthRequest request);
+    Mono<AuthResponse> login(AuthRequest request, String clientIp);
 
     Mono<AuthResponse> register(RegisterRequest request);
 
+    /**
+     * Answers "definitely available" from memory when possible and falls back to the database otherwise.
+     */
+    Mono<AvailabilityResponse> checkUsernameAvailability(String username);
+
+    Mono<AvailabilityResponse> checkEmailAvailability(String email);
+
     Mono<ValidateTokenResponse> validateToken(String token);
+
+    Mono<List<ValidateTokenResponse>> validateTokens(List<String> tokens);
+
+    /**
+     * Resolves the bearer token to an enabled ADMIN user and emits its username,
+     * or fails with {@link com.flightapp.auth.exception.ForbiddenException}.
+     */
+    Mono<String> authorizeAdmin(String token);
 }
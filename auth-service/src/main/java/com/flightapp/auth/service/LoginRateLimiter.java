@@ -0,0 +1,151 @@
+package com.flightapp.auth.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * In-memory sliding-window limiter for login attempts, keyed by username and by client IP. Each key keeps
+ * the counts of the current and previous window and weights the previous one by how much of it still
+ * overlaps the sliding window. Idle keys are dropped after two windows, so limits decay on their own.
+ *
+ * <p>An attempt counts against both keys only when both allow it, so a throttled username does not use up its
+ * client's IP allowance. The client IP is taken from {@code X-Forwarded-For} only when the request comes from
+ * one of {@code auth.login-throttle.trusted-proxies}.
+ */
+@Service
+@Slf4j
+public class LoginRateLimiter {
+
+    private final boolean enabled;
+    private final long windowMillis;
+    private final int usernameLimit;
+    private final int ipLimit;
+    private final List<IpAddressMatcher> trustedProxies;
+
+    private final Cache<String, SlidingWindow> usernameWindows;
+    private final Cache<String, SlidingWindow> ipWindows;
+
+    private final Counter usernameThrottled;
+    private final Counter ipThrottled;
+
+    public LoginRateLimiter(MeterRegistry meterRegistry,
+                            @Value("${auth.login-throttle.enabled:true}") boolean enabled,
+                            @Value("${auth.login-throttle.window:1m}") Duration window,
+                            @Value("${auth.login-throttle.username-limit:10}") int usernameLimit,
+                            @Value("${auth.login-throttle.ip-limit:50}") int ipLimit,
+                            @Value("${auth.login-throttle.max-keys:100000}") long maxKeys,
+                            @Value("${auth.login-throttle.trusted-proxies:127.0.0.1,::1,10.0.0.0/8,172.16.0.0/12,192.168.0.0/16}")
+                            String trustedProxies) {
+        this.enabled = enabled;
+        this.windowMillis = window.toMillis();
+        this.usernameLimit = usernameLimit;
+        this.ipLimit = ipLimit;
+        this.trustedProxies = Arrays.stream(trustedProxies.split(","))
+                .map(String::trim)
+                .filter(proxy -> !proxy.isEmpty())
+                .map(IpAddressMatcher::new)
+                .toList();
+        this.usernameWindows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+        this.ipWindows = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(window.multipliedBy(2))
+                .build();
+
+        this.usernameThrottled = Counter.builder("auth.login.throttled").tag("key", "username").register(meterRegistry);
+        this.ipThrottled = Counter.builder("auth.login.throttled").tag("key", "ip").register(meterRegistry);
+        Gauge.builder("auth.login.throttle.tracked", usernameWindows, Cache::estimatedSize).tag("key", "username").register(meterRegistry);
+        Gauge.builder("auth.login.throttle.tracked", ipWindows, Cache::estimatedSize).tag("key", "ip").register(meterRegistry);
+    }
+
+    /**
+     * Records a login attempt and returns {@code false} if either the username or the client IP is over its limit.
+     * A rejected attempt is not counted against either.
+     */
+    public boolean tryAcquire(String username, String clientIp) {
+        if (!enabled) {
+            return true;
+        }
+
+        long now = System.currentTimeMillis();
+        SlidingWindow ipWindow = clientIp != null ? window(ipWindows, clientIp, now) : null;
+        if (ipWindow != null && !ipWindow.tryAcquire(now, windowMillis, ipLimit)) {
+            ipThrottled.increment();
+            log.warn("Login throttled for client IP: {}", clientIp);
+            return false;
+        }
+        if (username != null
+                && !window(usernameWindows, username.toLowerCase(Locale.ROOT), now).tryAcquire(now, windowMillis, usernameLimit)) {
+            if (ipWindow != null) {
+                ipWindow.refund();
+            }
+            usernameThrottled.increment();
+            log.warn("Login throttled for username: {}", username);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Whether {@code address} is a proxy whose {@code X-Forwarded-For} can be believed.
+     */
+    public boolean isTrustedProxy(String address) {
+        return address != null && trustedProxies.stream().anyMatch(proxy -> proxy.matches(address));
+    }
+
+    public Duration getWindow() {
+        return Duration.ofMillis(windowMillis);
+    }
+
+    private static SlidingWindow window(Cache<String, SlidingWindow> windows, String key, long now) {
+        return windows.get(key, k -> new SlidingWindow(now));
+    }
+
+    private static final class SlidingWindow {
+
+        private long windowStart;
+        private int previous;
+        private int current;
+
+        private SlidingWindow(long now) {
+            this.windowStart = now;
+        }
+
+        private synchronized boolean tryAcquire(long now, long windowMillis, int limit) {
+            long elapsed = now - windowStart;
+            if (elapsed >= windowMillis) {
+                previous = elapsed < 2 * windowMillis ? current : 0;
+                current = 0;
+                windowStart += (elapsed / windowMillis) * windowMillis;
+                elapsed = now - windowStart;
+            }
+
+            double previousWeight = (windowMillis - elapsed) / (double) windowMillis;
+            if (previous * previousWeight + current >= limit) {
+                return false;
+            }
+            current++;
+            return true;
+        }
+
+        private synchronized void refund() {
+            if (current > 0) {
+                current--;
+            }
+        }
+    }
+}
@@ -0,0 +1,312 @@
+package com.flightapp.auth.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.auth.cache.AccountAvailabilityFilter;
+import com.flightapp.auth.cache.RevocationRegistry;
+import com.flightapp.auth.cache.UserStatusCache;
+import com.flightapp.auth.dto.BulkUserResult;
+import com.flightapp.auth.dto.RegisterRequest;
+import com.flightapp.auth.dto.UserStatus;
+import com.flightapp.auth.entity.User;
+import com.flightapp.auth.repository.UserRepository;
+import com.flightapp.auth.util.DuplicateKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.function.Tuple2;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Streams bulk user imports through parsing, validation, parallel BCrypt hashing and batched multi-row
+ * inserts, emitting one result per input row in input order.
+ *
+ * <p>Hashing runs on its own core-sized scheduler instead of {@link PasswordHashingService}, so a large import
+ * cannot fill the interactive pool's queue and push logins into 503s.
+ */
+@Service
+@Slf4j
+public class UserProvisioningService {
+
+    // created_at and updated_at come from the column defaults, i.e. the database clock that status changes use too
+    private static final String INSERT_PREFIX =
+            "INSERT INTO users (username, password, email, first_name, last_name, role, enabled) VALUES ";
+
+    private final UserRepository userRepository;
+    private final DatabaseClient databaseClient;
+    private final PasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final UserStatusCache userStatusCache;
+    private final AccountAvailabilityFilter accountAvailabilityFilter;
+    private final RevocationRegistry revocationRegistry;
+    private final Scheduler hashingScheduler;
+    private final int hashingConcurrency;
+    private final int batchSize;
+    private final Counter created;
+    private final Counter failed;
+
+    public UserProvisioningService(UserRepository userRepository,
+                                   DatabaseClient databaseClient,
+                                   PasswordEncoder passwordEncoder,
+                                   Validator validator,
+                                   ObjectMapper objectMapper,
+                                   UserStatusCache userStatusCache,
+                                   AccountAvailabilityFilter accountAvailabilityFilter,
+                                   RevocationRegistry revocationRegistry,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${auth.bulk.hashing-threads:0}") int hashingThreads,
+                                   @Value("${auth.bulk.batch-size:500}") int batchSize) {
+        this.userRepository = userRepository;
+        this.databaseClient = databaseClient;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.userStatusCache = userStatusCache;
+        this.accountAvailabilityFilter = accountAvailabilityFilter;
+        this.revocationRegistry = revocationRegistry;
+        this.hashingConcurrency = hashingThreads > 0 ? hashingThreads : Runtime.getRuntime().availableProcessors();
+        this.hashingScheduler = Schedulers.newParallel("bulk-bcrypt", hashingConcurrency, true);
+        this.batchSize = batchSize;
+        this.created = Counter.builder("auth.bulk.users").tag("status", "created").register(meterRegistry);
+        this.failed = Counter.builder("auth.bulk.users").tag("status", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Imports users from NDJSON lines, or from CSV lines with a header row naming the columns
+     * ({@code username,password,email,firstName,lastName}). Fields are plain comma separated values; quoting is
+     * not supported.
+     */
+    public Flux<BulkUserResult> importUsers(Flux<String> lines, boolean csv) {
+        Flux<Tuple2<Long, String>> numbered = lines.index()
+                .filter(line -> !line.getT2().isBlank());
+
+        Flux<Row> rows = csv
+                ? numbered.switchOnFirst((first, all) -> {
+                    if (!first.hasValue()) {
+                        return all.map(line -> Row.failed(line.getT1() + 1, null, "Missing CSV header"));
+                    }
+                    Map<String, Integer> header = csvHeader(first.get().getT2());
+                    return all.skip(1).map(line -> parseCsv(line.getT1() + 1, line.getT2(), header));
+                })
+                : numbered.map(line -> parseJson(line.getT1() + 1, line.getT2()));
+
+        return rows
+                .map(this::validate)
+                .flatMapSequential(this::hash, hashingConcurrency)
+                .buffer(batchSize)
+                .concatMap(this::insertBatch)
+                .doOnNext(result -> (BulkUserResult.CREATED.equals(result.getStatus()) ? created : failed).increment());
+    }
+
+    /**
+     * Enables or disables a user, evicting the cached status and updating this instance's revocation list at once;
+     * other instances pick the change up on their next poll. Emits the new status, or nothing for an unknown user.
+     */
+    public Mono<UserStatus> setEnabled(String username, boolean enabled) {
+        return userRepository.updateEnabled(username, enabled)
+                .filter(updated -> updated > 0)
+                .flatMap(updated -> userRepository.findStatusByUsername(username))
+                .doOnNext(status -> {
+                    userStatusCache.invalidate(username);
+                    if (enabled) {
+                        revocationRegistry.restore(username);
+                    } else {
+                        revocationRegistry.revoke(username, status.getUpdatedAt());
+                    }
+                    log.info("User {} {}", username, enabled ? "enabled" : "disabled");
+                });
+    }
+
+    private Map<String, Integer> csvHeader(String line) {
+        String[] columns = line.split(",", -1);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            header.put(columns[i].trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private Row parseCsv(long line, String text, Map<String, Integer> header) {
+        String[] fields = text.split(",", -1);
+        RegisterRequest request = RegisterRequest.builder()
+                .username(csvField(fields, header, "username"))
+                .password(csvField(fields, header, "password"))
+                .email(csvField(fields, header, "email"))
+                .firstName(csvField(fields, header, "firstname"))
+                .lastName(csvField(fields, header, "lastname"))
+                .build();
+        return new Row(line, request, null, null);
+    }
+
+    private static String csvField(String[] fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.length) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private Row parseJson(long line, String text) {
+        try {
+            return new Row(line, objectMapper.readValue(text, RegisterRequest.class), null, null);
+        } catch (Exception e) {
+            return Row.failed(line, null, "Malformed JSON");
+        }
+    }
+
+    private Row validate(Row row) {
+        if (row.error() != null) {
+            return row;
+        }
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(row.request());
+        if (violations.isEmpty()) {
+            return row;
+        }
+        String message = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return Row.failed(row.line(), row.request(), message);
+    }
+
+    private Mono<Row> hash(Row row) {
+        if (row.error() != null) {
+            return Mono.just(row);
+        }
+        return Mono.fromCallable(() -> new Row(row.line(), row.request(),
+                        passwordEncoder.encode(row.request().getPassword()), null))
+                .subscribeOn(hashingScheduler);
+    }
+
+    private Flux<BulkUserResult> insertBatch(List<Row> rows) {
+        List<Row> valid = rows.stream()
+                .filter(row -> row.error() == null)
+                .toList();
+
+        Mono<Map<Long, BulkUserResult>> inserted = valid.isEmpty()
+                ? Mono.just(Map.of())
+                : insertAll(valid)
+                        .then(Mono.fromCallable(() -> {
+                            Map<Long, BulkUserResult> results = new HashMap<>();
+                            for (Row row : valid) {
+                                results.put(row.line(), created(row));
+                            }
+                            return results;
+                        }))
+                        .onErrorResume(DataIntegrityViolationException.class, e -> {
+                            // one bad row fails the whole statement; retry row by row to find it
+                            log.debug("Batch of {} users hit a duplicate key, inserting individually", valid.size());
+                            return Flux.fromIterable(valid)
+                                    .concatMap(this::insertOne)
+                                    .collectMap(BulkUserResult::getLine);
+                        });
+
+        return inserted.flatMapIterable(results -> {
+            List<BulkUserResult> ordered = new ArrayList<>(rows.size());
+            for (Row row : rows) {
+                ordered.add(row.error() != null ? failedResult(row) : results.get(row.line()));
+            }
+            return ordered;
+        });
+    }
+
+    private Mono<Long> insertAll(List<Row> rows) {
+        StringBuilder sql = new StringBuilder(INSERT_PREFIX);
+        for (int i = 0; i < rows.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:username").append(i)
+                    .append(", :password").append(i)
+                    .append(", :email").append(i)
+                    .append(", :firstName").append(i)
+                    .append(", :lastName").append(i)
+                    .append(", 'USER', TRUE)");
+        }
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < rows.size(); i++) {
+            Row row = rows.get(i);
+            RegisterRequest request = row.request();
+            spec = spec.bind("username" + i, request.getUsername())
+                    .bind("password" + i, row.encodedPassword())
+                    .bind("email" + i, request.getEmail());
+            spec = bindNullable(spec, "firstName" + i, request.getFirstName());
+            spec = bindNullable(spec, "lastName" + i, request.getLastName());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec, String name, String value) {
+        return value != null ? spec.bind(name, value) : spec.bindNull(name, String.class);
+    }
+
+    private Mono<BulkUserResult> insertOne(Row row) {
+        RegisterRequest request = row.request();
+        return userRepository.save(User.builder()
+                        .username(request.getUsername())
+                        .password(row.encodedPassword())
+                        .email(request.getEmail())
+                        .firstName(request.getFirstName())
+                        .lastName(request.getLastName())
+                        .role("USER")
+                        .enabled(true)
+                        // left null so the column defaults stamp them with the database clock
+                        .build())
+                .map(saved -> created(row))
+                .onErrorResume(DataIntegrityViolationException.class,
+                        e -> Mono.just(failedResult(Row.failed(row.line(), request, DuplicateKeys.userMessage(e)))));
+    }
+
+    private BulkUserResult created(Row row) {
+        String username = row.request().getUsername();
+        userStatusCache.invalidate(username);
+        accountAvailabilityFilter.add(username, row.request().getEmail());
+        return BulkUserResult.builder()
+                .line(row.line())
+                .username(username)
+                .status(BulkUserResult.CREATED)
+                .build();
+    }
+
+    private static BulkUserResult failedResult(Row row) {
+        return BulkUserResult.builder()
+                .line(row.line())
+                .username(row.request() != null ? row.request().getUsername() : null)
+                .status(BulkUserResult.FAILED)
+                .message(row.error())
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingScheduler.dispose();
+    }
+
+    private record Row(long line, RegisterRequest request, String encodedPassword, String error) {
+
+        static Row failed(long line, RegisterRequest request, String error) {
+            return new Row(line, request, null, error);
+        }
+    }
+}
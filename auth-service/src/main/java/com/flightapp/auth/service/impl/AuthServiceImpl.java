@@ -1,22 +1,39 @@
 package com.flightapp.auth.service.impl;
 
+import com.flightapp.auth.cache.AccountAvailabilityFilter;
+import com.flightapp.auth.cache.RevocationRegistry;
+import com.flightapp.auth.cache.UserStatusCache;
 import com.flightapp.auth.dto.AuthRequest;
 import com.flightapp.auth.dto.AuthResponse;
+import com.flightapp.auth.dto.AvailabilityResponse;
 import com.flightapp.auth.dto.RegisterRequest;
+import com.flightapp.auth.dto.UserStatus;
 import com.flightapp.auth.dto.ValidateTokenResponse;
 import com.flightapp.auth.entity.User;
 import com.flightapp.auth.repository.UserRepository;
+import com.flightapp.auth.exception.ForbiddenException;
+import com.flightapp.auth.exception.TooManyRequestsException;
 import com.flightapp.auth.service.AuthService;
+import com.flightapp.auth.service.LoginRateLimiter;
+import com.flightapp.auth.service.PasswordHashingService;
+import com.flightapp.auth.util.DuplicateKeys;
 import com.flightapp.auth.util.JwtUtil;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Mono;
 
-import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,15 +41,24 @@ import java.util.Map;
 public class AuthServiceImpl implements AuthService {
 
     private final UserRepository userRepository;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
+    private final LoginRateLimiter loginRateLimiter;
     private final JwtUtil jwtUtil;
+    private final UserStatusCache userStatusCache;
+    private final RevocationRegistry revocationRegistry;
+    private final AccountAvailabilityFilter accountAvailabilityFilter;
+    private final MeterRegistry meterRegistry;
 
     @Override
-    public Mono<AuthResponse> login(AuthRequest request) {
+    public Mono<AuthResponse> login(AuthRequest request, String clientIp) {
         log.info("Login attempt for username: {}", request.getUsername());
 
+        if (!loginRateLimiter.tryAcquire(request.getUsername(), clientIp)) {
+            return Mono.error(new TooManyRequestsException("Too many login attempts, please try again later"));
+        }
+
         return userRepository.findByUsername(request.getUsername())
-                .filter(user -> passwordEncoder.matches(request.getPassword(), user.getPassword()))
+                .filterWhen(user -> passwordHashingService.matches(request.getPassword(), user.getPassword()))
                 .filter(User::getEnabled)
                 .flatMap(user -> {
                     Map<String, Object> claims = new HashMap<>();
@@ -64,70 +90,100 @@ public class AuthServiceImpl implements AuthService {
     public Mono<AuthResponse> register(RegisterRequest request) {
         log.info("Registration attempt for username: {}", request.getUsername());
 
-        return userRepository.existsByUsername(request.getUsername())
-                .flatMap(exists -> {
-                    if (Boolean.TRUE.equals(exists)) {
-                        log.warn("Registration failed - username already exists: {}", request.getUsername());
-                        return Mono.just(AuthResponse.builder()
-                                .message("Username already exists")
-                                .build());
-                    }
-
-                    return userRepository.existsByEmail(request.getEmail())
-                            .flatMap(emailExists -> {
-                                if (Boolean.TRUE.equals(emailExists)) {
-                                    log.warn("Registration failed - email already exists: {}", request.getEmail());
-                                    return Mono.just(AuthResponse.builder()
-                                            .message("Email already exists")
-                                            .build());
-                                }
-
-                                User user = User.builder()
-                                        .username(request.getUsername())
-                                        .password(passwordEncoder.encode(request.getPassword()))
-                                        .email(request.getEmail())
-                                        .firstName(request.getFirstName())
-                                        .lastName(request.getLastName())
-                                        .role("USER")
-                                        .enabled(true)
-                                        .createdAt(LocalDateTime.now())
-                                        .updatedAt(LocalDateTime.now())
-                                        .build();
-
-                                return userRepository.save(user)
-                                        .flatMap(savedUser -> {
-                                            Map<String, Object> claims = new HashMap<>();
-                                            claims.put("email", savedUser.getEmail());
-                                            claims.put("role", savedUser.getRole());
-
-                                            String token = jwtUtil.generateToken(savedUser.getUsername(), claims);
-
-                                            AuthResponse response = AuthResponse.builder()
-                                                    .token(token)
-                                                    .username(savedUser.getUsername())
-                                                    .email(savedUser.getEmail())
-                                                    .role(savedUser.getRole())
-                                                    .message("Registration successful")
-                                                    .build();
-
-                                            log.info("Registration successful for user: {}", savedUser.getUsername());
-                                            return Mono.just(response);
-                                        });
-                            });
+        // no exists checks up front: the unique keys on users.username and users.email reject duplicates
+        return passwordHashingService.encode(request.getPassword())
+                .map(encodedPassword -> User.builder()
+                        .username(request.getUsername())
+                        .password(encodedPassword)
+                        .email(request.getEmail())
+                        .firstName(request.getFirstName())
+                        .lastName(request.getLastName())
+                        .role("USER")
+                        .enabled(true)
+                        // left null so the column defaults stamp them with the database clock, which the
+                        // revocation and availability polls compare against
+                        .build())
+                .flatMap(userRepository::save)
+                .doOnNext(savedUser -> {
+                    userStatusCache.invalidate(savedUser.getUsername());
+                    accountAvailabilityFilter.add(savedUser.getUsername(), savedUser.getEmail());
+                })
+                .map(savedUser -> {
+                    Map<String, Object> claims = new HashMap<>();
+                    claims.put("email", savedUser.getEmail());
+                    claims.put("role", savedUser.getRole());
+
+                    String token = jwtUtil.generateToken(savedUser.getUsername(), claims);
+
+                    log.info("Registration successful for user: {}", savedUser.getUsername());
+                    return AuthResponse.builder()
+                            .token(token)
+                            .username(savedUser.getUsername())
+                            .email(savedUser.getEmail())
+                            .role(savedUser.getRole())
+                            .message("Registration successful")
+                            .build();
+                })
+                .onErrorResume(DataIntegrityViolationException.class, e -> {
+                    String message = DuplicateKeys.userMessage(e);
+                    log.warn("Registration failed for username {}: {}", request.getUsername(), message);
+                    return Mono.just(AuthResponse.builder()
+                            .message(message)
+                            .build());
                 });
     }
 
+    @Override
+    public Mono<AvailabilityResponse> checkUsernameAvailability(String username) {
+        if (!accountAvailabilityFilter.mightContainUsername(username)) {
+            availabilityChecks("filter").increment();
+            return Mono.just(new AvailabilityResponse(username, true));
+        }
+        availabilityChecks("database").increment();
+        return userRepository.existsByUsername(username)
+                .map(exists -> new AvailabilityResponse(username, !exists));
+    }
+
+    @Override
+    public Mono<AvailabilityResponse> checkEmailAvailability(String email) {
+        if (!accountAvailabilityFilter.mightContainEmail(email)) {
+            availabilityChecks("filter").increment();
+            return Mono.just(new AvailabilityResponse(email, true));
+        }
+        availabilityChecks("database").increment();
+        return userRepository.existsByEmail(email)
+                .map(exists -> new AvailabilityResponse(email, !exists));
+    }
+
+    private Counter availabilityChecks(String answeredBy) {
+        return meterRegistry.counter("auth.availability.checks", "answered_by", answeredBy);
+    }
+
     @Override
     public Mono<ValidateTokenResponse> validateToken(String token) {
         try {
-            if (Boolean.TRUE.equals(jwtUtil.validateToken(token))) {
-                String username = jwtUtil.extractUsername(token);
+            Claims claims = jwtUtil.parseValidClaims(token);
+            if (claims != null) {
+                String username = claims.getSubject();
+
+                if (revocationRegistry.isActive()) {
+                    return Mono.just(revocationRegistry.isRevoked(username)
+                            ? ValidateTokenResponse.builder()
+                                    .valid(false)
+                                    .message("User not found or disabled")
+                                    .build()
+                            : ValidateTokenResponse.builder()
+                                    .valid(true)
+                                    .username(username)
+                                    .message("Token is valid")
+                                    .build());
+                }
 
-                return userRepository.findByUsername(username)
-                        .filter(User::getEnabled)
-                        .map(user -> ValidateTokenResponse.builder()
+                return userStatusCache.get(username)
+                        .filter(UserStatus::getEnabled)
+                        .map(status -> ValidateTokenResponse.builder()
                                 .valid(true)
-                                .username(user.getUsername())
+                                .username(status.getUsername())
                                 .message("Token is valid")
                                 .build())
                         .switchIfEmpty(Mono.just(ValidateTokenResponse.builder()
@@ -149,4 +205,75 @@ public class AuthServiceImpl implements AuthService {
                     .build());
         }
     }
+
+    @Override
+    public Mono<List<ValidateTokenResponse>> validateTokens(List<String> tokens) {
+        List<String> usernames = new ArrayList<>(tokens.size());
+        Set<String> distinctUsernames = new HashSet<>();
+        for (String token : tokens) {
+            String username = extractValidUsername(token);
+            usernames.add(username);
+            if (username != null) {
+                distinctUsernames.add(username);
+            }
+        }
+
+        Mono<Set<String>> enabledUsernames;
+        if (distinctUsernames.isEmpty()) {
+            enabledUsernames = Mono.just(Set.of());
+        } else if (revocationRegistry.isActive()) {
+            enabledUsernames = Mono.just(distinctUsernames.stream()
+                    .filter(username -> !revocationRegistry.isRevoked(username))
+                    .collect(Collectors.toSet()));
+        } else {
+            enabledUsernames = userStatusCache.getAll(distinctUsernames)
+                        .map(statuses -> statuses.values().stream()
+                                .filter(UserStatus::getEnabled)
+                                .map(UserStatus::getUsername)
+                                .collect(Collectors.toSet()));
+        }
+
+        return enabledUsernames.map(enabled -> {
+            List<ValidateTokenResponse> results = new ArrayList<>(usernames.size());
+            for (String username : usernames) {
+                if (username == null) {
+                    results.add(ValidateTokenResponse.builder()
+                            .valid(false)
+                            .message("Invalid or expired token")
+                            .build());
+                } else if (enabled.contains(username)) {
+                    results.add(ValidateTokenResponse.builder()
+                            .valid(true)
+                            .username(username)
+                            .message("Token is valid")
+                            .build());
+                } else {
+                    results.add(ValidateTokenResponse.builder()
+                            .valid(false)
+                            .message("User not found or disabled")
+                            .build());
+                }
+            }
+            log.debug("Validated batch of {} tokens for {} distinct users", tokens.size(), distinctUsernames.size());
+            return results;
+        });
+    }
+
+    @Override
+    public Mono<String> authorizeAdmin(String token) {
+        Claims claims = token != null ? jwtUtil.parseValidClaims(token) : null;
+        if (claims == null) {
+            return Mono.error(new ForbiddenException("Admin token required"));
+        }
+        // role comes from the users table rather than the claims so demoted or disabled admins lose access at once
+        return userStatusCache.get(claims.getSubject())
+                .filter(status -> Boolean.TRUE.equals(status.getEnabled()) && "ADMIN".equals(status.getRole()))
+                .map(UserStatus::getUsername)
+                .switchIfEmpty(Mono.error(new ForbiddenException("Admin role required")));
+    }
+
+    private String extractValidUsername(String token) {
+        Claims claims = jwtUtil.parseValidClaims(token);
+        return claims != null ? claims.getSubject() : null;
+    }
 }
@@ -0,0 +1,31 @@
+package com.flightapp.auth.util;
+
+import org.springframework.dao.DataIntegrityViolationException;
+
+public final class DuplicateKeys {
+
+    private DuplicateKeys() {
+    }
+
+    /**
+     * Maps a unique key violation on the users table to the message shown to the caller. MySQL reports the
+     * violated key as {@code for key 'users.email'} (8.0+) or {@code for key 'email'}.
+     */
+    public static String userMessage(DataIntegrityViolationException e) {
+        return "email".equals(violatedKey(e)) ? "Email already exists" : "Username already exists";
+    }
+
+    private static String violatedKey(DataIntegrityViolationException e) {
+        String message = String.valueOf(e.getMostSpecificCause().getMessage());
+        int keyStart = message.indexOf("for key '");
+        if (keyStart < 0) {
+            return null;
+        }
+        String key = message.substring(keyStart + "for key '".length());
+        int keyEnd = key.indexOf('\'');
+        if (keyEnd >= 0) {
+            key = key.substring(0, keyEnd);
+        }
+        return key.startsWith("users.") ? key.substring("users.".length()) : key;
+    }
+}
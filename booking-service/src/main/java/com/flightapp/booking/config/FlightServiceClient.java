@@ -1,6 +1,7 @@
 package com.flightapp.booking.config;
 
 import com.flightapp.booking.dto.FlightInventory;
+import com.flightapp.booking.dto.FlightQuote;
 import org.springframework.cloud.openfeign.FeignClient;
 import org.springframework.web.bind.annotation.*;
 
@@ -10,9 +11,20 @@ public interface FlightServiceClient {
     @GetMapping("/api/flights/inventory/{id}")
     FlightInventory getFlightById(@PathVariable("id") Long id);
 
+    @GetMapping("/api/flights/inventory/{id}/quote")
+    FlightQuote getFlightQuote(@PathVariable("id") Long id);
+
+    /**
+     * Takes the seats for {@code booking}, which can then choose them in the flight's seat map.
+     */
     @PutMapping("/api/flights/inventory/{id}/reduce-seats")
-    Boolean reduceSeats(@PathVariable("id") Long id, @RequestParam("seats") Integer seats);
+    Boolean reduceSeats(@PathVariable("id") Long id, @RequestParam("seats") Integer seats,
+                        @RequestParam("booking") String booking);
 
+    /**
+     * Puts the seats of {@code booking} back on sale and frees any it chose in the seat map.
+     */
     @PutMapping("/api/flights/inventory/{id}/restore-seats")
-    Boolean restoreSeats(@PathVariable("id") Long id, @RequestParam("seats") Integer seats);
+    Boolean restoreSeats(@PathVariable("id") Long id, @RequestParam("seats") Integer seats,
+                         @RequestParam("booking") String booking);
 }
@@ -0,0 +1,16 @@
+package com.flightapp.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightQuote {
+    private String flightNumber;
+    private Integer availableSeats;
+    private Double price;
+}
@@ -4,7 +4,7 @@ import com.flightapp.booking.config.FlightServiceClient;
 import com.flightapp.booking.dto.BookingRequest;
 import com.flightapp.booking.dto.BookingResponse;
 import com.flightapp.booking.dto.EmailNotification;
-import com.flightapp.booking.dto.FlightInventory;
+import com.flightapp.booking.dto.FlightQuote;
 import com.flightapp.booking.entity.Booking;
 import com.flightapp.booking.exception.*;
 import com.flightapp.booking.messaging.EmailService;
@@ -32,7 +32,7 @@ public class BookingServiceImpl implements BookingService {
     @CircuitBreaker(name = "bookingService", fallbackMethod = "createBookingFallback")
     public Mono<BookingResponse> createBooking(BookingRequest request) {
         return Mono.fromCallable(() -> {
-            FlightInventory flight = flightServiceClient.getFlightById(request.getFlightId());
+            FlightQuote flight = flightServiceClient.getFlightQuote(request.getFlightId());
 
             if (flight == null) {
                 throw new FlightNotFoundException("Flight not found");
@@ -42,16 +42,18 @@ public class BookingServiceImpl implements BookingService {
                 throw new InsufficientSeatsException("Insufficient seats available");
             }
 
+            // generated first so the seats are taken under the booking's own reference
+            String pnr = generatePnr();
             Boolean seatsReduced = flightServiceClient.reduceSeats(
                     request.getFlightId(),
-                    request.getNumberOfSeats()
+                    request.getNumberOfSeats(),
+                    pnr
             );
 
             if (Boolean.FALSE.equals(seatsReduced)) {
                 throw new SeatOperationException("Failed to reduce seats");
             }
 
-            String pnr = generatePnr();
             Double totalAmount = flight.getPrice() * request.getNumberOfSeats();
 
             return Booking.builder()
@@ -91,7 +93,8 @@ public class BookingServiceImpl implements BookingService {
                     return Mono.fromCallable(() -> {
                         Boolean seatsRestored = flightServiceClient.restoreSeats(
                                 booking.getFlightId(),
-                                booking.getNumberOfSeats()
+                                booking.getNumberOfSeats(),
+                                booking.getPnr()
                         );
 
                         if (Boolean.FALSE.equals(seatsRestored)) {
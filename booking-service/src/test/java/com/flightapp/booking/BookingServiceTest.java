@@ -3,7 +3,7 @@ package com.flightapp.booking;
 import com.flightapp.booking.config.FlightServiceClient;
 import com.flightapp.booking.dto.BookingRequest;
 import com.flightapp.booking.dto.BookingResponse;
-import com.flightapp.booking.dto.FlightInventory;
+import com.flightapp.booking.dto.FlightQuote;
 import com.flightapp.booking.entity.Booking;
 import com.flightapp.booking.messaging.EmailService;
 import com.flightapp.booking.repository.BookingRepository;
@@ -21,6 +21,7 @@ import java.time.LocalDateTime;
 
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -40,7 +41,7 @@ class BookingServiceTest {
 
     private BookingRequest bookingRequest;
     private Booking booking;
-    private FlightInventory flightInventory;
+    private FlightQuote flightQuote;
 
     @BeforeEach
     void setUp() {
@@ -52,17 +53,10 @@ class BookingServiceTest {
                 .numberOfSeats(2)
                 .build();
 
-        flightInventory = FlightInventory.builder()
-                .id(1L)
+        flightQuote = FlightQuote.builder()
                 .flightNumber("AI101")
-                .airline("Air India")
-                .origin("DEL")
-                .destination("BOM")
-                .departureTime(LocalDateTime.of(2025, 12, 15, 8, 0))
-                .arrivalTime(LocalDateTime.of(2025, 12, 15, 10, 30))
                 .availableSeats(150)
                 .price(5000.0)
-                .status("ACTIVE")
                 .build();
 
         booking = Booking.builder()
@@ -82,8 +76,8 @@ class BookingServiceTest {
 
     @Test
     void testCreateBookingSuccess() {
-        when(flightServiceClient.getFlightById(1L)).thenReturn(flightInventory);
-        when(flightServiceClient.reduceSeats(1L, 2)).thenReturn(true);
+        when(flightServiceClient.getFlightQuote(1L)).thenReturn(flightQuote);
+        when(flightServiceClient.reduceSeats(eq(1L), eq(2), anyString())).thenReturn(true);
         when(bookingRepository.save(any(Booking.class))).thenReturn(Mono.just(booking));
         doNothing().when(emailService).sendBookingConfirmation(any());
 
@@ -93,8 +87,8 @@ class BookingServiceTest {
                         response.getPassengerName().equals("John Doe"))
                 .verifyComplete();
 
-        verify(flightServiceClient, times(1)).getFlightById(1L);
-        verify(flightServiceClient, times(1)).reduceSeats(1L, 2);
+        verify(flightServiceClient, times(1)).getFlightQuote(1L);
+        verify(flightServiceClient, times(1)).reduceSeats(eq(1L), eq(2), anyString());
         verify(bookingRepository, times(1)).save(any(Booking.class));
     }
 
@@ -114,7 +108,7 @@ class BookingServiceTest {
     void testCancelBooking() {
         when(bookingRepository.findByPnr("PNR12345678"))
                 .thenReturn(Mono.just(booking));
-        when(flightServiceClient.restoreSeats(1L, 2)).thenReturn(true);
+        when(flightServiceClient.restoreSeats(1L, 2, "PNR12345678")).thenReturn(true);
         when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(Mono.just(booking));
 
@@ -124,12 +118,12 @@ class BookingServiceTest {
                 .verifyComplete();
 
         verify(bookingRepository, times(1)).findByPnr("PNR12345678");
-        verify(flightServiceClient, times(1)).restoreSeats(1L, 2);
+        verify(flightServiceClient, times(1)).restoreSeats(1L, 2, "PNR12345678");
     }
 
     @Test
     void testCreateBooking_FlightNotFound() {
-        when(flightServiceClient.getFlightById(1L)).thenReturn(null);
+        when(flightServiceClient.getFlightQuote(1L)).thenReturn(null);
 
         StepVerifier.create(bookingService.createBooking(bookingRequest))
                 .expectErrorMatches(throwable ->
@@ -137,26 +131,19 @@ class BookingServiceTest {
                         throwable.getMessage().equals("Flight not found"))
                 .verify();
 
-        verify(flightServiceClient, times(1)).getFlightById(1L);
+        verify(flightServiceClient, times(1)).getFlightQuote(1L);
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void testCreateBooking_InsufficientSeats() {
-        FlightInventory insufficientFlight = FlightInventory.builder()
-                .id(1L)
+        FlightQuote insufficientFlight = FlightQuote.builder()
                 .flightNumber("AI101")
-                .airline("Air India")
-                .origin("DEL")
-                .destination("BOM")
-                .departureTime(LocalDateTime.of(2025, 12, 15, 8, 0))
-                .arrivalTime(LocalDateTime.of(2025, 12, 15, 10, 30))
                 .availableSeats(1)
                 .price(5000.0)
-                .status("ACTIVE")
                 .build();
 
-        when(flightServiceClient.getFlightById(1L)).thenReturn(insufficientFlight);
+        when(flightServiceClient.getFlightQuote(1L)).thenReturn(insufficientFlight);
 
         StepVerifier.create(bookingService.createBooking(bookingRequest))
                 .expectErrorMatches(throwable ->
@@ -164,14 +151,14 @@ class BookingServiceTest {
                         throwable.getMessage().equals("Insufficient seats available"))
                 .verify();
 
-        verify(flightServiceClient, times(1)).getFlightById(1L);
+        verify(flightServiceClient, times(1)).getFlightQuote(1L);
         verify(bookingRepository, never()).save(any());
     }
 
     @Test
     void testCreateBooking_FailedToReduceSeats() {
-        when(flightServiceClient.getFlightById(1L)).thenReturn(flightInventory);
-        when(flightServiceClient.reduceSeats(1L, 2)).thenReturn(false);
+        when(flightServiceClient.getFlightQuote(1L)).thenReturn(flightQuote);
+        when(flightServiceClient.reduceSeats(eq(1L), eq(2), anyString())).thenReturn(false);
 
         StepVerifier.create(bookingService.createBooking(bookingRequest))
                 .expectErrorMatches(throwable ->
@@ -179,8 +166,8 @@ class BookingServiceTest {
                         throwable.getMessage().equals("Failed to reduce seats"))
                 .verify();
 
-        verify(flightServiceClient, times(1)).getFlightById(1L);
-        verify(flightServiceClient, times(1)).reduceSeats(1L, 2);
+        verify(flightServiceClient, times(1)).getFlightQuote(1L);
+        verify(flightServiceClient, times(1)).reduceSeats(eq(1L), eq(2), anyString());
         verify(bookingRepository, never()).save(any());
     }
 
@@ -238,14 +225,14 @@ class BookingServiceTest {
                 .verify();
 
         verify(bookingRepository, times(1)).findByPnr("PNR12345678");
-        verify(flightServiceClient, never()).restoreSeats(anyLong(), anyInt());
+        verify(flightServiceClient, never()).restoreSeats(anyLong(), anyInt(), anyString());
     }
 
     @Test
     void testCancelBooking_FailedToRestoreSeats() {
         when(bookingRepository.findByPnr("PNR12345678"))
                 .thenReturn(Mono.just(booking));
-        when(flightServiceClient.restoreSeats(1L, 2)).thenReturn(false);
+        when(flightServiceClient.restoreSeats(1L, 2, "PNR12345678")).thenReturn(false);
 
         StepVerifier.create(bookingService.cancelBooking("PNR12345678"))
                 .expectErrorMatches(throwable ->
@@ -254,6 +241,6 @@ class BookingServiceTest {
                 .verify();
 
         verify(bookingRepository, times(1)).findByPnr("PNR12345678");
-        verify(flightServiceClient, times(1)).restoreSeats(1L, 2);
+        verify(flightServiceClient, times(1)).restoreSeats(1L, 2, "PNR12345678");
     }
 }
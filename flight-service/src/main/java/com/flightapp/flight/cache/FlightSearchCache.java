@@ -0,0 +1,134 @@
+package com.flightapp.flight.cache;
+
+import com.flightapp.flight.index.FlightInventoryListener;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import com.flightapp.flight.index.SortedFlights;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Bounded cache of search results per route and day, each held in every sort order so pages read them without
+ * sorting. Entries are dropped as soon as the index reports a
+ * change to a flight on that route and day. With a non-zero {@code seat-staleness}, a change that only moves
+ * the seat count of a flight that stays bookable instead shortens the entry's lifetime to that duration.
+ */
+@Component
+@Slf4j
+public class FlightSearchCache implements FlightInventoryListener {
+
+    private final Cache<RouteDay, SortedFlights> cache;
+    private final Duration seatStaleness;
+    // bumped on every invalidation so a load that started before it does not store its stale result
+    private final Map<RouteDay, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong();
+
+    public FlightSearchCache(MeterRegistry meterRegistry,
+                             @Value("${flight.search-cache.max-size:10000}") long maxSize,
+                             @Value("${flight.search-cache.ttl:60s}") Duration ttl,
+                             @Value("${flight.search-cache.seat-staleness:0s}") Duration seatStaleness) {
+        this.seatStaleness = seatStaleness;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<RouteDay, SortedFlights>() {
+                    @Override
+                    public long expireAfterCreate(RouteDay key, SortedFlights flights, long currentTime) {
+                        return ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(RouteDay key, SortedFlights flights, long currentTime, long currentDuration) {
+                        return ttl.toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterRead(RouteDay key, SortedFlights flights, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "flight.search");
+    }
+
+    public Mono<SortedFlights> get(RouteDay key, Function<RouteDay, Mono<SortedFlights>> loader) {
+        SortedFlights cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Mono.just(cached);
+        }
+        return Mono.defer(() -> {
+            long loadEpoch = epoch.get();
+            long loadGeneration = generations.getOrDefault(key, 0L);
+            return loader.apply(key)
+                    .doOnNext(flights -> {
+                        cache.put(key, flights);
+                        // checked after the put: an invalidation racing with it either removed it or is seen here
+                        if (epoch.get() != loadEpoch || generations.getOrDefault(key, 0L) != loadGeneration) {
+                            cache.invalidate(key);
+                        }
+                    });
+        });
+    }
+
+    @Override
+    public void onFlightChanged(FlightRecord previous, FlightRecord current) {
+        if (previous == null || !previous.routeDay().equals(current.routeDay())) {
+            if (previous != null) {
+                invalidate(previous.routeDay());
+            }
+            invalidate(current.routeDay());
+            return;
+        }
+
+        boolean seatsOnly = previous.withAvailableSeats(current.availableSeats()).equals(current);
+        boolean bookabilityChanged = previous.isBookable() != current.isBookable();
+        if (!seatsOnly || bookabilityChanged || seatStaleness.isZero()) {
+            invalidate(current.routeDay());
+        } else {
+            expireWithin(current.routeDay(), seatStaleness);
+        }
+    }
+
+    @Override
+    public void onReload(Collection<FlightRecord> flights) {
+        invalidateAll();
+    }
+
+    @Override
+    public void onUntrackedChange(Long flightId) {
+        // the route and day of the flight are unknown
+        invalidateAll();
+    }
+
+    private void invalidateAll() {
+        epoch.incrementAndGet();
+        generations.clear();
+        cache.invalidateAll();
+        log.debug("Flight search cache cleared");
+    }
+
+    private void invalidate(RouteDay key) {
+        generations.merge(key, 1L, Long::sum);
+        cache.invalidate(key);
+    }
+
+    private void expireWithin(RouteDay key, Duration limit) {
+        cache.policy().expireVariably().ifPresent(policy -> policy.getExpiresAfter(key)
+                .filter(remaining -> remaining.compareTo(limit) > 0)
+                .ifPresent(remaining -> policy.setExpiresAfter(key, limit)));
+    }
+}
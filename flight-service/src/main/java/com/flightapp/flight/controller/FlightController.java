@@ -1,14 +1,48 @@
 package com.flightapp.flight.controller;
 
+import com.flightapp.flight.dto.ConnectionSearchRequest;
+import com.flightapp.flight.dto.ConnectionSearchResponse;
+import com.flightapp.flight.dto.ExploreRequest;
+import com.flightapp.flight.dto.ExploreResponse;
+import com.flightapp.flight.dto.FareCalendarDay;
+import com.flightapp.flight.dto.FareCalendarRequest;
 import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightScheduleRequest;
+import com.flightapp.flight.dto.FlightSearchPage;
+import com.flightapp.flight.dto.FlightSearchPageRequest;
 import com.flightapp.flight.dto.FlightSearchRequest;
+import com.flightapp.flight.dto.InventoryImportBatch;
+import com.flightapp.flight.dto.SeatAssignmentRequest;
+import com.flightapp.flight.dto.SeatAssignmentResponse;
+import com.flightapp.flight.dto.SeatBatchRequest;
+import com.flightapp.flight.dto.SeatBatchResponse;
+import com.flightapp.flight.dto.SeatHoldRequest;
+import com.flightapp.flight.dto.SeatMapRequest;
+import com.flightapp.flight.dto.SeatMapResponse;
 import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.entity.FlightSchedule;
+import com.flightapp.flight.entity.SeatHold;
+import com.flightapp.flight.exception.InvalidCursorException;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.exception.InvalidSeatMapException;
+import com.flightapp.flight.service.ConnectionSearchService;
+import com.flightapp.flight.service.ExploreService;
+import com.flightapp.flight.service.FareCalendarService;
+import com.flightapp.flight.service.FlightScheduleService;
 import com.flightapp.flight.service.FlightService;
+import com.flightapp.flight.service.InventoryImportService;
+import com.flightapp.flight.service.SeatBatchService;
+import com.flightapp.flight.service.SeatHoldService;
+import com.flightapp.flight.service.SeatMapService;
+import com.flightapp.flight.util.FlightQuoteEncoding;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -17,19 +51,102 @@ import reactor.core.publisher.Mono;
 @RequiredArgsConstructor
 public class FlightController {
 
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+
     private final FlightService flightService;
+    private final ConnectionSearchService connectionSearchService;
+    private final FareCalendarService fareCalendarService;
+    private final ExploreService exploreService;
+    private final InventoryImportService inventoryImportService;
+    private final FlightScheduleService flightScheduleService;
+    private final SeatBatchService seatBatchService;
+    private final SeatHoldService seatHoldService;
+    private final SeatMapService seatMapService;
 
     @PostMapping("/search")
     public Flux<FlightInventory> searchFlights(@Valid @RequestBody FlightSearchRequest request) {
         return flightService.searchFlights(request);
     }
 
+    @PostMapping("/search/page")
+    public Mono<ResponseEntity<FlightSearchPage>> searchFlightsPage(@Valid @RequestBody FlightSearchPageRequest request) {
+        return flightService.searchFlightsPage(request)
+                .map(ResponseEntity::ok)
+                .onErrorResume(InvalidCursorException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @PostMapping(value = "/search/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<FlightInventory> streamFlights(@Valid @RequestBody FlightSearchPageRequest request) {
+        // fails before anything is written, so the status can still change
+        return flightService.streamFlights(request)
+                .onErrorMap(InvalidCursorException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    @PostMapping("/search/connections")
+    public Mono<ConnectionSearchResponse> searchConnections(@Valid @RequestBody ConnectionSearchRequest request) {
+        return connectionSearchService.searchConnections(request);
+    }
+
+    @PostMapping("/search/calendar")
+    public Flux<FareCalendarDay> fareCalendar(@Valid @RequestBody FareCalendarRequest request) {
+        return fareCalendarService.fareCalendar(request)
+                .onErrorMap(InvalidDateRangeException.class, e -> new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage()));
+    }
+
+    @PostMapping("/search/explore")
+    public Mono<ResponseEntity<ExploreResponse>> explore(@Valid @RequestBody ExploreRequest request) {
+        return exploreService.explore(request)
+                .map(ResponseEntity::ok)
+                .onErrorResume(InvalidDateRangeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
     @PostMapping("/add")
     public Mono<ResponseEntity<FlightInventory>> addInventory(@Valid @RequestBody FlightInventoryRequest request) {
         return flightService.addInventory(request)
                 .map(inventory -> ResponseEntity.status(HttpStatus.CREATED).body(inventory));
     }
 
+    @PostMapping(value = "/add/bulk",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, "text/csv"},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<InventoryImportBatch> importInventory(@RequestBody Flux<String> lines, ServerHttpRequest request) {
+        boolean csv = TEXT_CSV.isCompatibleWith(request.getHeaders().getContentType());
+        return inventoryImportService.importInventory(lines, csv);
+    }
+
+    @PostMapping("/schedules")
+    public Mono<ResponseEntity<FlightSchedule>> createSchedule(@Valid @RequestBody FlightScheduleRequest request) {
+        return flightScheduleService.createSchedule(request)
+                .map(schedule -> ResponseEntity.status(HttpStatus.CREATED).body(schedule))
+                .onErrorResume(InvalidDateRangeException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/schedules/{id}")
+    public Mono<ResponseEntity<FlightSchedule>> getSchedule(@PathVariable Long id) {
+        return flightScheduleService.getSchedule(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/holds")
+    public Mono<ResponseEntity<SeatHold>> holdSeats(@Valid @RequestBody SeatHoldRequest request) {
+        return seatHoldService.hold(request)
+                .map(hold -> ResponseEntity.status(HttpStatus.CREATED).body(hold))
+                .defaultIfEmpty(ResponseEntity.status(HttpStatus.CONFLICT).build());
+    }
+
+    @PostMapping("/holds/{id}/confirm")
+    public Mono<ResponseEntity<Void>> confirmHold(@PathVariable Long id) {
+        return seatHoldService.confirm(id)
+                .map(confirmed -> confirmed ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
+    @DeleteMapping("/holds/{id}")
+    public Mono<ResponseEntity<Void>> releaseHold(@PathVariable Long id) {
+        return seatHoldService.release(id)
+                .map(released -> released ? ResponseEntity.noContent().<Void>build() : ResponseEntity.notFound().<Void>build());
+    }
+
     @GetMapping("/inventory/{id}")
     public Mono<ResponseEntity<FlightInventory>> getFlightById(@PathVariable Long id) {
         return flightService.getFlightById(id)
@@ -37,13 +154,74 @@ public class FlightController {
                 .defaultIfEmpty(ResponseEntity.notFound().build());
     }
 
+    @GetMapping(value = "/inventory/{id}/quote",
+            produces = {MediaType.APPLICATION_JSON_VALUE, FlightQuoteEncoding.MEDIA_TYPE_VALUE})
+    public Mono<ResponseEntity<Object>> getFlightQuote(@PathVariable Long id, ServerHttpRequest request) {
+        // only on explicit request, so */* still gets JSON
+        boolean binary = request.getHeaders().getAccept().stream()
+                .anyMatch(FlightQuoteEncoding.MEDIA_TYPE::equalsTypeAndSubtype);
+        return flightService.getFlightQuote(id)
+                .map(quote -> binary
+                        ? ResponseEntity.ok().contentType(FlightQuoteEncoding.MEDIA_TYPE).<Object>body(FlightQuoteEncoding.encode(quote))
+                        : ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).<Object>body(quote))
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PutMapping("/inventory/seats")
+    public Mono<SeatBatchResponse> applySeatBatch(@Valid @RequestBody SeatBatchRequest request) {
+        return seatBatchService.applyBatch(request);
+    }
+
+    @PutMapping("/inventory/{id}/seat-map")
+    public Mono<ResponseEntity<SeatMapResponse>> createSeatMap(@PathVariable Long id, @Valid @RequestBody SeatMapRequest request) {
+        return seatMapService.createSeatMap(id, request)
+                .map(seatMap -> ResponseEntity.status(HttpStatus.CREATED).body(seatMap))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(InvalidSeatMapException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @GetMapping("/inventory/{id}/seat-map")
+    public Mono<ResponseEntity<SeatMapResponse>> getSeatMap(@PathVariable Long id) {
+        return seatMapService.getSeatMap(id)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/inventory/{id}/seat-map/assign")
+    public Mono<ResponseEntity<SeatAssignmentResponse>> assignSeats(@PathVariable Long id,
+                                                                    @Valid @RequestBody SeatAssignmentRequest request) {
+        return seatMapService.assignSeats(id, request)
+                .map(assignment -> assignment.getSeats().isEmpty()
+                        ? ResponseEntity.status(HttpStatus.CONFLICT).body(assignment)
+                        : ResponseEntity.ok(assignment))
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(InvalidSeatMapException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    @PostMapping("/inventory/{id}/seat-map/release")
+    public Mono<ResponseEntity<SeatAssignmentResponse>> releaseSeats(@PathVariable Long id,
+                                                                     @Valid @RequestBody SeatAssignmentRequest request) {
+        return seatMapService.releaseSeats(id, request)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build())
+                .onErrorResume(InvalidSeatMapException.class, e -> Mono.just(ResponseEntity.badRequest().build()));
+    }
+
+    /**
+     * With {@code booking}, the seats are recorded against that booking so it can choose them in the seat map.
+     */
     @PutMapping("/inventory/{id}/reduce-seats")
-    public Mono<Boolean> reduceSeats(@PathVariable Long id, @RequestParam Integer seats) {
-        return flightService.reduceSeats(id, seats);
+    public Mono<Boolean> reduceSeats(@PathVariable Long id, @RequestParam Integer seats,
+                                     @RequestParam(required = false) String booking) {
+        return booking != null ? seatMapService.reserve(id, seats, booking) : flightService.reduceSeats(id, seats);
     }
 
+    /**
+     * With {@code booking}, the seats the booking chose in the seat map are freed as well.
+     */
     @PutMapping("/inventory/{id}/restore-seats")
-    public Mono<Boolean> restoreSeats(@PathVariable Long id, @RequestParam Integer seats) {
-        return flightService.restoreSeats(id, seats);
+    public Mono<Boolean> restoreSeats(@PathVariable Long id, @RequestParam Integer seats,
+                                      @RequestParam(required = false) String booking) {
+        return booking != null ? seatMapService.restore(id, seats, booking) : flightService.restoreSeats(id, seats);
     }
 }
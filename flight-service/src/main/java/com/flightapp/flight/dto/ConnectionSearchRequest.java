@@ -0,0 +1,48 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionSearchRequest {
+
+    @NotBlank(message = "Origin is required")
+    private String origin;
+
+    @NotBlank(message = "Destination is required")
+    private String destination;
+
+    @NotNull(message = "Travel date is required")
+    private LocalDate travelDate;
+
+    @Min(value = 1, message = "Max stops must be 1 or 2")
+    @Max(value = 2, message = "Max stops must be 1 or 2")
+    private Integer maxStops;
+
+    /**
+     * Overrides {@code flight.connections.min-layover} for this search.
+     */
+    @Min(value = 0, message = "Min layover cannot be negative")
+    private Integer minLayoverMinutes;
+
+    /**
+     * Overrides {@code flight.connections.max-layover} for this search.
+     */
+    @Min(value = 1, message = "Max layover must be positive")
+    private Integer maxLayoverMinutes;
+
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 50, message = "Limit must be at most 50")
+    private Integer limit;
+}
@@ -0,0 +1,26 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ConnectionSearchResponse {
+
+    /**
+     * Cheapest first, then shortest.
+     */
+    private List<Itinerary> itineraries;
+
+    /**
+     * {@code false} when the search hit its time budget, or the route graph was not loaded yet,
+     * so better itineraries may exist.
+     */
+    private Boolean complete;
+}
@@ -0,0 +1,25 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The cheapest bookable flight to a destination within the explored dates.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DestinationFare {
+
+    private String destination;
+    private Double price;
+    private Long flightId;
+    private String flightNumber;
+    private String airline;
+    private LocalDateTime departureTime;
+}
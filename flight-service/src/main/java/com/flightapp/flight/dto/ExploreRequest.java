@@ -0,0 +1,38 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExploreRequest {
+
+    @NotBlank(message = "Origin is required")
+    private String origin;
+
+    @NotNull(message = "From date is required")
+    private LocalDate fromDate;
+
+    /**
+     * Inclusive.
+     */
+    @NotNull(message = "To date is required")
+    private LocalDate toDate;
+
+    /**
+     * Number of destinations; defaults to {@code flight.explore.max-results}.
+     */
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 50, message = "Limit must be at most 50")
+    private Integer limit;
+}
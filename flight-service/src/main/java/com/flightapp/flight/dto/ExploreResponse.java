@@ -0,0 +1,25 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ExploreResponse {
+
+    /**
+     * Cheapest first, one entry per destination.
+     */
+    private List<DestinationFare> destinations;
+
+    /**
+     * {@code false} when the fares were not loaded yet, so the list is empty rather than accurate.
+     */
+    private Boolean complete;
+}
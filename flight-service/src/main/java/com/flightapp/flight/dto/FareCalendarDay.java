@@ -0,0 +1,24 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarDay {
+
+    private LocalDate date;
+
+    /**
+     * Cheapest bookable flight of the day, or {@code null} when there is none.
+     */
+    private Double minPrice;
+
+    private Integer flightCount;
+}
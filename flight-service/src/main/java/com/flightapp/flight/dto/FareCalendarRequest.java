@@ -0,0 +1,32 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FareCalendarRequest {
+
+    @NotBlank(message = "Origin is required")
+    private String origin;
+
+    @NotBlank(message = "Destination is required")
+    private String destination;
+
+    @NotNull(message = "From date is required")
+    private LocalDate fromDate;
+
+    /**
+     * Inclusive; at most {@code flight.fare-calendar.max-days} days after {@link #fromDate}.
+     */
+    @NotNull(message = "To date is required")
+    private LocalDate toDate;
+}
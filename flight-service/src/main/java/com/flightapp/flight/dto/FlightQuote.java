@@ -0,0 +1,21 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The part of a flight a booking needs: whether the seats are there and what they cost. Also the projection
+ * {@link com.flightapp.flight.repository.FlightInventoryRepository#findQuoteById(Long)} reads into.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightQuote {
+
+    private String flightNumber;
+    private Integer availableSeats;
+    private Double price;
+}
@@ -0,0 +1,70 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Set;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightScheduleRequest {
+
+    /**
+     * Each generated flight is numbered {@code <flightNumber>-<yyyyMMdd>}, which must fit in
+     * {@code flight_inventory.flight_number}.
+     */
+    @NotBlank(message = "Flight number is required")
+    @Size(max = 11, message = "Flight number must be at most 11 characters")
+    private String flightNumber;
+
+    @NotBlank(message = "Airline is required")
+    private String airline;
+
+    @NotBlank(message = "Origin is required")
+    private String origin;
+
+    @NotBlank(message = "Destination is required")
+    private String destination;
+
+    @NotNull(message = "Departure time is required")
+    private LocalTime departureTime;
+
+    @NotNull(message = "Duration is required")
+    @Min(value = 1, message = "Duration must be positive")
+    @Max(value = 1440, message = "Duration must be at most 24 hours")
+    private Integer durationMinutes;
+
+    /**
+     * Operating days; every day when empty.
+     */
+    private Set<DayOfWeek> daysOfWeek;
+
+    @NotNull(message = "Valid from date is required")
+    private LocalDate validFrom;
+
+    /**
+     * Inclusive.
+     */
+    @NotNull(message = "Valid to date is required")
+    private LocalDate validTo;
+
+    @NotNull(message = "Available seats is required")
+    @Min(value = 1, message = "Available seats must be at least 1")
+    private Integer availableSeats;
+
+    @NotNull(message = "Price is required")
+    @Min(value = 0, message = "Price must be positive")
+    private Double price;
+}
@@ -0,0 +1,23 @@
+package com.flightapp.flight.dto;
+
+import com.flightapp.flight.entity.FlightInventory;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchPage {
+
+    private List<FlightInventory> flights;
+
+    /**
+     * Opaque cursor for the following page, or {@code null} when this is the last page.
+     */
+    private String nextCursor;
+}
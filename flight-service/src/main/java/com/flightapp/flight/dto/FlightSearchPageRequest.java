@@ -0,0 +1,45 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchPageRequest {
+
+    @NotBlank(message = "Origin is required")
+    private String origin;
+
+    @NotBlank(message = "Destination is required")
+    private String destination;
+
+    @NotNull(message = "Travel date is required")
+    private LocalDate travelDate;
+
+    /**
+     * Defaults to {@link FlightSortOrder#DEPARTURE_TIME}.
+     */
+    private FlightSortOrder sort;
+
+    /**
+     * Page size; defaults to 20 for pages and to no limit for streams.
+     */
+    @Min(value = 1, message = "Limit must be at least 1")
+    @Max(value = 500, message = "Limit must be at most 500")
+    private Integer limit;
+
+    /**
+     * The {@code nextCursor} of the previous page, to continue after it.
+     */
+    private String cursor;
+}
@@ -0,0 +1,29 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * The columns of a bookable flight that a route/day search returns. {@code idx_flight_search} finds the route/day's
+ * flights in departure order and the rest are read from their rows.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchRow {
+
+    private Long id;
+    private String flightNumber;
+    private String airline;
+    private LocalDateTime departureTime;
+    private LocalDateTime arrivalTime;
+    private Integer availableSeats;
+    private Double price;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,39 @@
+package com.flightapp.flight.dto;
+
+import com.flightapp.flight.index.FlightRecord;
+
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+
+/**
+ * Sort orders for paged and streamed searches. Each order sorts by a numeric key with the flight id as
+ * tie-breaker, which is what keyset cursors resume from.
+ */
+public enum FlightSortOrder {
+
+    PRICE {
+        @Override
+        public double key(FlightRecord flight) {
+            return flight.price();
+        }
+    },
+    DEPARTURE_TIME {
+        @Override
+        public double key(FlightRecord flight) {
+            return flight.departureTime().toEpochSecond(ZoneOffset.UTC);
+        }
+    },
+    DURATION {
+        @Override
+        public double key(FlightRecord flight) {
+            return Duration.between(flight.departureTime(), flight.arrivalTime()).toMinutes();
+        }
+    };
+
+    public abstract double key(FlightRecord flight);
+
+    public Comparator<FlightRecord> comparator() {
+        return Comparator.comparingDouble(this::key).thenComparingLong(FlightRecord::id);
+    }
+}
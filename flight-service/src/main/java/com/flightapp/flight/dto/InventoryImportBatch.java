@@ -0,0 +1,25 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Progress report for one batch of a bulk inventory import. Line numbers are 1-based input lines.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryImportBatch {
+
+    private Long batch;
+    private Long firstLine;
+    private Long lastLine;
+    private Integer imported;
+    private Integer failed;
+    private List<InventoryImportError> errors;
+}
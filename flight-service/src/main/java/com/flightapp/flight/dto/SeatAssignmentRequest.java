@@ -0,0 +1,35 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Pattern;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Either names the seats, or asks for {@code count} adjacent seats in one row, for a booking that already holds
+ * that many seats on the flight.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatAssignmentRequest {
+
+    @NotBlank(message = "Booking is required")
+    @Size(max = 64, message = "Booking must be at most 64 characters")
+    private String booking;
+
+    @Size(max = 26, message = "At most 26 seats per request")
+    private List<@Pattern(regexp = "\\d{1,3}[A-Z]", message = "Seats look like 12A") String> seats;
+
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = 26, message = "Count must be at most 26")
+    private Integer count;
+}
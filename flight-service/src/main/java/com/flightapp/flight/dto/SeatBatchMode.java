@@ -0,0 +1,14 @@
+package com.flightapp.flight.dto;
+
+public enum SeatBatchMode {
+
+    /**
+     * Apply every operation or none of them.
+     */
+    ALL_OR_NOTHING,
+
+    /**
+     * Apply each operation that fits and reject the rest.
+     */
+    PER_ITEM
+}
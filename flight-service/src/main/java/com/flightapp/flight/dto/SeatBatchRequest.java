@@ -0,0 +1,30 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBatchRequest {
+
+    /**
+     * Applied in list order; several operations may target the same flight.
+     */
+    @NotEmpty(message = "At least one operation is required")
+    @Size(max = 1000, message = "At most 1000 operations per batch")
+    private List<@Valid SeatOperation> operations;
+
+    /**
+     * Defaults to {@link SeatBatchMode#ALL_OR_NOTHING}.
+     */
+    private SeatBatchMode mode;
+}
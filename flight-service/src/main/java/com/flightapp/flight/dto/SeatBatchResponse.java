@@ -0,0 +1,22 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Outcome of a seat batch, with one result per operation in request order.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatBatchResponse {
+
+    private Integer applied;
+    private Integer rejected;
+    private List<SeatOperationResult> results;
+}
@@ -0,0 +1,30 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatHoldRequest {
+
+    @NotNull(message = "Flight ID is required")
+    private Long flightId;
+
+    @NotNull(message = "Seats is required")
+    @Min(value = 1, message = "Seats must be at least 1")
+    private Integer seats;
+
+    /**
+     * How long the seats stay held unless confirmed; defaults to {@code flight.holds.default-ttl-seconds}.
+     */
+    @Min(value = 1, message = "TTL must be at least 1 second")
+    @Max(value = 3600, message = "TTL must be at most 1 hour")
+    private Integer ttlSeconds;
+}
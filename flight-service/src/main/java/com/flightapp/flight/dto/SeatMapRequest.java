@@ -0,0 +1,29 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapRequest {
+
+    @NotNull(message = "Seat rows is required")
+    @Min(value = 1, message = "Seat rows must be at least 1")
+    @Max(value = 200, message = "Seat rows must be at most 200")
+    private Integer seatRows;
+
+    /**
+     * Seats are lettered from A, so at most 26.
+     */
+    @NotNull(message = "Seats per row is required")
+    @Min(value = 1, message = "Seats per row must be at least 1")
+    @Max(value = 26, message = "Seats per row must be at most 26")
+    private Integer seatsPerRow;
+}
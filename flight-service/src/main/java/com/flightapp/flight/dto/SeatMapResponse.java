@@ -0,0 +1,25 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatMapResponse {
+
+    private Long flightId;
+    private Integer seatRows;
+    private Integer seatsPerRow;
+    private Integer freeSeats;
+
+    /**
+     * One string per row from row 1, one character per seat from A: {@code X} taken, {@code .} free.
+     */
+    private List<String> rows;
+}
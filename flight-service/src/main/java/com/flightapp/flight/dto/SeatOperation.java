@@ -0,0 +1,23 @@
+package com.flightapp.flight.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatOperation {
+
+    @NotNull(message = "Flight ID is required")
+    private Long flightId;
+
+    /**
+     * Seats to add to the flight; negative to take seats, positive to give them back.
+     */
+    @NotNull(message = "Delta is required")
+    private Integer delta;
+}
@@ -0,0 +1,17 @@
+package com.flightapp.flight.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SeatOperationResult {
+
+    private Long flightId;
+    private Integer delta;
+    private SeatOperationStatus status;
+}
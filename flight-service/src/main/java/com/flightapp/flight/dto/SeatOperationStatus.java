@@ -0,0 +1,13 @@
+package com.flightapp.flight.dto;
+
+public enum SeatOperationStatus {
+
+    APPLIED,
+    INSUFFICIENT_SEATS,
+    FLIGHT_NOT_FOUND,
+
+    /**
+     * Would have fit, but another operation of an all-or-nothing batch did not.
+     */
+    NOT_APPLIED
+}
@@ -0,0 +1,49 @@
+package com.flightapp.flight.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("flight_schedule")
+public class FlightSchedule {
+
+    @Id
+    private Long id;
+
+    private String flightNumber;
+    private String airline;
+    private String origin;
+    private String destination;
+    private LocalTime departureTime;
+    private Integer durationMinutes;
+
+    /**
+     * Bit {@code dayOfWeek.getValue() - 1} is set for each day the flight operates.
+     */
+    private Integer daysOfWeek;
+
+    private LocalDate validFrom;
+    private LocalDate validTo;
+    private Integer availableSeats;
+    private Double price;
+    private String status;
+
+    /**
+     * Last day whose flights are in {@code flight_inventory}, or {@code null} before the first expansion.
+     */
+    private LocalDate materializedThrough;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
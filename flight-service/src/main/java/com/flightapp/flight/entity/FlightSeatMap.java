@@ -0,0 +1,32 @@
+package com.flightapp.flight.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("flight_seat_map")
+public class FlightSeatMap {
+
+    @Id
+    private Long flightId;
+
+    private Integer seatRows;
+    private Integer seatsPerRow;
+
+    /**
+     * {@link com.flightapp.flight.seats.SeatMap#toBytes()}.
+     */
+    private byte[] taken;
+
+    private Long version;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,36 @@
+package com.flightapp.flight.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * A booking's seats on a flight with a seat map, and which of them it has chosen so far. Each chosen seat belongs
+ * to a seat the booking took from {@code available_seats}, so the map never has fewer free seats than are for sale.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("seat_assignment")
+public class SeatAssignment {
+
+    @Id
+    private Long id;
+
+    private Long flightId;
+    private String bookingRef;
+    private Integer seats;
+
+    /**
+     * Seat labels such as {@code 12A}, comma separated.
+     */
+    private String assignedSeats;
+
+    private LocalDateTime updatedAt;
+}
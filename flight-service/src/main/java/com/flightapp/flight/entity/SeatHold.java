@@ -0,0 +1,34 @@
+package com.flightapp.flight.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Seats taken from a flight for a booking in progress. They stay taken when the hold is confirmed and go back to
+ * the flight when it is released or expires; the row is kept in state {@code RETURNING}, claimed by the instance
+ * returning them, until they are back.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("seat_hold")
+public class SeatHold {
+
+    @Id
+    private Long id;
+
+    private Long flightId;
+    private Integer seats;
+    private String state;
+    private LocalDateTime expiresAt;
+    private String claimedBy;
+    private LocalDateTime claimedAt;
+    private LocalDateTime createdAt;
+}
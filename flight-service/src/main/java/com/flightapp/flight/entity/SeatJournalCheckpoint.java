@@ -0,0 +1,28 @@
+package com.flightapp.flight.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * The last seat journal segment whose deltas have been written to {@code flight_inventory}, recorded in the same
+ * transaction as those deltas.
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table("seat_journal_checkpoint")
+public class SeatJournalCheckpoint {
+
+    @Id
+    private String journalId;
+
+    private Long flushedSegment;
+    private LocalDateTime updatedAt;
+}
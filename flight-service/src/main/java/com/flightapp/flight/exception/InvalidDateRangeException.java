@@ -0,0 +1,7 @@
+package com.flightapp.flight.exception;
+
+public class InvalidDateRangeException extends RuntimeException {
+    public InvalidDateRangeException(String message) {
+        super(message);
+    }
+}
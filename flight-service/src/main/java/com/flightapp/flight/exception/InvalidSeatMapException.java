@@ -0,0 +1,7 @@
+package com.flightapp.flight.exception;
+
+public class InvalidSeatMapException extends RuntimeException {
+    public InvalidSeatMapException(String message) {
+        super(message);
+    }
+}
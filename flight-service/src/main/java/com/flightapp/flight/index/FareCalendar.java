@@ -0,0 +1,139 @@
+package com.flightapp.flight.index;
+
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Cheapest bookable price and number of bookable flights per route and day, kept in step with
+ * {@link FlightSearchIndex} through its listener callbacks. Each route-day keeps a histogram of its bookable
+ * prices so removing the cheapest flight finds the next one without rescanning the route; readers see
+ * immutable {@link DayFare}s in a per-route date-sorted map and never lock.
+ *
+ * <p>A seat change on a flight the index does not hold yet could move any route's fares, so the calendar reports
+ * itself not ready until the next reload, and callers query the database meanwhile.
+ */
+@Component
+@Slf4j
+public class FareCalendar implements FlightInventoryListener {
+
+    // guarded by this; price -> number of bookable flights at that price
+    private Map<RouteDay, TreeMap<Double, Integer>> pricesByRouteDay = new HashMap<>();
+    private volatile Map<Route, NavigableMap<LocalDate, DayFare>> faresByRoute = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Days in {@code [from, to]} with at least one bookable flight on the route, in date order.
+     */
+    public NavigableMap<LocalDate, DayFare> fares(String origin, String destination, LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, DayFare> fares = faresByRoute.get(Route.of(origin, destination));
+        return fares != null ? fares.subMap(from, true, to, true) : new TreeMap<>();
+    }
+
+    @Override
+    public synchronized void onFlightChanged(FlightRecord previous, FlightRecord current) {
+        if (previous != null && previous.isBookable()) {
+            remove(previous);
+        }
+        if (current.isBookable()) {
+            add(current);
+        }
+    }
+
+    @Override
+    public synchronized void onReload(Collection<FlightRecord> flights) {
+        Map<RouteDay, TreeMap<Double, Integer>> rebuiltPrices = new HashMap<>();
+        for (FlightRecord flight : flights) {
+            if (flight.isBookable()) {
+                rebuiltPrices.computeIfAbsent(flight.routeDay(), key -> new TreeMap<>())
+                        .merge(flight.price(), 1, Integer::sum);
+            }
+        }
+        Map<Route, NavigableMap<LocalDate, DayFare>> rebuiltFares = new ConcurrentHashMap<>();
+        rebuiltPrices.forEach((routeDay, prices) -> rebuiltFares
+                .computeIfAbsent(Route.of(routeDay), route -> new ConcurrentSkipListMap<>())
+                .put(routeDay.day(), DayFare.of(prices)));
+        pricesByRouteDay = rebuiltPrices;
+        faresByRoute = rebuiltFares;
+        ready = true;
+        log.debug("Fare calendar rebuilt with {} route days", rebuiltPrices.size());
+    }
+
+    @Override
+    public void onUntrackedChange(Long flightId) {
+        if (ready) {
+            ready = false;
+            log.debug("Fare calendar suspended until the next reload: flight {} is not indexed", flightId);
+        }
+    }
+
+    private void add(FlightRecord flight) {
+        TreeMap<Double, Integer> prices = pricesByRouteDay.computeIfAbsent(flight.routeDay(), key -> new TreeMap<>());
+        prices.merge(flight.price(), 1, Integer::sum);
+        publish(flight.routeDay(), prices);
+    }
+
+    private void remove(FlightRecord flight) {
+        TreeMap<Double, Integer> prices = pricesByRouteDay.get(flight.routeDay());
+        if (prices == null) {
+            return;
+        }
+        prices.computeIfPresent(flight.price(), (price, count) -> count > 1 ? count - 1 : null);
+        if (prices.isEmpty()) {
+            pricesByRouteDay.remove(flight.routeDay());
+        }
+        publish(flight.routeDay(), prices);
+    }
+
+    private void publish(RouteDay routeDay, TreeMap<Double, Integer> prices) {
+        Route route = Route.of(routeDay);
+        if (prices.isEmpty()) {
+            NavigableMap<LocalDate, DayFare> fares = faresByRoute.get(route);
+            if (fares != null) {
+                fares.remove(routeDay.day());
+            }
+            return;
+        }
+        faresByRoute.computeIfAbsent(route, key -> new ConcurrentSkipListMap<>())
+                .put(routeDay.day(), DayFare.of(prices));
+    }
+
+    /**
+     * Cheapest bookable price on a day and how many bookable flights the day has.
+     */
+    public record DayFare(double minPrice, int flightCount) {
+
+        private static DayFare of(TreeMap<Double, Integer> prices) {
+            int flights = 0;
+            for (int count : prices.values()) {
+                flights += count;
+            }
+            return new DayFare(prices.firstKey(), flights);
+        }
+    }
+
+    private record Route(String origin, String destination) {
+
+        private static Route of(String origin, String destination) {
+            return new Route(origin.toUpperCase(Locale.ROOT), destination.toUpperCase(Locale.ROOT));
+        }
+
+        private static Route of(RouteDay routeDay) {
+            return new Route(routeDay.origin(), routeDay.destination());
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.flightapp.flight.index;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+
+/**
+ * Copy-on-write helpers for the sorted flight arrays shared by the in-memory indexes. Arrays are in departure
+ * order unless a comparator is given.
+ */
+final class FlightArrays {
+
+    static final Comparator<FlightRecord> BY_DEPARTURE =
+            Comparator.comparing(FlightRecord::departureTime).thenComparingLong(FlightRecord::id);
+
+    static final FlightRecord[] EMPTY = new FlightRecord[0];
+
+    private FlightArrays() {
+    }
+
+    static FlightRecord[] sorted(Collection<FlightRecord> flights) {
+        return sorted(flights, BY_DEPARTURE);
+    }
+
+    static FlightRecord[] sorted(Collection<FlightRecord> flights, Comparator<FlightRecord> order) {
+        FlightRecord[] sorted = flights.toArray(EMPTY);
+        Arrays.sort(sorted, order);
+        return sorted;
+    }
+
+    /**
+     * Copy of {@code flights} (may be {@code null}) with {@code flight} replacing any entry with its id.
+     */
+    static FlightRecord[] with(FlightRecord[] flights, FlightRecord flight) {
+        return with(flights, flight, BY_DEPARTURE);
+    }
+
+    static FlightRecord[] with(FlightRecord[] flights, FlightRecord flight, Comparator<FlightRecord> order) {
+        FlightRecord[] base = flights != null ? without(flights, flight.id()) : EMPTY;
+        FlightRecord[] updated = Arrays.copyOf(base, base.length + 1);
+        int position = Arrays.binarySearch(base, flight, order);
+        int insertAt = position >= 0 ? position : -position - 1;
+        System.arraycopy(base, insertAt, updated, insertAt + 1, base.length - insertAt);
+        updated[insertAt] = flight;
+        return updated;
+    }
+
+    /**
+     * Copy of {@code flights} without the entry with the given id, or {@code null} if that leaves it empty.
+     */
+    static FlightRecord[] withoutOrNull(FlightRecord[] flights, long flightId) {
+        FlightRecord[] remaining = without(flights, flightId);
+        return remaining.length > 0 ? remaining : null;
+    }
+
+    private static FlightRecord[] without(FlightRecord[] flights, long flightId) {
+        for (int i = 0; i < flights.length; i++) {
+            if (flights[i].id() == flightId) {
+                FlightRecord[] updated = new FlightRecord[flights.length - 1];
+                System.arraycopy(flights, 0, updated, 0, i);
+                System.arraycopy(flights, i + 1, updated, i, flights.length - i - 1);
+                return updated;
+            }
+        }
+        return flights;
+    }
+}
@@ -0,0 +1,29 @@
+package com.flightapp.flight.index;
+
+import java.util.Collection;
+
+/**
+ * Notified by {@link FlightSearchIndex} whenever its view of the inventory changes. Callbacks run on the
+ * writing thread while the index is locked, so they must be quick and must not call back into the index
+ * for writes.
+ */
+public interface FlightInventoryListener {
+
+    /**
+     * A single flight was added or changed. {@code previous} is {@code null} for a flight new to the index.
+     */
+    void onFlightChanged(FlightRecord previous, FlightRecord current);
+
+    /**
+     * The index was rebuilt from the database and now holds exactly {@code flights}. Anything derived from
+     * earlier notifications should be rebuilt or dropped.
+     */
+    void onReload(Collection<FlightRecord> flights);
+
+    /**
+     * Seats changed on a flight the index does not hold yet, e.g. one created by another instance since the
+     * last reload. The flight will show up with the next reload.
+     */
+    default void onUntrackedChange(Long flightId) {
+    }
+}
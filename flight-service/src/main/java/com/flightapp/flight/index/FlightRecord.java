@@ -0,0 +1,103 @@
+package com.flightapp.flight.index;
+
+import com.flightapp.flight.dto.FlightSearchRow;
+import com.flightapp.flight.entity.FlightInventory;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Immutable snapshot of a {@code flight_inventory} row as held by {@link FlightSearchIndex}. Seat changes
+ * produce a new record via {@link #withAvailableSeats(int)} so readers never see a half-updated flight.
+ */
+public record FlightRecord(long id,
+                           String flightNumber,
+                           String airline,
+                           String origin,
+                           String destination,
+                           LocalDateTime departureTime,
+                           LocalDateTime arrivalTime,
+                           int availableSeats,
+                           double price,
+                           String status,
+                           LocalDateTime createdAt,
+                           LocalDateTime updatedAt) {
+
+    public static final String ACTIVE = "ACTIVE";
+
+    public static FlightRecord from(FlightInventory flight) {
+        return new FlightRecord(
+                flight.getId(),
+                flight.getFlightNumber(),
+                flight.getAirline(),
+                flight.getOrigin(),
+                flight.getDestination(),
+                flight.getDepartureTime(),
+                flight.getArrivalTime(),
+                flight.getAvailableSeats() != null ? flight.getAvailableSeats() : 0,
+                flight.getPrice() != null ? flight.getPrice() : 0.0,
+                flight.getStatus(),
+                flight.getCreatedAt(),
+                flight.getUpdatedAt());
+    }
+
+    /**
+     * Builds a record from a search projection, which omits the columns implied by the query itself.
+     */
+    public static FlightRecord from(RouteDay routeDay, FlightSearchRow row) {
+        return new FlightRecord(
+                row.getId(),
+                row.getFlightNumber(),
+                row.getAirline(),
+                routeDay.origin(),
+                routeDay.destination(),
+                row.getDepartureTime(),
+                row.getArrivalTime(),
+                row.getAvailableSeats(),
+                row.getPrice(),
+                ACTIVE,
+                row.getCreatedAt(),
+                row.getUpdatedAt());
+    }
+
+    public boolean isBookable() {
+        return availableSeats > 0 && ACTIVE.equals(status);
+    }
+
+    public FlightInventory toInventory() {
+        return FlightInventory.builder()
+                .id(id)
+                .flightNumber(flightNumber)
+                .airline(airline)
+                .origin(origin)
+                .destination(destination)
+                .departureTime(departureTime)
+                .arrivalTime(arrivalTime)
+                .availableSeats(availableSeats)
+                .price(price)
+                .status(status)
+                .createdAt(createdAt)
+                .updatedAt(updatedAt)
+                .build();
+    }
+
+    public FlightRecord withAvailableSeats(int seats) {
+        return new FlightRecord(id, flightNumber, airline, origin, destination, departureTime, arrivalTime,
+                seats, price, status, createdAt, updatedAt);
+    }
+
+    public RouteDay routeDay() {
+        return RouteDay.of(origin, destination, departureTime.toLocalDate());
+    }
+
+    /**
+     * Index key. Airport codes are upper-cased because MySQL compares them case-insensitively.
+     */
+    public record RouteDay(String origin, String destination, LocalDate day) {
+
+        public static RouteDay of(String origin, String destination, LocalDate day) {
+            return new RouteDay(origin.toUpperCase(Locale.ROOT), destination.toUpperCase(Locale.ROOT), day);
+        }
+    }
+}
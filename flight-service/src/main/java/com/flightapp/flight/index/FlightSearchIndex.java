@@ -0,0 +1,164 @@
+package com.flightapp.flight.index;
+
+import com.flightapp.flight.dto.FlightSortOrder;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-memory copy of the flight inventory keyed by (origin, destination, departure date), each key holding its
+ * {@link FlightRecord}s as {@link SortedFlights}, pre-sorted in every search order. Searches read them without
+ * locking; writers replace them under the index monitor.
+ *
+ * <p>The index is loaded once the application is ready and reloaded periodically to pick up changes made by
+ * other instances. Changes made through this instance are applied incrementally after the database write
+ * succeeds. Until the first load completes {@link #isReady()} is false and callers must query the database.
+ */
+@Component
+@Slf4j
+public class FlightSearchIndex {
+
+    private final FlightInventoryRepository flightInventoryRepository;
+    private final List<FlightInventoryListener> listeners;
+    private final boolean enabled;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+    private final AtomicLong changeSequence = new AtomicLong();
+    // flight id -> sequence number of the last local change, so a reload does not overwrite it with an older read
+    private final Map<Long, Long> localChanges = new ConcurrentHashMap<>();
+    private volatile Map<Long, FlightRecord> byId = new ConcurrentHashMap<>();
+    private volatile Map<RouteDay, SortedFlights> byRouteDay = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public FlightSearchIndex(FlightInventoryRepository flightInventoryRepository,
+                             List<FlightInventoryListener> listeners,
+                             MeterRegistry meterRegistry,
+                             @Value("${flight.index.enabled:true}") boolean enabled) {
+        this.flightInventoryRepository = flightInventoryRepository;
+        this.listeners = List.copyOf(listeners);
+        this.enabled = enabled;
+        Gauge.builder("flight.index.size", this, index -> index.byId.size()).register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        refresh();
+    }
+
+    @Scheduled(fixedDelayString = "${flight.index.refresh-interval-ms:300000}")
+    public void refresh() {
+        if (!enabled || !refreshing.compareAndSet(false, true)) {
+            return;
+        }
+        long startSequence = changeSequence.get();
+        flightInventoryRepository.findAll()
+                .collectList()
+                .doOnNext(flights -> reload(flights, startSequence))
+                .doFinally(signal -> refreshing.set(false))
+                .subscribe(null, error -> log.warn("Flight search index refresh failed: {}", error.getMessage()));
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Active flights on the route and day that still have seats, in departure order.
+     */
+    public List<FlightRecord> search(String origin, String destination, LocalDate day) {
+        return search(RouteDay.of(origin, destination, day));
+    }
+
+    public List<FlightRecord> search(RouteDay routeDay) {
+        List<FlightRecord> flights = sorted(routeDay).in(FlightSortOrder.DEPARTURE_TIME);
+        List<FlightRecord> result = new ArrayList<>(flights.size());
+        for (FlightRecord flight : flights) {
+            if (flight.isBookable()) {
+                result.add(flight);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Every flight on the route and day, bookable or not, in each search order. Shared, not copied.
+     */
+    public SortedFlights sorted(RouteDay routeDay) {
+        return byRouteDay.getOrDefault(routeDay, SortedFlights.EMPTY);
+    }
+
+    public synchronized void upsert(FlightInventory flight) {
+        replace(byId.get(flight.getId()), FlightRecord.from(flight));
+    }
+
+    public synchronized void adjustSeats(Long flightId, int delta) {
+        FlightRecord current = byId.get(flightId);
+        if (current == null) {
+            // not loaded yet, or created by another instance since the last refresh
+            listeners.forEach(listener -> listener.onUntrackedChange(flightId));
+            return;
+        }
+        replace(current, current.withAvailableSeats(Math.max(0, current.availableSeats() + delta)));
+    }
+
+    private void replace(FlightRecord previous, FlightRecord updated) {
+        if (previous != null && !previous.routeDay().equals(updated.routeDay())) {
+            byRouteDay.computeIfPresent(previous.routeDay(),
+                    (key, flights) -> flights.without(previous.id()));
+        }
+        byRouteDay.compute(updated.routeDay(),
+                (key, flights) -> (flights != null ? flights : SortedFlights.EMPTY).with(updated));
+        byId.put(updated.id(), updated);
+        localChanges.put(updated.id(), changeSequence.incrementAndGet());
+        listeners.forEach(listener -> listener.onFlightChanged(previous, updated));
+    }
+
+    private synchronized void reload(List<FlightInventory> flights, long startSequence) {
+        Map<Long, FlightRecord> loadedById = new ConcurrentHashMap<>();
+        for (FlightInventory flight : flights) {
+            loadedById.put(flight.getId(), FlightRecord.from(flight));
+        }
+        // keep local changes made after the reload query started; the rows read may predate them
+        localChanges.forEach((id, sequence) -> {
+            FlightRecord local = byId.get(id);
+            if (sequence > startSequence && local != null) {
+                loadedById.put(id, local);
+            }
+        });
+        localChanges.values().removeIf(sequence -> sequence <= startSequence);
+
+        Map<RouteDay, List<FlightRecord>> grouped = new HashMap<>();
+        for (FlightRecord flight : loadedById.values()) {
+            grouped.computeIfAbsent(flight.routeDay(), key -> new ArrayList<>()).add(flight);
+        }
+        Map<RouteDay, SortedFlights> loadedByRouteDay = new ConcurrentHashMap<>();
+        grouped.forEach((key, route) -> loadedByRouteDay.put(key, SortedFlights.of(route)));
+
+        byId = loadedById;
+        byRouteDay = loadedByRouteDay;
+        Collection<FlightRecord> loaded = Collections.unmodifiableCollection(loadedById.values());
+        listeners.forEach(listener -> listener.onReload(loaded));
+        if (!ready) {
+            ready = true;
+            log.info("Flight search index loaded with {} flights on {} route days", loadedById.size(), loadedByRouteDay.size());
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.flightapp.flight.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Bookable flights grouped by origin and departure day, for "cheapest destinations from here" queries. Each day
+ * keeps the cheapest flight to each of its destinations in price order, so a query merges only the days in its
+ * window and stops as soon as it has enough destinations, however many flights those days hold.
+ *
+ * <p>Kept in step with {@link FlightSearchIndex} through its listener callbacks: a flight joins its day when it
+ * becomes bookable and leaves it when it sells out or changes. Days are concurrent skip lists, so readers walk
+ * them without locking.
+ */
+@Component
+@Slf4j
+public class OriginFares implements FlightInventoryListener {
+
+    private static final Comparator<FlightRecord> BY_PRICE = Comparator.comparingDouble(FlightRecord::price)
+            .thenComparing(FlightArrays.BY_DEPARTURE);
+
+    // guarded by this for writes
+    private volatile Map<String, NavigableMap<LocalDate, DayFares>> byOrigin = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * The cheapest bookable flight to each of the {@code limit} cheapest destinations from {@code origin}, with
+     * departure on a day in {@code [from, to]}, cheapest first.
+     */
+    public List<FlightRecord> cheapestDestinations(String origin, LocalDate from, LocalDate to, int limit) {
+        NavigableMap<LocalDate, DayFares> days = byOrigin.get(key(origin));
+        if (days == null) {
+            return List.of();
+        }
+        PriorityQueue<Head> heads = new PriorityQueue<>(Comparator.comparing(Head::flight, BY_PRICE));
+        for (DayFares day : days.subMap(from, true, to, true).values()) {
+            Iterator<FlightRecord> flights = day.cheapest.iterator();
+            if (flights.hasNext()) {
+                heads.add(new Head(flights.next(), flights));
+            }
+        }
+        List<FlightRecord> cheapest = new ArrayList<>(limit);
+        Set<String> destinations = new HashSet<>();
+        while (!heads.isEmpty() && cheapest.size() < limit) {
+            Head head = heads.poll();
+            // price order means the first flight seen to a destination is its cheapest in the window
+            if (destinations.add(key(head.flight().destination()))) {
+                cheapest.add(head.flight());
+            }
+            if (head.rest().hasNext()) {
+                heads.add(new Head(head.rest().next(), head.rest()));
+            }
+        }
+        return cheapest;
+    }
+
+    @Override
+    public synchronized void onFlightChanged(FlightRecord previous, FlightRecord current) {
+        if (previous != null && previous.isBookable()) {
+            remove(byOrigin, previous);
+        }
+        if (current.isBookable()) {
+            add(byOrigin, current);
+        }
+    }
+
+    @Override
+    public synchronized void onReload(Collection<FlightRecord> flights) {
+        Map<String, NavigableMap<LocalDate, DayFares>> rebuilt = new ConcurrentHashMap<>();
+        for (FlightRecord flight : flights) {
+            if (flight.isBookable()) {
+                add(rebuilt, flight);
+            }
+        }
+        byOrigin = rebuilt;
+        ready = true;
+        log.debug("Origin fares rebuilt for {} airports", rebuilt.size());
+    }
+
+    private static void add(Map<String, NavigableMap<LocalDate, DayFares>> byOrigin, FlightRecord flight) {
+        byOrigin.computeIfAbsent(key(flight.origin()), origin -> new ConcurrentSkipListMap<>())
+                .computeIfAbsent(flight.departureTime().toLocalDate(), day -> new DayFares())
+                .add(flight);
+    }
+
+    private static void remove(Map<String, NavigableMap<LocalDate, DayFares>> byOrigin, FlightRecord flight) {
+        NavigableMap<LocalDate, DayFares> days = byOrigin.get(key(flight.origin()));
+        DayFares day = days != null ? days.get(flight.departureTime().toLocalDate()) : null;
+        if (day != null && day.remove(flight)) {
+            days.remove(flight.departureTime().toLocalDate());
+        }
+    }
+
+    private static String key(String airport) {
+        return airport.toUpperCase(Locale.ROOT);
+    }
+
+    private record Head(FlightRecord flight, Iterator<FlightRecord> rest) {
+    }
+
+    /**
+     * One origin's bookable flights on one day.
+     */
+    private static final class DayFares {
+
+        // destination -> its flights, cheapest first
+        private final Map<String, NavigableSet<FlightRecord>> byDestination = new ConcurrentHashMap<>();
+        // the first flight of each destination's set, cheapest first
+        private final NavigableSet<FlightRecord> cheapest = new ConcurrentSkipListSet<>(BY_PRICE);
+
+        private void add(FlightRecord flight) {
+            NavigableSet<FlightRecord> flights = byDestination.computeIfAbsent(
+                    key(flight.destination()), destination -> new ConcurrentSkipListSet<>(BY_PRICE));
+            FlightRecord previousMin = flights.isEmpty() ? null : flights.first();
+            flights.add(flight);
+            replaceMin(previousMin, flights.first());
+        }
+
+        /**
+         * Returns {@code true} if the day has no flights left.
+         */
+        private boolean remove(FlightRecord flight) {
+            String destination = key(flight.destination());
+            NavigableSet<FlightRecord> flights = byDestination.get(destination);
+            if (flights == null || flights.isEmpty()) {
+                return byDestination.isEmpty();
+            }
+            FlightRecord previousMin = flights.first();
+            flights.remove(flight);
+            if (flights.isEmpty()) {
+                byDestination.remove(destination);
+                cheapest.remove(previousMin);
+            } else {
+                replaceMin(previousMin, flights.first());
+            }
+            return byDestination.isEmpty();
+        }
+
+        private void replaceMin(FlightRecord previousMin, FlightRecord min) {
+            if (previousMin != null && BY_PRICE.compare(previousMin, min) == 0) {
+                return;
+            }
+            // added before the old one goes, so a reader in between sees the destination at least once
+            cheapest.add(min);
+            if (previousMin != null) {
+                cheapest.remove(previousMin);
+            }
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.flightapp.flight.index;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Time-expanded flight graph for connection search: airports are nodes and each flight is an edge, stored as
+ * per-origin adjacency arrays sorted by departure so "flights leaving X between t1 and t2" is a binary search.
+ * Kept in step with {@link FlightSearchIndex} through its listener callbacks; arrays are replaced, never
+ * mutated, so searches run without locking.
+ */
+@Component
+@Slf4j
+public class RouteGraph implements FlightInventoryListener {
+
+    private volatile Map<String, FlightRecord[]> departuresByAirport = new ConcurrentHashMap<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Flights leaving {@code airport} with departure in {@code [from, to]}, in departure order. Includes flights
+     * that are sold out or not active; callers filter on {@link FlightRecord#isBookable()}.
+     */
+    public List<FlightRecord> departures(String airport, LocalDateTime from, LocalDateTime to) {
+        FlightRecord[] flights = departuresByAirport.getOrDefault(airport.toUpperCase(Locale.ROOT), FlightArrays.EMPTY);
+        int start = firstDepartingAtOrAfter(flights, from);
+        int end = start;
+        while (end < flights.length && !flights[end].departureTime().isAfter(to)) {
+            end++;
+        }
+        return Arrays.asList(flights).subList(start, end);
+    }
+
+    private static int firstDepartingAtOrAfter(FlightRecord[] flights, LocalDateTime time) {
+        int low = 0;
+        int high = flights.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (flights[mid].departureTime().isBefore(time)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public synchronized void onFlightChanged(FlightRecord previous, FlightRecord current) {
+        if (previous != null) {
+            departuresByAirport.computeIfPresent(key(previous),
+                    (airport, flights) -> FlightArrays.withoutOrNull(flights, previous.id()));
+        }
+        departuresByAirport.compute(key(current), (airport, flights) -> FlightArrays.with(flights, current));
+    }
+
+    @Override
+    public synchronized void onReload(Collection<FlightRecord> flights) {
+        Map<String, List<FlightRecord>> grouped = new HashMap<>();
+        for (FlightRecord flight : flights) {
+            grouped.computeIfAbsent(key(flight), airport -> new ArrayList<>()).add(flight);
+        }
+        Map<String, FlightRecord[]> rebuilt = new ConcurrentHashMap<>();
+        grouped.forEach((airport, departures) -> rebuilt.put(airport, FlightArrays.sorted(departures)));
+        departuresByAirport = rebuilt;
+        ready = true;
+        log.debug("Route graph rebuilt with {} airports and {} flights", rebuilt.size(), flights.size());
+    }
+
+    private static String key(FlightRecord flight) {
+        return flight.origin().toUpperCase(Locale.ROOT);
+    }
+}
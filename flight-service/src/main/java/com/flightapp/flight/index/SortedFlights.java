@@ -0,0 +1,76 @@
+package com.flightapp.flight.index;
+
+import com.flightapp.flight.dto.FlightSortOrder;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The flights of one route and day, held once in every {@link FlightSortOrder}, so a page is a binary search
+ * to the cursor followed by a read of the next few entries. Immutable: {@link #with(FlightRecord)} and
+ * {@link #without(long)} return updated copies. May hold flights that are not bookable; readers skip them.
+ */
+public final class SortedFlights {
+
+    public static final SortedFlights EMPTY = new SortedFlights(emptyArrays());
+
+    private static final FlightSortOrder[] ORDERS = FlightSortOrder.values();
+
+    private final FlightRecord[][] byOrder;
+
+    private SortedFlights(FlightRecord[][] byOrder) {
+        this.byOrder = byOrder;
+    }
+
+    public static SortedFlights of(Collection<FlightRecord> flights) {
+        FlightRecord[][] byOrder = new FlightRecord[ORDERS.length][];
+        for (FlightSortOrder order : ORDERS) {
+            byOrder[order.ordinal()] = FlightArrays.sorted(flights, order.comparator());
+        }
+        return new SortedFlights(byOrder);
+    }
+
+    /**
+     * All flights in {@code order}, as a read-only view.
+     */
+    public List<FlightRecord> in(FlightSortOrder order) {
+        return Collections.unmodifiableList(Arrays.asList(byOrder[order.ordinal()]));
+    }
+
+    public int size() {
+        return byOrder[0].length;
+    }
+
+    /**
+     * Copy with {@code flight} replacing any flight with its id.
+     */
+    public SortedFlights with(FlightRecord flight) {
+        FlightRecord[][] updated = new FlightRecord[ORDERS.length][];
+        for (FlightSortOrder order : ORDERS) {
+            updated[order.ordinal()] = FlightArrays.with(byOrder[order.ordinal()], flight, order.comparator());
+        }
+        return new SortedFlights(updated);
+    }
+
+    /**
+     * Copy without the flight with the given id, or {@code null} if that leaves it empty.
+     */
+    public SortedFlights without(long flightId) {
+        FlightRecord[][] updated = new FlightRecord[ORDERS.length][];
+        for (FlightSortOrder order : ORDERS) {
+            updated[order.ordinal()] = FlightArrays.withoutOrNull(byOrder[order.ordinal()], flightId);
+            if (updated[order.ordinal()] == null) {
+                return null;
+            }
+        }
+        return new SortedFlights(updated);
+    }
+
+    private static FlightRecord[][] emptyArrays() {
+        FlightRecord[][] empty = new FlightRecord[FlightSortOrder.values().length][];
+        Arrays.fill(empty, FlightArrays.EMPTY);
+        return empty;
+    }
+}
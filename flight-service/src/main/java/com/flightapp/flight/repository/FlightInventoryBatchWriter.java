@@ -0,0 +1,122 @@
+package com.flightapp.flight.repository;
+
+import com.flightapp.flight.dto.FlightInventoryRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes many {@code flight_inventory} rows with one multi-row statement instead of one statement per row.
+ */
+@Component
+@RequiredArgsConstructor
+public class FlightInventoryBatchWriter {
+
+    private static final String COLUMNS = "flight_inventory (flight_number, airline, origin, destination, "
+            + "departure_time, arrival_time, available_seats, price, status, created_at, updated_at) VALUES ";
+    private static final String UPSERT_SUFFIX = " AS incoming ON DUPLICATE KEY UPDATE airline = incoming.airline, "
+            + "origin = incoming.origin, destination = incoming.destination, departure_time = incoming.departure_time, "
+            + "arrival_time = incoming.arrival_time, price = incoming.price, updated_at = incoming.updated_at";
+    // a no-op update rather than INSERT IGNORE, which would also turn bad values and truncation into warnings
+    private static final String SKIP_EXISTING_SUFFIX = " ON DUPLICATE KEY UPDATE id = id";
+
+    private static final int SEAT_BATCH_SIZE = 500;
+
+    private final DatabaseClient databaseClient;
+
+    /**
+     * Inserts new flights and refreshes the schedule, airline and price of existing ones. The
+     * {@code available_seats} and {@code status} of an existing flight are left alone, so seats already sold
+     * stay sold.
+     */
+    public Mono<Long> upsert(List<FlightInventoryRequest> flights) {
+        return execute("INSERT INTO " + COLUMNS, flights, UPSERT_SUFFIX);
+    }
+
+    /**
+     * Inserts the flights whose flight number is not taken yet and skips the rest. Any other error fails the batch.
+     */
+    public Mono<Long> insertNew(List<FlightInventoryRequest> flights) {
+        return execute("INSERT INTO " + COLUMNS, flights, SKIP_EXISTING_SUFFIX);
+    }
+
+    /**
+     * Current seat count of each existing flight among {@code flightIds}, with the rows locked until the
+     * surrounding transaction ends. Rows are locked in id order so concurrent batches cannot deadlock.
+     */
+    public Mono<Map<Long, Integer>> lockSeats(Collection<Long> flightIds) {
+        return databaseClient.sql("SELECT id, available_seats FROM flight_inventory WHERE id IN (:ids) ORDER BY id FOR UPDATE")
+                .bind("ids", flightIds)
+                .map((row, metadata) -> Map.entry(row.get("id", Long.class), row.get("available_seats", Integer.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Adds a signed delta to the seat count of each flight, {@value #SEAT_BATCH_SIZE} flights per statement.
+     */
+    public Mono<Long> addSeats(Map<Long, Integer> deltas) {
+        List<Map.Entry<Long, Integer>> entries = new ArrayList<>(deltas.entrySet());
+        return Flux.range(0, (entries.size() + SEAT_BATCH_SIZE - 1) / SEAT_BATCH_SIZE)
+                .concatMap(batch -> addSeats(entries.subList(batch * SEAT_BATCH_SIZE,
+                        Math.min(entries.size(), (batch + 1) * SEAT_BATCH_SIZE))))
+                .reduce(0L, Long::sum);
+    }
+
+    private Mono<Long> addSeats(List<Map.Entry<Long, Integer>> deltas) {
+        StringBuilder cases = new StringBuilder();
+        StringBuilder ids = new StringBuilder();
+        for (int i = 0; i < deltas.size(); i++) {
+            cases.append(" WHEN :id").append(i).append(" THEN :delta").append(i);
+            ids.append(i > 0 ? ", " : "").append(":id").append(i);
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql("UPDATE flight_inventory SET available_seats = "
+                + "available_seats + CASE id" + cases + " END WHERE id IN (" + ids + ")");
+        for (int i = 0; i < deltas.size(); i++) {
+            spec = spec.bind("id" + i, deltas.get(i).getKey())
+                    .bind("delta" + i, deltas.get(i).getValue());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+
+    private Mono<Long> execute(String prefix, List<FlightInventoryRequest> flights, String suffix) {
+        StringBuilder sql = new StringBuilder(prefix);
+        for (int i = 0; i < flights.size(); i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append("(:flightNumber").append(i)
+                    .append(", :airline").append(i)
+                    .append(", :origin").append(i)
+                    .append(", :destination").append(i)
+                    .append(", :departureTime").append(i)
+                    .append(", :arrivalTime").append(i)
+                    .append(", :availableSeats").append(i)
+                    .append(", :price").append(i)
+                    .append(", 'ACTIVE', :now, :now)");
+        }
+        sql.append(suffix);
+
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString()).bind("now", LocalDateTime.now());
+        for (int i = 0; i < flights.size(); i++) {
+            FlightInventoryRequest flight = flights.get(i);
+            spec = spec.bind("flightNumber" + i, flight.getFlightNumber())
+                    .bind("airline" + i, flight.getAirline())
+                    .bind("origin" + i, flight.getOrigin())
+                    .bind("destination" + i, flight.getDestination())
+                    .bind("departureTime" + i, flight.getDepartureTime())
+                    .bind("arrivalTime" + i, flight.getArrivalTime())
+                    .bind("availableSeats" + i, flight.getAvailableSeats())
+                    .bind("price" + i, flight.getPrice());
+        }
+        return spec.fetch().rowsUpdated();
+    }
+}
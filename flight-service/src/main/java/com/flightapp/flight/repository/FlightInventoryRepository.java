@@ -1,5 +1,7 @@
 package com.flightapp.flight.repository;
 
+import com.flightapp.flight.dto.FlightQuote;
+import com.flightapp.flight.dto.FlightSearchRow;
 import com.flightapp.flight.entity.FlightInventory;
 import org.springframework.data.r2dbc.repository.Modifying;
 import org.springframework.data.r2dbc.repository.Query;
@@ -9,6 +11,7 @@ import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 
 @Repository
 public interface FlightInventoryRepository extends R2dbcRepository<FlightInventory, Long> {
@@ -16,8 +19,19 @@ public interface FlightInventoryRepository extends R2dbcRepository<FlightInvento
     Flux<FlightInventory> findByOriginAndDestinationAndDepartureTimeBetween(
             String origin, String destination, LocalDateTime start, LocalDateTime end);
 
+    @Query("SELECT id, flight_number, airline, departure_time, arrival_time, available_seats, price, created_at, updated_at "
+            + "FROM flight_inventory "
+            + "WHERE origin = :origin AND destination = :destination AND status = 'ACTIVE' "
+            + "AND departure_time BETWEEN :start AND :end AND available_seats > 0 ORDER BY departure_time")
+    Flux<FlightSearchRow> findBookableFlights(String origin, String destination, LocalDateTime start, LocalDateTime end);
+
     Mono<FlightInventory> findByFlightNumber(String flightNumber);
 
+    @Query("SELECT flight_number, available_seats, price FROM flight_inventory WHERE id = :id")
+    Mono<FlightQuote> findQuoteById(Long id);
+
+    Flux<FlightInventory> findByFlightNumberIn(Collection<String> flightNumbers);
+
     @Modifying
     @Query("UPDATE flight_inventory SET available_seats = available_seats - :seats WHERE id = :id AND available_seats >= :seats")
     Mono<Integer> reduceAvailableSeats(Long id, Integer seats);
@@ -25,4 +39,14 @@ public interface FlightInventoryRepository extends R2dbcRepository<FlightInvento
     @Modifying
     @Query("UPDATE flight_inventory SET available_seats = available_seats + :seats WHERE id = :id")
     Mono<Integer> increaseAvailableSeats(Long id, Integer seats);
+
+    /**
+     * Applies a signed change to the seat count unless it would go below zero.
+     */
+    @Modifying
+    @Query("UPDATE flight_inventory SET available_seats = available_seats + :delta WHERE id = :id AND available_seats + :delta >= 0")
+    Mono<Integer> adjustAvailableSeats(Long id, Integer delta);
+
+    @Query("SELECT available_seats FROM flight_inventory WHERE id = :id")
+    Mono<Integer> findAvailableSeats(Long id);
 }
@@ -0,0 +1,20 @@
+package com.flightapp.flight.repository;
+
+import com.flightapp.flight.entity.FlightSchedule;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+@Repository
+public interface FlightScheduleRepository extends R2dbcRepository<FlightSchedule, Long> {
+
+    /**
+     * Active schedules that still have days up to {@code horizon} left to expand.
+     */
+    @Query("SELECT * FROM flight_schedule WHERE status = 'ACTIVE' "
+            + "AND (materialized_through IS NULL OR materialized_through < LEAST(valid_to, :horizon))")
+    Flux<FlightSchedule> findPendingMaterialization(LocalDate horizon);
+}
@@ -0,0 +1,29 @@
+package com.flightapp.flight.repository;
+
+import com.flightapp.flight.entity.FlightSeatMap;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface FlightSeatMapRepository extends R2dbcRepository<FlightSeatMap, Long> {
+
+    /**
+     * Fails with a {@link org.springframework.dao.DuplicateKeyException} if the flight already has a seat map.
+     */
+    @Modifying
+    @Query("INSERT INTO flight_seat_map (flight_id, seat_rows, seats_per_row, taken, version, updated_at) "
+            + "VALUES (:flightId, :seatRows, :seatsPerRow, :taken, 0, NOW())")
+    Mono<Integer> create(Long flightId, Integer seatRows, Integer seatsPerRow, byte[] taken);
+
+    /**
+     * Skips the write if a snapshot at least as new is stored already, so snapshots written out of order never
+     * roll the map back.
+     */
+    @Modifying
+    @Query("UPDATE flight_seat_map SET taken = :taken, version = :version, updated_at = NOW() "
+            + "WHERE flight_id = :flightId AND version < :version")
+    Mono<Integer> saveTaken(Long flightId, byte[] taken, Long version);
+}
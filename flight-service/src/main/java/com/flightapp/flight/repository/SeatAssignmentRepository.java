@@ -0,0 +1,26 @@
+package com.flightapp.flight.repository;
+
+import com.flightapp.flight.entity.SeatAssignment;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface SeatAssignmentRepository extends R2dbcRepository<SeatAssignment, Long> {
+
+    Mono<SeatAssignment> findByFlightIdAndBookingRef(Long flightId, String bookingRef);
+
+    /**
+     * Emits 0 if the booking's seats changed since {@code previous} was read.
+     */
+    @Modifying
+    @Query("UPDATE seat_assignment SET assigned_seats = :assignedSeats, updated_at = NOW() "
+            + "WHERE id = :id AND assigned_seats = :previous")
+    Mono<Integer> updateAssignedSeats(Long id, String previous, String assignedSeats);
+
+    @Modifying
+    @Query("DELETE FROM seat_assignment WHERE id = :id")
+    Mono<Integer> deleteAssignment(Long id);
+}
@@ -0,0 +1,42 @@
+package com.flightapp.flight.repository;
+
+import com.flightapp.flight.entity.SeatHold;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface SeatHoldRepository extends R2dbcRepository<SeatHold, Long> {
+
+    /**
+     * Deletes the hold if it is still open. Emits the number of rows deleted, so only one of several callers
+     * ending the same hold sees 1.
+     */
+    @Modifying
+    @Query("DELETE FROM seat_hold WHERE id = :id AND state = 'OPEN'")
+    Mono<Integer> deleteHold(Long id);
+
+    /**
+     * Marks an open hold as having its seats returned by {@code owner}. Emits 1 only to the caller that made the
+     * change.
+     */
+    @Modifying
+    @Query("UPDATE seat_hold SET state = 'RETURNING', claimed_by = :owner, claimed_at = NOW(6) "
+            + "WHERE id = :id AND state = 'OPEN'")
+    Mono<Integer> claimForReturn(Long id, String owner);
+
+    /**
+     * Renews {@code owner}'s claim on a hold whose seats are being returned, or takes it over once the previous
+     * owner's lease has run out. Emits 1 only if {@code owner} holds the claim afterwards.
+     */
+    @Modifying
+    @Query("UPDATE seat_hold SET claimed_by = :owner, claimed_at = NOW(6) WHERE id = :id AND state = 'RETURNING' "
+            + "AND (claimed_by = :owner OR claimed_at IS NULL OR claimed_at < NOW(6) - INTERVAL :leaseSeconds SECOND)")
+    Mono<Integer> renewClaim(Long id, String owner, int leaseSeconds);
+
+    @Modifying
+    @Query("DELETE FROM seat_hold WHERE id = :id AND state = 'RETURNING' AND claimed_by = :owner")
+    Mono<Integer> deleteReturned(Long id, String owner);
+}
@@ -0,0 +1,25 @@
+package com.flightapp.flight.repository;
+
+import com.flightapp.flight.entity.SeatJournalCheckpoint;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface SeatJournalCheckpointRepository extends R2dbcRepository<SeatJournalCheckpoint, String> {
+
+    @Query("SELECT flushed_segment FROM seat_journal_checkpoint WHERE journal_id = :journalId")
+    Mono<Long> findFlushedSegment(String journalId);
+
+    /**
+     * Never moves the checkpoint back, so a late write of an older segment cannot make newer ones replay twice.
+     */
+    @Modifying
+    @Query("INSERT INTO seat_journal_checkpoint (journal_id, flushed_segment, updated_at) "
+            + "VALUES (:journalId, :segment, NOW()) AS incoming ON DUPLICATE KEY UPDATE "
+            + "flushed_segment = GREATEST(seat_journal_checkpoint.flushed_segment, incoming.flushed_segment), "
+            + "updated_at = incoming.updated_at")
+    Mono<Integer> markFlushed(String journalId, Long segment);
+}
@@ -0,0 +1,184 @@
+package com.flightapp.flight.seats;
+
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Serializes seat operations per flight. Each flight with pending operations has one lane; while the lane's
+ * previous statement is running, new operations queue up behind it and are then applied together as a single
+ * conditional {@code UPDATE}. Callers on the same flight therefore stop competing for the row lock, and different
+ * flights still run concurrently.
+ *
+ * <p>If the batch's net change does not fit in the seats left, the lane reads the current count and admits
+ * reservations in arrival order while they fit; releases are always admitted. If the count keeps changing under
+ * it for {@value #MAX_ATTEMPTS} attempts, the lane applies the releases on their own and rejects the
+ * reservations. Each caller gets its own result.
+ */
+@Component
+@Slf4j
+public class ReservationDispatcher {
+
+    // another writer can change the row between the read and the retry
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final FlightInventoryRepository flightInventoryRepository;
+    private final boolean enabled;
+    private final int maxBatchSize;
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+
+    public ReservationDispatcher(FlightInventoryRepository flightInventoryRepository,
+                                 @Value("${flight.reservation-queue.enabled:true}") boolean enabled,
+                                 @Value("${flight.reservation-queue.max-batch-size:256}") int maxBatchSize) {
+        this.flightInventoryRepository = flightInventoryRepository;
+        this.enabled = enabled;
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Mono<Boolean> reserve(Long flightId, int seats) {
+        return submit(flightId, -seats);
+    }
+
+    public Mono<Boolean> release(Long flightId, int seats) {
+        return submit(flightId, seats);
+    }
+
+    private Mono<Boolean> submit(Long flightId, int delta) {
+        return Mono.defer(() -> {
+            SeatRequest request = new SeatRequest(delta, Sinks.one());
+            Lane lane = lanes.compute(flightId, (id, existing) -> {
+                Lane target = existing != null ? existing : new Lane(id);
+                target.queue.offer(request);
+                return target;
+            });
+            lane.schedule();
+            return request.result().asMono();
+        });
+    }
+
+    private final class Lane {
+
+        private final Long flightId;
+        private final Queue<SeatRequest> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean draining = new AtomicBoolean();
+
+        private Lane(Long flightId) {
+            this.flightId = flightId;
+        }
+
+        private void schedule() {
+            if (draining.compareAndSet(false, true)) {
+                drain();
+            }
+        }
+
+        private void drain() {
+            List<SeatRequest> batch = new ArrayList<>();
+            SeatRequest request;
+            while (batch.size() < maxBatchSize && (request = queue.poll()) != null) {
+                batch.add(request);
+            }
+            if (batch.isEmpty()) {
+                draining.set(false);
+                // drop the lane unless a request arrived meanwhile; compute in submit serializes with this
+                lanes.computeIfPresent(flightId, (id, lane) -> lane.queue.isEmpty() && !lane.draining.get() ? null : lane);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+                return;
+            }
+            apply(batch, 1).subscribe(
+                    null,
+                    error -> {
+                        log.warn("Seat batch for flight {} failed: {}", flightId, error.getMessage());
+                        batch.forEach(pending -> pending.result().tryEmitError(error));
+                        drain();
+                    },
+                    this::drain);
+        }
+
+        private Mono<Void> apply(List<SeatRequest> batch, int attempt) {
+            int delta = batch.stream().mapToInt(SeatRequest::delta).sum();
+            return flightInventoryRepository.adjustAvailableSeats(flightId, delta)
+                    .flatMap(updated -> {
+                        if (updated > 0) {
+                            batch.forEach(request -> request.result().tryEmitValue(true));
+                            return Mono.<Void>empty();
+                        }
+                        return admitWithin(batch, attempt);
+                    });
+        }
+
+        private Mono<Void> admitWithin(List<SeatRequest> batch, int attempt) {
+            return flightInventoryRepository.findAvailableSeats(flightId)
+                    .map(Optional::of)
+                    .defaultIfEmpty(Optional.empty())
+                    .flatMap(available -> {
+                        if (available.isEmpty()) {
+                            // no such flight
+                            batch.forEach(request -> request.result().tryEmitValue(false));
+                            return Mono.<Void>empty();
+                        }
+                        int remaining = available.get() + batch.stream().mapToInt(SeatRequest::delta).filter(delta -> delta > 0).sum();
+                        List<SeatRequest> admitted = new ArrayList<>();
+                        for (SeatRequest request : batch) {
+                            if (request.delta() >= 0 || remaining + request.delta() >= 0) {
+                                remaining += Math.min(request.delta(), 0);
+                                admitted.add(request);
+                            } else {
+                                request.result().tryEmitValue(false);
+                            }
+                        }
+                        if (admitted.isEmpty()) {
+                            return Mono.<Void>empty();
+                        }
+                        if (attempt >= MAX_ATTEMPTS) {
+                            return releaseOnly(admitted);
+                        }
+                        return apply(admitted, attempt + 1);
+                    });
+        }
+
+        /**
+         * Applies the releases in {@code batch}, which cannot fail for lack of seats, and rejects its reservations.
+         */
+        private Mono<Void> releaseOnly(List<SeatRequest> batch) {
+            List<SeatRequest> releases = new ArrayList<>();
+            for (SeatRequest request : batch) {
+                if (request.delta() >= 0) {
+                    releases.add(request);
+                } else {
+                    request.result().tryEmitValue(false);
+                }
+            }
+            log.debug("Seat count of flight {} kept changing; rejecting {} reservations",
+                    flightId, batch.size() - releases.size());
+            if (releases.isEmpty()) {
+                return Mono.empty();
+            }
+            int seats = releases.stream().mapToInt(SeatRequest::delta).sum();
+            return flightInventoryRepository.increaseAvailableSeats(flightId, seats)
+                    .doOnNext(updated -> releases.forEach(request -> request.result().tryEmitValue(updated > 0)))
+                    .then();
+        }
+    }
+
+    private record SeatRequest(int delta, Sinks.One<Boolean> result) {
+    }
+}
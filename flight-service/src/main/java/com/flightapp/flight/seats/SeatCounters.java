@@ -0,0 +1,256 @@
+package com.flightapp.flight.seats;
+
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.repository.SeatJournalCheckpointRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Optional write-behind owner of {@code available_seats}. With {@code flight.seat-counters.enabled}, each flight
+ * this instance touches gets an in-memory counter loaded from MySQL once; reservations are decided by a CAS on
+ * that counter instead of a locking {@code UPDATE}. Every change is appended to a {@link SeatJournal} before it is
+ * acknowledged, and the net change per flight is written back every {@code flush-interval-ms} in one batched
+ * statement. The same transaction records the last journal segment it covers in {@code seat_journal_checkpoint}.
+ * On startup, deltas left in segments above that checkpoint are applied before any counter is loaded, so segments
+ * that were flushed but not yet deleted when the process died are not applied twice.
+ *
+ * <p>Acknowledged changes survive a process crash. They survive a host crash or power loss only with
+ * {@code flight.seat-counters.journal-fsync}, which forces every append to disk at the cost of a sync per change.
+ *
+ * <p>The counters assume this instance is the only writer of seat counts: run a single flight-service instance,
+ * or route each flight's seat operations to one instance, while this mode is on. Between flushes MySQL lags the
+ * counters by up to one flush interval; {@link #available(Long)} gives the current value.
+ */
+@Component
+@Slf4j
+public class SeatCounters {
+
+    private final FlightInventoryRepository flightInventoryRepository;
+    private final FlightInventoryBatchWriter flightInventoryBatchWriter;
+    private final SeatJournalCheckpointRepository checkpointRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final boolean journalFsync;
+    private final Map<Long, SeatCounter> counters = new ConcurrentHashMap<>();
+    // appends hold the read lock, rotation the write lock, so a flush sees every appended delta exactly once
+    private final ReadWriteLock journalLock = new ReentrantReadWriteLock();
+    private final AtomicBoolean flushing = new AtomicBoolean();
+    private SeatJournal journal;
+    private String journalId;
+
+    public SeatCounters(FlightInventoryRepository flightInventoryRepository,
+                        FlightInventoryBatchWriter flightInventoryBatchWriter,
+                        SeatJournalCheckpointRepository checkpointRepository,
+                        TransactionalOperator transactionalOperator,
+                        @Value("${flight.seat-counters.enabled:false}") boolean enabled,
+                        @Value("${flight.seat-counters.journal-dir:./data/seat-journal}") String journalDirectory,
+                        @Value("${flight.seat-counters.journal-fsync:false}") boolean journalFsync) {
+        this.flightInventoryRepository = flightInventoryRepository;
+        this.flightInventoryBatchWriter = flightInventoryBatchWriter;
+        this.checkpointRepository = checkpointRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.enabled = enabled;
+        this.journalDirectory = Path.of(journalDirectory);
+        this.journalFsync = journalFsync;
+    }
+
+    @PostConstruct
+    public void recover() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        journalId = SeatJournal.id(journalDirectory);
+        long flushed = checkpointRepository.findFlushedSegment(journalId).defaultIfEmpty(0L).block();
+        journal = new SeatJournal(journalDirectory, flushed, journalFsync);
+        long closed = journal.rotate();
+        Map<Long, Integer> unflushed = journal.unflushed(flushed);
+        if (!unflushed.isEmpty()) {
+            log.warn("Applying seat changes for {} flights left in the journal by the last run", unflushed.size());
+            // fails startup rather than serve seat counts that are missing changes
+            write(unflushed, closed).block();
+        }
+        journal.deleteThrough(closed);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Takes {@code seats} from the flight if that many are left. Emits {@code false} for an unknown flight.
+     */
+    public Mono<Boolean> reserve(Long flightId, int seats) {
+        return counter(flightId)
+                .map(counter -> {
+                    if (!counter.tryTake(seats)) {
+                        return false;
+                    }
+                    record(flightId, counter, -seats);
+                    return true;
+                })
+                .defaultIfEmpty(false);
+    }
+
+    public Mono<Boolean> release(Long flightId, int seats) {
+        return counter(flightId)
+                .map(counter -> {
+                    counter.available.addAndGet(seats);
+                    record(flightId, counter, seats);
+                    return true;
+                })
+                .defaultIfEmpty(false);
+    }
+
+    /**
+     * The counter's seat count if this instance holds one for the flight; MySQL may not have caught up with it yet.
+     */
+    public Optional<Integer> available(Long flightId) {
+        SeatCounter counter = enabled ? counters.get(flightId) : null;
+        return counter != null ? Optional.of(counter.available.get()) : Optional.empty();
+    }
+
+    private Mono<SeatCounter> counter(Long flightId) {
+        SeatCounter counter = counters.get(flightId);
+        if (counter != null) {
+            return Mono.just(counter);
+        }
+        // a concurrent load of the same flight reads the same row, so whichever lands first is kept
+        return flightInventoryRepository.findById(flightId)
+                .map(flight -> counters.computeIfAbsent(flightId, id -> new SeatCounter(flight.getAvailableSeats())));
+    }
+
+    private void record(Long flightId, SeatCounter counter, int delta) {
+        journalLock.readLock().lock();
+        try {
+            journal.append(flightId, delta);
+            counter.pending.addAndGet(delta);
+        } catch (IOException e) {
+            // not journaled, so not acknowledged
+            counter.available.addAndGet(-delta);
+            throw new UncheckedIOException("Could not journal seat change for flight " + flightId, e);
+        } finally {
+            journalLock.readLock().unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${flight.seat-counters.flush-interval-ms:200}")
+    public void flush() {
+        if (!enabled || !flushing.compareAndSet(false, true)) {
+            return;
+        }
+        flushPending()
+                .doFinally(signal -> flushing.set(false))
+                .subscribe(null, error -> log.warn("Seat counter flush failed, will retry: {}", error.getMessage()));
+    }
+
+    private Mono<Void> flushPending() {
+        Map<Long, Integer> deltas = new HashMap<>();
+        long segment;
+        journalLock.writeLock().lock();
+        try {
+            // pending can be non-zero with an empty segment when the last write failed
+            if (journal.isCurrentEmpty() && counters.values().stream().allMatch(counter -> counter.pending.get() == 0)) {
+                return Mono.empty();
+            }
+            counters.forEach((flightId, counter) -> {
+                int delta = counter.pending.getAndSet(0);
+                if (delta != 0) {
+                    deltas.put(flightId, delta);
+                }
+            });
+            segment = journal.rotate();
+        } catch (IOException e) {
+            restorePending(deltas);
+            return Mono.error(e);
+        } finally {
+            journalLock.writeLock().unlock();
+        }
+
+        long flushedSegment = segment;
+        return write(deltas, flushedSegment)
+                .doOnError(error -> restorePending(deltas))
+                .then(Mono.fromRunnable(() -> deleteThrough(flushedSegment)));
+    }
+
+    private void deleteThrough(long segment) {
+        try {
+            journal.deleteThrough(segment);
+        } catch (IOException e) {
+            // harmless: the checkpoint already covers them, so recovery skips them and a later flush deletes them
+            log.error("Could not delete flushed seat journal segments through {}: {}", segment, e.getMessage());
+        }
+    }
+
+    private void restorePending(Map<Long, Integer> deltas) {
+        deltas.forEach((flightId, delta) -> counters.get(flightId).pending.addAndGet(delta));
+    }
+
+    /**
+     * Applies the deltas and marks every segment through {@code segment} flushed, in one transaction.
+     */
+    private Mono<Void> write(Map<Long, Integer> deltas, long segment) {
+        if (deltas.isEmpty()) {
+            return Mono.empty();
+        }
+        return flightInventoryBatchWriter.addSeats(deltas)
+                .then(checkpointRepository.markFlushed(journalId, segment))
+                .as(transactionalOperator::transactional)
+                .then();
+    }
+
+    @PreDestroy
+    public void shutdown() throws IOException {
+        if (!enabled) {
+            return;
+        }
+        try {
+            flushPending().block(Duration.ofSeconds(10));
+        } catch (RuntimeException e) {
+            log.warn("Final seat counter flush failed; the journal will be applied on the next start: {}", e.getMessage());
+        }
+        journal.close();
+    }
+
+    private static final class SeatCounter {
+
+        private final AtomicInteger available;
+        // change not written to MySQL yet
+        private final AtomicInteger pending = new AtomicInteger();
+
+        private SeatCounter(int available) {
+            this.available = new AtomicInteger(available);
+        }
+
+        private boolean tryTake(int seats) {
+            int current;
+            do {
+                current = available.get();
+                if (current < seats) {
+                    return false;
+                }
+            } while (!available.compareAndSet(current, current - seats));
+            return true;
+        }
+    }
+}
@@ -0,0 +1,146 @@
+package com.flightapp.flight.seats;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log of seat deltas not yet written to MySQL, split into numbered segment files. Every change is
+ * appended before it is acknowledged; a flush rotates to a new segment, writes the old ones' deltas to the database
+ * together with the number of the last of them, and then deletes them. Segment numbers only grow, so on recovery
+ * the segments above that stored number are exactly the unflushed changes, even if deleting the flushed ones never
+ * happened.
+ *
+ * <p>Each record is a flight id and a signed delta. By default appends go to the OS page cache, which survives a
+ * process crash but not a host crash or power loss; with {@code sync} every append is forced to disk before it
+ * returns. Segments are always forced when rotated.
+ */
+final class SeatJournal implements Closeable {
+
+    private static final int RECORD_BYTES = Long.BYTES + Integer.BYTES;
+    private static final String PREFIX = "seats-";
+    private static final String SUFFIX = ".journal";
+    private static final String ID_FILE = "journal.id";
+
+    private final Path directory;
+    private final boolean sync;
+    private volatile FileChannel current;
+    private volatile long currentSegment;
+
+    /**
+     * Opens a new segment numbered above every existing segment and above {@code flushedSegment}, so a number
+     * already recorded as flushed is never reused for new changes.
+     */
+    SeatJournal(Path directory, long flushedSegment, boolean sync) throws IOException {
+        this.directory = directory;
+        this.sync = sync;
+        Files.createDirectories(directory);
+        long last = flushedSegment;
+        for (long segment : segments()) {
+            last = Math.max(last, segment);
+        }
+        open(last + 1);
+    }
+
+    /**
+     * The id under which this directory's flush checkpoint is stored, created on first use.
+     */
+    static String id(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        Path file = directory.resolve(ID_FILE);
+        if (!Files.exists(file)) {
+            Files.writeString(file, UUID.randomUUID().toString());
+        }
+        return Files.readString(file).trim();
+    }
+
+    /**
+     * Net delta per flight across the segments after {@code flushedSegment} and before the current one, i.e. what a
+     * previous run left unflushed.
+     */
+    Map<Long, Integer> unflushed(long flushedSegment) throws IOException {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (long segment : segments()) {
+            if (segment <= flushedSegment || segment >= currentSegment) {
+                continue;
+            }
+            ByteBuffer records = ByteBuffer.wrap(Files.readAllBytes(path(segment)));
+            // a record cut short by a crash was never acknowledged
+            while (records.remaining() >= RECORD_BYTES) {
+                deltas.merge(records.getLong(), records.getInt(), Integer::sum);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    void append(long flightId, int delta) throws IOException {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).putLong(flightId).putInt(delta).flip();
+        FileChannel channel = current;
+        while (record.hasRemaining()) {
+            channel.write(record);
+        }
+        if (sync) {
+            channel.force(false);
+        }
+    }
+
+    boolean isCurrentEmpty() throws IOException {
+        return current.size() == 0;
+    }
+
+    /**
+     * Closes the current segment, starts the next one and returns the number of the closed segment.
+     */
+    long rotate() throws IOException {
+        long closed = currentSegment;
+        current.force(false);
+        current.close();
+        open(closed + 1);
+        return closed;
+    }
+
+    void deleteThrough(long segment) throws IOException {
+        for (long existing : segments()) {
+            if (existing <= segment) {
+                Files.deleteIfExists(path(existing));
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        current.force(false);
+        current.close();
+    }
+
+    private void open(long segment) throws IOException {
+        current = FileChannel.open(path(segment),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        currentSegment = segment;
+    }
+
+    private Path path(long segment) {
+        return directory.resolve(PREFIX + String.format("%016d", segment) + SUFFIX);
+    }
+
+    private List<Long> segments() throws IOException {
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.map(file -> file.getFileName().toString())
+                    .filter(name -> name.startsWith(PREFIX) && name.endsWith(SUFFIX))
+                    .forEach(name -> segments.add(Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()))));
+        }
+        return segments;
+    }
+}
@@ -0,0 +1,161 @@
+package com.flightapp.flight.seats;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Which seats of a flight's cabin are taken, one bit per seat and one {@code long} per row, so a row has at most
+ * {@value #MAX_SEATS_PER_ROW} seats. Every change is a compare-and-set on the row's word: taking a given seat is
+ * O(1), and a group of adjacent seats is found and taken in one row with a handful of word operations, without
+ * locks. Seats are adjacent when they are next to each other in the row's seat letters.
+ *
+ * <p>{@link #version()} grows with every change, after the change is made. A {@link #toBytes()} taken after reading
+ * the version therefore holds every change up to that version, and of two such snapshots the one with the higher
+ * version is never older.
+ */
+public final class SeatMap {
+
+    public static final int MAX_SEATS_PER_ROW = 26;
+
+    private final int rows;
+    private final int seatsPerRow;
+    private final long rowMask;
+    private final AtomicLongArray taken;
+    private final AtomicLong version;
+    // searches start here; moved past rows as they fill up
+    private final AtomicInteger hint = new AtomicInteger();
+
+    public SeatMap(int rows, int seatsPerRow) {
+        this(rows, seatsPerRow, null, 0);
+    }
+
+    /**
+     * Restores a map from {@link #toBytes()}.
+     */
+    public SeatMap(int rows, int seatsPerRow, byte[] taken, long version) {
+        if (seatsPerRow < 1 || seatsPerRow > MAX_SEATS_PER_ROW || rows < 1) {
+            throw new IllegalArgumentException("Unsupported cabin layout " + rows + "x" + seatsPerRow);
+        }
+        this.rows = rows;
+        this.seatsPerRow = seatsPerRow;
+        this.rowMask = (1L << seatsPerRow) - 1;
+        this.taken = new AtomicLongArray(rows);
+        this.version = new AtomicLong(version);
+        if (taken != null) {
+            ByteBuffer words = ByteBuffer.wrap(taken);
+            for (int row = 0; row < rows && words.remaining() >= Long.BYTES; row++) {
+                this.taken.set(row, words.getLong() & rowMask);
+            }
+        }
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int seatsPerRow() {
+        return seatsPerRow;
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public boolean isTaken(int row, int seat) {
+        return (taken.get(row) & (1L << seat)) != 0;
+    }
+
+    /**
+     * Takes one given seat; {@code false} if it is already taken.
+     */
+    public boolean take(int row, int seat) {
+        return update(row, 1L << seat, true);
+    }
+
+    public boolean release(int row, int seat) {
+        return update(row, 1L << seat, false);
+    }
+
+    /**
+     * Takes {@code count} adjacent free seats in one row and returns the first as {@code row * seatsPerRow + seat},
+     * or {@code -1} if no row has that many adjacent free seats.
+     */
+    public int takeAdjacent(int count) {
+        if (count < 1 || count > seatsPerRow) {
+            return -1;
+        }
+        long group = (1L << count) - 1;
+        int start = hint.get();
+        for (int i = 0; i < rows; i++) {
+            int row = (start + i) % rows;
+            while (true) {
+                long current = taken.get(row);
+                long runs = runStarts(~current & rowMask, count);
+                if (runs == 0) {
+                    break;
+                }
+                int first = Long.numberOfTrailingZeros(runs);
+                long updated = current | (group << first);
+                if (taken.compareAndSet(row, current, updated)) {
+                    version.incrementAndGet();
+                    if (updated == rowMask) {
+                        hint.compareAndSet(row, (row + 1) % rows);
+                    }
+                    return row * seatsPerRow + first;
+                }
+            }
+        }
+        return -1;
+    }
+
+    public int freeSeats() {
+        int free = 0;
+        for (int row = 0; row < rows; row++) {
+            free += Long.bitCount(~taken.get(row) & rowMask);
+        }
+        return free;
+    }
+
+    /**
+     * One big-endian {@code long} per row. Rows changed while this runs may be seen before or after the change.
+     */
+    public byte[] toBytes() {
+        ByteBuffer words = ByteBuffer.allocate(rows * Long.BYTES);
+        for (int row = 0; row < rows; row++) {
+            words.putLong(taken.get(row));
+        }
+        return words.array();
+    }
+
+    private boolean update(int row, long bit, boolean take) {
+        long current;
+        do {
+            current = taken.get(row);
+            if (((current & bit) != 0) == take) {
+                return false;
+            }
+        } while (!taken.compareAndSet(row, current, current ^ bit));
+        version.incrementAndGet();
+        if (take && (current ^ bit) == rowMask) {
+            hint.compareAndSet(row, (row + 1) % rows);
+        }
+        return true;
+    }
+
+    /**
+     * Bit {@code i} of the result is set when bits {@code i} to {@code i + count - 1} of {@code free} all are.
+     * Each step doubles the run length checked, so this takes O(log count) shifts.
+     */
+    private static long runStarts(long free, int count) {
+        long runs = free;
+        int length = 1;
+        while (length < count && runs != 0) {
+            int shift = Math.min(length, count - length);
+            runs &= runs >>> shift;
+            length += shift;
+        }
+        return runs;
+    }
+}
@@ -0,0 +1,155 @@
+package com.flightapp.flight.seats;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timer wheel: {@value #LEVELS} wheels of {@value #WHEEL_SIZE} slots, where each slot of level
+ * {@code n} spans {@code 64^n} ticks. A timeout goes into the coarsest level it needs and moves down a level each
+ * time the wheel reaches its slot, so scheduling and cancelling are O(1) and each tick only touches the slots that
+ * are due. Timeouts further away than the top level covers wait in its last slot and are re-placed when reached.
+ *
+ * <p>Nothing runs by itself: the owner calls {@link #advance(long)} about once per tick and handles what it
+ * returns. Timeouts never fire early, and late by at most one tick plus the owner's scheduling delay.
+ */
+public final class TimerWheel<T> {
+
+    private static final int SLOT_BITS = 6;
+    private static final int WHEEL_SIZE = 1 << SLOT_BITS;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = 1L << (SLOT_BITS * LEVELS);
+
+    private final long tickMillis;
+    private final Timeout<T>[][] slots;
+    // the tick whose timeouts are due next
+    private long nextTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimerWheel(long tickMillis, long startMillis) {
+        this.tickMillis = tickMillis;
+        this.slots = new Timeout[LEVELS][WHEEL_SIZE];
+        for (Timeout<T>[] level : slots) {
+            for (int i = 0; i < WHEEL_SIZE; i++) {
+                level[i] = new Timeout<>(null, 0);
+            }
+        }
+        this.nextTick = startMillis / tickMillis + 1;
+    }
+
+    /**
+     * Schedules {@code item} to be returned by the first {@link #advance(long)} at or after {@code deadlineMillis}.
+     */
+    public synchronized Timeout<T> schedule(T item, long deadlineMillis) {
+        long deadlineTick = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis);
+        Timeout<T> timeout = new Timeout<>(item, Math.max(deadlineTick, nextTick));
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Returns {@code false} if the timeout has already fired or been cancelled.
+     */
+    public synchronized boolean cancel(Timeout<T> timeout) {
+        if (timeout.prev == null) {
+            return false;
+        }
+        unlink(timeout);
+        size--;
+        return true;
+    }
+
+    /**
+     * Moves the wheel up to {@code nowMillis} and returns the items whose deadline has passed, earliest tick first.
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        long now = nowMillis / tickMillis;
+        List<T> expired = new ArrayList<>();
+        if (size == 0) {
+            nextTick = Math.max(nextTick, now + 1);
+            return expired;
+        }
+        for (; nextTick <= now && size > 0; nextTick++) {
+            // coarsest first, so timeouts cascading from above are re-placed before the finer slots are read
+            for (int level = LEVELS - 1; level > 0; level--) {
+                if ((nextTick & ((1L << (SLOT_BITS * level)) - 1)) == 0) {
+                    cascade(slots[level][slot(nextTick, level)]);
+                }
+            }
+            Timeout<T> due = slots[0][slot(nextTick, 0)];
+            while (due.next != due) {
+                Timeout<T> timeout = due.next;
+                unlink(timeout);
+                size--;
+                expired.add(timeout.item);
+            }
+        }
+        if (size == 0) {
+            nextTick = Math.max(nextTick, now + 1);
+        }
+        return expired;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private void cascade(Timeout<T> head) {
+        while (head.next != head) {
+            Timeout<T> timeout = head.next;
+            unlink(timeout);
+            place(timeout);
+        }
+    }
+
+    private void place(Timeout<T> timeout) {
+        long ticks = timeout.deadlineTick - nextTick;
+        long target = ticks < MAX_TICKS ? timeout.deadlineTick : nextTick + MAX_TICKS - 1;
+        int level = 0;
+        while (level < LEVELS - 1 && target - nextTick >= 1L << (SLOT_BITS * (level + 1))) {
+            level++;
+        }
+        Timeout<T> head = slots[level][slot(target, level)];
+        timeout.prev = head.prev;
+        timeout.next = head;
+        head.prev.next = timeout;
+        head.prev = timeout;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        timeout.prev.next = timeout.next;
+        timeout.next.prev = timeout.prev;
+        timeout.prev = null;
+        timeout.next = null;
+    }
+
+    private static int slot(long tick, int level) {
+        return (int) ((tick >>> (SLOT_BITS * level)) & (WHEEL_SIZE - 1));
+    }
+
+    /**
+     * Handle for cancelling a scheduled item. Doubles as the list node of its slot.
+     */
+    public static final class Timeout<T> {
+
+        private final T item;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(T item, long deadlineTick) {
+            this.item = item;
+            this.deadlineTick = deadlineTick;
+            if (item == null) {
+                // slot head
+                prev = this;
+                next = this;
+            }
+        }
+
+        public T item() {
+            return item;
+        }
+    }
+}
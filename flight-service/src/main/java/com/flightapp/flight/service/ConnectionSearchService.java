@@ -0,0 +1,205 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.ConnectionSearchRequest;
+import com.flightapp.flight.dto.ConnectionSearchResponse;
+import com.flightapp.flight.dto.Itinerary;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.RouteGraph;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * Finds 1- and 2-stop itineraries by depth-first search over {@link RouteGraph}. Each leg after the first must
+ * depart within the layover window after the previous arrival and may not revisit an airport. The best
+ * itineraries found so far are kept in a bounded heap, whose worst price also prunes partial paths. The search
+ * stops at {@code flight.connections.max-search-time} and reports whatever it has found.
+ */
+@Service
+@Slf4j
+public class ConnectionSearchService {
+
+    private static final Comparator<Candidate> BEST_FIRST = Comparator.comparingDouble(Candidate::totalPrice)
+            .thenComparing(Candidate::duration)
+            .thenComparing(candidate -> candidate.legs().get(0).departureTime());
+
+    private final RouteGraph routeGraph;
+    private final Duration defaultMinLayover;
+    private final Duration defaultMaxLayover;
+    private final Duration maxSearchTime;
+    private final int defaultLimit;
+
+    public ConnectionSearchService(RouteGraph routeGraph,
+                                   @Value("${flight.connections.min-layover:45m}") Duration defaultMinLayover,
+                                   @Value("${flight.connections.max-layover:6h}") Duration defaultMaxLayover,
+                                   @Value("${flight.connections.max-search-time:50ms}") Duration maxSearchTime,
+                                   @Value("${flight.connections.max-results:10}") int defaultLimit) {
+        this.routeGraph = routeGraph;
+        this.defaultMinLayover = defaultMinLayover;
+        this.defaultMaxLayover = defaultMaxLayover;
+        this.maxSearchTime = maxSearchTime;
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Mono<ConnectionSearchResponse> searchConnections(ConnectionSearchRequest request) {
+        // CPU-bound, so keep it off the event loop
+        return Mono.fromCallable(() -> search(request))
+                .subscribeOn(Schedulers.parallel());
+    }
+
+    private ConnectionSearchResponse search(ConnectionSearchRequest request) {
+        if (!routeGraph.isReady()) {
+            return ConnectionSearchResponse.builder()
+                    .itineraries(List.of())
+                    .complete(false)
+                    .build();
+        }
+
+        Search search = new Search(
+                request.getOrigin().toUpperCase(Locale.ROOT),
+                request.getDestination().toUpperCase(Locale.ROOT),
+                request.getMaxStops() != null ? request.getMaxStops() : 2,
+                request.getMinLayoverMinutes() != null ? Duration.ofMinutes(request.getMinLayoverMinutes()) : defaultMinLayover,
+                request.getMaxLayoverMinutes() != null ? Duration.ofMinutes(request.getMaxLayoverMinutes()) : defaultMaxLayover,
+                request.getLimit() != null ? request.getLimit() : defaultLimit,
+                System.nanoTime() + maxSearchTime.toNanos());
+
+        search.visited.add(search.origin);
+        for (FlightRecord first : routeGraph.departures(search.origin,
+                request.getTravelDate().atStartOfDay(), request.getTravelDate().atTime(LocalTime.MAX))) {
+            if (search.timedOut()) {
+                break;
+            }
+            if (first.isBookable()) {
+                search.extend(first);
+            }
+        }
+
+        List<Candidate> found = new ArrayList<>(search.best);
+        found.sort(BEST_FIRST);
+        if (search.timedOut) {
+            log.debug("Connection search {} -> {} stopped at its time budget with {} itineraries",
+                    search.origin, search.destination, found.size());
+        }
+        return ConnectionSearchResponse.builder()
+                .itineraries(found.stream().map(Candidate::toItinerary).toList())
+                .complete(!search.timedOut)
+                .build();
+    }
+
+    private final class Search {
+
+        private final String origin;
+        private final String destination;
+        private final int maxLegs;
+        private final Duration minLayover;
+        private final Duration maxLayover;
+        private final int limit;
+        private final long deadline;
+        // worst kept itinerary at the head
+        private final PriorityQueue<Candidate> best;
+        private final List<FlightRecord> path = new ArrayList<>(3);
+        private final Set<String> visited = new HashSet<>();
+        private boolean timedOut;
+
+        private Search(String origin, String destination, int maxStops, Duration minLayover, Duration maxLayover,
+                       int limit, long deadline) {
+            this.origin = origin;
+            this.destination = destination;
+            this.maxLegs = maxStops + 1;
+            this.minLayover = minLayover;
+            this.maxLayover = maxLayover;
+            this.limit = limit;
+            this.deadline = deadline;
+            this.best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+        }
+
+        private boolean timedOut() {
+            if (!timedOut && System.nanoTime() > deadline) {
+                timedOut = true;
+            }
+            return timedOut;
+        }
+
+        private void extend(FlightRecord leg) {
+            path.add(leg);
+            try {
+                String airport = leg.destination().toUpperCase(Locale.ROOT);
+                if (airport.equals(destination)) {
+                    if (path.size() > 1) {
+                        offer(new Candidate(List.copyOf(path)));
+                    }
+                    return;
+                }
+                if (path.size() >= maxLegs || visited.contains(airport) || cannotBeatWorst()) {
+                    return;
+                }
+
+                visited.add(airport);
+                for (FlightRecord next : routeGraph.departures(airport,
+                        leg.arrivalTime().plus(minLayover), leg.arrivalTime().plus(maxLayover))) {
+                    if (timedOut()) {
+                        break;
+                    }
+                    if (next.isBookable()) {
+                        extend(next);
+                    }
+                }
+                visited.remove(airport);
+            } finally {
+                path.remove(path.size() - 1);
+            }
+        }
+
+        private boolean cannotBeatWorst() {
+            if (best.size() < limit) {
+                return false;
+            }
+            double pathPrice = 0;
+            for (FlightRecord flight : path) {
+                pathPrice += flight.price();
+            }
+            // prices are positive, so adding legs only makes the path more expensive
+            return pathPrice > best.peek().totalPrice();
+        }
+
+        private void offer(Candidate candidate) {
+            best.offer(candidate);
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+    }
+
+    private record Candidate(List<FlightRecord> legs, double totalPrice, Duration duration) {
+
+        private Candidate(List<FlightRecord> legs) {
+            this(legs,
+                    legs.stream().mapToDouble(FlightRecord::price).sum(),
+                    Duration.between(legs.get(0).departureTime(), legs.get(legs.size() - 1).arrivalTime()));
+        }
+
+        private Itinerary toItinerary() {
+            return Itinerary.builder()
+                    .legs(legs.stream().map(FlightRecord::toInventory).toList())
+                    .stops(legs.size() - 1)
+                    .totalPrice(totalPrice)
+                    .departureTime(legs.get(0).departureTime())
+                    .arrivalTime(legs.get(legs.size() - 1).arrivalTime())
+                    .totalDurationMinutes(duration.toMinutes())
+                    .build();
+        }
+    }
+}
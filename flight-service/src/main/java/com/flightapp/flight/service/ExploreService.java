@@ -0,0 +1,61 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.DestinationFare;
+import com.flightapp.flight.dto.ExploreRequest;
+import com.flightapp.flight.dto.ExploreResponse;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.OriginFares;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Cheapest destinations from an origin over a date window, read from {@link OriginFares}. There is no database
+ * fallback: answering this from {@code flight_inventory} means scanning every flight from the origin.
+ */
+@Service
+public class ExploreService {
+
+    private final OriginFares originFares;
+    private final int defaultLimit;
+
+    public ExploreService(OriginFares originFares,
+                          @Value("${flight.explore.max-results:10}") int defaultLimit) {
+        this.originFares = originFares;
+        this.defaultLimit = defaultLimit;
+    }
+
+    public Mono<ExploreResponse> explore(ExploreRequest request) {
+        if (request.getToDate().isBefore(request.getFromDate())) {
+            return Mono.error(new InvalidDateRangeException("To date is before from date"));
+        }
+        if (!originFares.isReady()) {
+            return Mono.just(ExploreResponse.builder()
+                    .destinations(List.of())
+                    .complete(false)
+                    .build());
+        }
+
+        int limit = request.getLimit() != null ? request.getLimit() : defaultLimit;
+        List<FlightRecord> cheapest = originFares.cheapestDestinations(
+                request.getOrigin(), request.getFromDate(), request.getToDate(), limit);
+        return Mono.just(ExploreResponse.builder()
+                .destinations(cheapest.stream().map(ExploreService::toDestinationFare).toList())
+                .complete(true)
+                .build());
+    }
+
+    private static DestinationFare toDestinationFare(FlightRecord flight) {
+        return DestinationFare.builder()
+                .destination(flight.destination())
+                .price(flight.price())
+                .flightId(flight.id())
+                .flightNumber(flight.flightNumber())
+                .airline(flight.airline())
+                .departureTime(flight.departureTime())
+                .build();
+    }
+}
@@ -0,0 +1,80 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.FareCalendarDay;
+import com.flightapp.flight.dto.FareCalendarRequest;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.index.FareCalendar;
+import com.flightapp.flight.index.FareCalendar.DayFare;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Cheapest price and flight count per day for a route, one entry for every day of the requested range. Served
+ * from {@link FareCalendar}; until it is loaded, a single range query over the search index stands in.
+ */
+@Service
+public class FareCalendarService {
+
+    private final FareCalendar fareCalendar;
+    private final FlightInventoryRepository flightInventoryRepository;
+    private final int maxDays;
+
+    public FareCalendarService(FareCalendar fareCalendar,
+                               FlightInventoryRepository flightInventoryRepository,
+                               @Value("${flight.fare-calendar.max-days:31}") int maxDays) {
+        this.fareCalendar = fareCalendar;
+        this.flightInventoryRepository = flightInventoryRepository;
+        this.maxDays = maxDays;
+    }
+
+    public Flux<FareCalendarDay> fareCalendar(FareCalendarRequest request) {
+        LocalDate from = request.getFromDate();
+        LocalDate to = request.getToDate();
+        if (to.isBefore(from)) {
+            return Flux.error(new InvalidDateRangeException("To date is before from date"));
+        }
+        if (ChronoUnit.DAYS.between(from, to) >= maxDays) {
+            return Flux.error(new InvalidDateRangeException("Date range is longer than " + maxDays + " days"));
+        }
+
+        Mono<Map<LocalDate, DayFare>> fares = fareCalendar.isReady()
+                ? Mono.just(fareCalendar.fares(request.getOrigin(), request.getDestination(), from, to))
+                : loadFares(request.getOrigin(), request.getDestination(), from, to);
+        return fares.flatMapIterable(byDay -> days(from, to, byDay));
+    }
+
+    private Mono<Map<LocalDate, DayFare>> loadFares(String origin, String destination, LocalDate from, LocalDate to) {
+        return flightInventoryRepository
+                .findBookableFlights(origin, destination, from.atStartOfDay(), to.atTime(LocalTime.MAX))
+                .collect(TreeMap::new, (byDay, row) -> byDay.merge(row.getDepartureTime().toLocalDate(),
+                        new DayFare(row.getPrice(), 1), FareCalendarService::combine));
+    }
+
+    private static DayFare combine(DayFare left, DayFare right) {
+        return new DayFare(Math.min(left.minPrice(), right.minPrice()), left.flightCount() + right.flightCount());
+    }
+
+    private static List<FareCalendarDay> days(LocalDate from, LocalDate to, Map<LocalDate, DayFare> byDay) {
+        List<FareCalendarDay> days = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            DayFare fare = byDay.get(day);
+            days.add(FareCalendarDay.builder()
+                    .date(day)
+                    .minPrice(fare != null ? fare.minPrice() : null)
+                    .flightCount(fare != null ? fare.flightCount() : 0)
+                    .build());
+        }
+        return days;
+    }
+}
@@ -0,0 +1,198 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightScheduleRequest;
+import com.flightapp.flight.entity.FlightSchedule;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.repository.FlightScheduleRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Expands recurring schedules into dated {@code flight_inventory} rows for a rolling horizon of
+ * {@code flight.schedules.horizon-days}. A new schedule is expanded up to the horizon at once; after that a daily
+ * job adds only the days that have moved into the horizon since the last run, tracked per schedule in
+ * {@code materialized_through}.
+ *
+ * <p>Rows are inserted in multi-row batches, several batches at a time, skipping rows whose generated flight
+ * number already exists. Re-running an expansion, or two instances running the job at once, therefore never
+ * duplicates a flight or resets its seats, while any other insert error fails the run before
+ * {@code materialized_through} moves.
+ */
+@Service
+@Slf4j
+public class FlightScheduleService {
+
+    private static final DateTimeFormatter FLIGHT_DATE = DateTimeFormatter.BASIC_ISO_DATE;
+
+    private final FlightScheduleRepository flightScheduleRepository;
+    private final FlightInventoryRepository flightInventoryRepository;
+    private final FlightInventoryBatchWriter flightInventoryBatchWriter;
+    private final FlightSearchIndex flightSearchIndex;
+    private final int horizonDays;
+    private final int batchSize;
+    private final int writeConcurrency;
+    private final AtomicBoolean materializing = new AtomicBoolean();
+
+    public FlightScheduleService(FlightScheduleRepository flightScheduleRepository,
+                                 FlightInventoryRepository flightInventoryRepository,
+                                 FlightInventoryBatchWriter flightInventoryBatchWriter,
+                                 FlightSearchIndex flightSearchIndex,
+                                 @Value("${flight.schedules.horizon-days:90}") int horizonDays,
+                                 @Value("${flight.schedules.batch-size:500}") int batchSize,
+                                 @Value("${flight.schedules.write-concurrency:4}") int writeConcurrency) {
+        this.flightScheduleRepository = flightScheduleRepository;
+        this.flightInventoryRepository = flightInventoryRepository;
+        this.flightInventoryBatchWriter = flightInventoryBatchWriter;
+        this.flightSearchIndex = flightSearchIndex;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+        this.writeConcurrency = writeConcurrency;
+    }
+
+    public Mono<FlightSchedule> createSchedule(FlightScheduleRequest request) {
+        if (request.getValidTo().isBefore(request.getValidFrom())) {
+            return Mono.error(new InvalidDateRangeException("Valid to date is before valid from date"));
+        }
+        FlightSchedule schedule = FlightSchedule.builder()
+                .flightNumber(request.getFlightNumber())
+                .airline(request.getAirline())
+                .origin(request.getOrigin())
+                .destination(request.getDestination())
+                .departureTime(request.getDepartureTime())
+                .durationMinutes(request.getDurationMinutes())
+                .daysOfWeek(daysMask(request.getDaysOfWeek()))
+                .validFrom(request.getValidFrom())
+                .validTo(request.getValidTo())
+                .availableSeats(request.getAvailableSeats())
+                .price(request.getPrice())
+                .status("ACTIVE")
+                .createdAt(LocalDateTime.now())
+                .updatedAt(LocalDateTime.now())
+                .build();
+
+        return flightScheduleRepository.save(schedule)
+                .doOnNext(saved -> log.info("Flight schedule {} created for {}", saved.getId(), saved.getFlightNumber()))
+                .flatMap(saved -> materialize(saved, horizon()));
+    }
+
+    public Mono<FlightSchedule> getSchedule(Long id) {
+        return flightScheduleRepository.findById(id);
+    }
+
+    /**
+     * Adds the day that has just entered the horizon, plus any days a failed earlier run left behind.
+     */
+    @Scheduled(cron = "${flight.schedules.materialize-cron:0 15 0 * * *}")
+    public void materializeHorizon() {
+        if (!materializing.compareAndSet(false, true)) {
+            return;
+        }
+        LocalDate horizon = horizon();
+        flightScheduleRepository.findPendingMaterialization(horizon)
+                .concatMap(schedule -> materialize(schedule, horizon)
+                        .onErrorResume(error -> {
+                            log.warn("Expanding flight schedule {} failed: {}", schedule.getId(), error.getMessage());
+                            return Mono.empty();
+                        }))
+                .count()
+                .doFinally(signal -> materializing.set(false))
+                .subscribe(count -> log.info("Expanded {} flight schedules through {}", count, horizon),
+                        error -> log.warn("Flight schedule expansion failed: {}", error.getMessage()));
+    }
+
+    /**
+     * Writes the schedule's flights from the day after {@code materializedThrough} (but not before today) up to
+     * {@code horizon}, then records how far it got. Nothing is recorded if a batch fails, so the next run retries.
+     */
+    private Mono<FlightSchedule> materialize(FlightSchedule schedule, LocalDate horizon) {
+        LocalDate start = latest(schedule.getValidFrom(), LocalDate.now(),
+                schedule.getMaterializedThrough() != null ? schedule.getMaterializedThrough().plusDays(1) : null);
+        LocalDate end = schedule.getValidTo().isBefore(horizon) ? schedule.getValidTo() : horizon;
+        if (schedule.getMaterializedThrough() != null && !end.isAfter(schedule.getMaterializedThrough())) {
+            return Mono.just(schedule);
+        }
+
+        List<FlightInventoryRequest> flights = occurrences(schedule, start, end);
+        return Flux.fromIterable(flights)
+                .buffer(batchSize)
+                .flatMap(batch -> flightInventoryBatchWriter.insertNew(batch).then(index(batch)), writeConcurrency)
+                .then(Mono.defer(() -> {
+                    schedule.setMaterializedThrough(end);
+                    schedule.setUpdatedAt(LocalDateTime.now());
+                    return flightScheduleRepository.save(schedule);
+                }))
+                .doOnSuccess(saved -> log.debug("Flight schedule {} expanded to {} flights through {}",
+                        schedule.getId(), flights.size(), end));
+    }
+
+    private Mono<Void> index(List<FlightInventoryRequest> batch) {
+        return flightInventoryRepository.findByFlightNumberIn(batch.stream().map(FlightInventoryRequest::getFlightNumber).toList())
+                .doOnNext(flightSearchIndex::upsert)
+                .then();
+    }
+
+    private LocalDate horizon() {
+        return LocalDate.now().plusDays(horizonDays);
+    }
+
+    /**
+     * The dated flights of {@code schedule} departing on days in {@code [from, to]} that it operates on.
+     */
+    public static List<FlightInventoryRequest> occurrences(FlightSchedule schedule, LocalDate from, LocalDate to) {
+        List<FlightInventoryRequest> flights = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            if (!operatesOn(schedule.getDaysOfWeek(), day.getDayOfWeek())) {
+                continue;
+            }
+            LocalDateTime departure = day.atTime(schedule.getDepartureTime());
+            flights.add(FlightInventoryRequest.builder()
+                    .flightNumber(schedule.getFlightNumber() + "-" + FLIGHT_DATE.format(day))
+                    .airline(schedule.getAirline())
+                    .origin(schedule.getOrigin())
+                    .destination(schedule.getDestination())
+                    .departureTime(departure)
+                    .arrivalTime(departure.plusMinutes(schedule.getDurationMinutes()))
+                    .availableSeats(schedule.getAvailableSeats())
+                    .price(schedule.getPrice())
+                    .build());
+        }
+        return flights;
+    }
+
+    public static int daysMask(Set<DayOfWeek> days) {
+        if (days == null || days.isEmpty()) {
+            return 0x7F;
+        }
+        int mask = 0;
+        for (DayOfWeek day : days) {
+            mask |= 1 << (day.getValue() - 1);
+        }
+        return mask;
+    }
+
+    private static boolean operatesOn(int mask, DayOfWeek day) {
+        return (mask & (1 << (day.getValue() - 1))) != 0;
+    }
+
+    private static LocalDate latest(LocalDate first, LocalDate second, LocalDate third) {
+        LocalDate latest = first.isAfter(second) ? first : second;
+        return third != null && third.isAfter(latest) ? third : latest;
+    }
+}
@@ -1,6 +1,9 @@
 package com.flightapp.flight.service;
 
 import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightQuote;
+import com.flightapp.flight.dto.FlightSearchPage;
+import com.flightapp.flight.dto.FlightSearchPageRequest;
 import com.flightapp.flight.dto.FlightSearchRequest;
 import com.flightapp.flight.entity.FlightInventory;
 import reactor.core.publisher.Flux;
@@ -8,8 +11,17 @@ import reactor.core.publisher.Mono;
 
 public interface FlightService {
     Flux<FlightInventory> searchFlights(FlightSearchRequest request);
+    Mono<FlightSearchPage> searchFlightsPage(FlightSearchPageRequest request);
+    Flux<FlightInventory> streamFlights(FlightSearchPageRequest request);
     Mono<FlightInventory> addInventory(FlightInventoryRequest request);
     Mono<FlightInventory> getFlightById(Long id);
+    Mono<FlightQuote> getFlightQuote(Long id);
     Mono<Boolean> reduceSeats(Long flightId, Integer seats);
     Mono<Boolean> restoreSeats(Long flightId, Integer seats);
+
+    /**
+     * True when reduceSeats and restoreSeats update flight_inventory directly, so they join a surrounding
+     * transaction; false when the seats are counted in memory or by the reservation dispatcher first.
+     */
+    boolean isSeatCountInDatabase();
 }
@@ -1,9 +1,21 @@
 package com.flightapp.flight.service;
 
+import com.flightapp.flight.cache.FlightSearchCache;
 import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightQuote;
+import com.flightapp.flight.dto.FlightSearchPage;
+import com.flightapp.flight.dto.FlightSearchPageRequest;
 import com.flightapp.flight.dto.FlightSearchRequest;
+import com.flightapp.flight.dto.FlightSortOrder;
 import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.index.SortedFlights;
 import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.seats.ReservationDispatcher;
+import com.flightapp.flight.seats.SeatCounters;
+import com.flightapp.flight.util.FlightSearchCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -12,27 +24,99 @@ import reactor.core.publisher.Mono;
 
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class FlightServiceImpl implements FlightService {
 
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
     private final FlightInventoryRepository flightInventoryRepository;
+    private final FlightSearchIndex flightSearchIndex;
+    private final FlightSearchCache flightSearchCache;
+    private final SeatCounters seatCounters;
+    private final ReservationDispatcher reservationDispatcher;
 
     @Override
     public Flux<FlightInventory> searchFlights(FlightSearchRequest request) {
-        LocalDateTime startOfDay = request.getTravelDate().atStartOfDay();
-        LocalDateTime endOfDay = request.getTravelDate().atTime(LocalTime.MAX);
+        RouteDay routeDay = RouteDay.of(request.getOrigin(), request.getDestination(), request.getTravelDate());
+        return flightSearchCache.get(routeDay, this::loadFlights)
+                .flatMapIterable(flights -> flights.in(FlightSortOrder.DEPARTURE_TIME))
+                .filter(FlightRecord::isBookable)
+                .map(FlightRecord::toInventory);
+    }
+
+    @Override
+    public Mono<FlightSearchPage> searchFlightsPage(FlightSearchPageRequest request) {
+        FlightSortOrder sort = sortOrder(request);
+        int limit = request.getLimit() != null ? request.getLimit() : DEFAULT_PAGE_SIZE;
+
+        // one extra flight tells whether there is a next page
+        return sortedFlights(request, sort)
+                .take(limit + 1L)
+                .collectList()
+                .map(flights -> {
+                    boolean hasMore = flights.size() > limit;
+                    List<FlightRecord> page = hasMore ? flights.subList(0, limit) : flights;
+                    return FlightSearchPage.builder()
+                            .flights(page.stream().map(FlightRecord::toInventory).toList())
+                            .nextCursor(hasMore ? FlightSearchCursor.after(sort, page.get(limit - 1)).encode() : null)
+                            .build();
+                });
+    }
+
+    @Override
+    public Flux<FlightInventory> streamFlights(FlightSearchPageRequest request) {
+        Flux<FlightRecord> flights = sortedFlights(request, sortOrder(request));
+        if (request.getLimit() != null) {
+            flights = flights.take(request.getLimit());
+        }
+        return flights.map(FlightRecord::toInventory);
+    }
+
+    private static FlightSortOrder sortOrder(FlightSearchPageRequest request) {
+        return request.getSort() != null ? request.getSort() : FlightSortOrder.DEPARTURE_TIME;
+    }
+
+    /**
+     * The route's bookable flights in the requested order, starting after the request's cursor if it has one.
+     * The flights are already sorted, so this seeks to the cursor and reads only as far as the caller takes.
+     */
+    private Flux<FlightRecord> sortedFlights(FlightSearchPageRequest request, FlightSortOrder sort) {
+        return Mono.fromCallable(() -> request.getCursor() != null
+                        ? Optional.of(FlightSearchCursor.decode(request.getCursor(), sort))
+                        : Optional.<FlightSearchCursor>empty())
+                .flatMapMany(cursor -> flightSearchCache
+                        .get(RouteDay.of(request.getOrigin(), request.getDestination(), request.getTravelDate()), this::loadFlights)
+                        .flatMapIterable(flights -> {
+                            List<FlightRecord> sorted = flights.in(sort);
+                            int start = cursor.map(position -> position.firstIndexAfter(sorted)).orElse(0);
+                            return sorted.subList(start, sorted.size());
+                        })
+                        .filter(FlightRecord::isBookable));
+    }
+
+    private Mono<SortedFlights> loadFlights(RouteDay routeDay) {
+        if (flightSearchIndex.isReady()) {
+            return Mono.just(flightSearchIndex.sorted(routeDay));
+        }
+
+        LocalDateTime startOfDay = routeDay.day().atStartOfDay();
+        LocalDateTime endOfDay = routeDay.day().atTime(LocalTime.MAX);
 
         return flightInventoryRepository
-                .findByOriginAndDestinationAndDepartureTimeBetween(
-                        request.getOrigin(),
-                        request.getDestination(),
+                .findBookableFlights(
+                        routeDay.origin(),
+                        routeDay.destination(),
                         startOfDay,
                         endOfDay)
-                .filter(flight -> flight.getAvailableSeats() > 0)
-                .doOnNext(flight -> log.info("Found flight: {}", flight.getFlightNumber()));
+                .doOnNext(flight -> log.info("Found flight: {}", flight.getFlightNumber()))
+                .map(row -> FlightRecord.from(routeDay, row))
+                .collectList()
+                .map(SortedFlights::of);
     }
 
     @Override
@@ -52,26 +136,64 @@ public class FlightServiceImpl implements FlightService {
                 .build();
 
         return flightInventoryRepository.save(inventory)
+                .doOnNext(flightSearchIndex::upsert)
                 .doOnSuccess(saved -> log.info("Flight inventory added: {}", saved.getFlightNumber()));
     }
 
     @Override
     public Mono<FlightInventory> getFlightById(Long id) {
         return flightInventoryRepository.findById(id)
+                // with write-behind counters the row can be one flush behind
+                .doOnNext(flight -> seatCounters.available(id).ifPresent(flight::setAvailableSeats))
                 .doOnSuccess(flight -> log.info("Retrieved flight: {}", flight));
     }
 
+    @Override
+    public Mono<FlightQuote> getFlightQuote(Long id) {
+        return flightInventoryRepository.findQuoteById(id)
+                .doOnNext(quote -> seatCounters.available(id).ifPresent(quote::setAvailableSeats));
+    }
+
     @Override
     public Mono<Boolean> reduceSeats(Long flightId, Integer seats) {
-        return flightInventoryRepository.reduceAvailableSeats(flightId, seats)
-                .map(updated -> updated > 0)
+        Mono<Boolean> reduced;
+        if (seatCounters.isEnabled()) {
+            reduced = seatCounters.reserve(flightId, seats);
+        } else if (reservationDispatcher.isEnabled()) {
+            reduced = reservationDispatcher.reserve(flightId, seats);
+        } else {
+            reduced = flightInventoryRepository.reduceAvailableSeats(flightId, seats).map(updated -> updated > 0);
+        }
+        return reduced
+                .doOnNext(success -> {
+                    if (success) {
+                        flightSearchIndex.adjustSeats(flightId, -seats);
+                    }
+                })
                 .doOnSuccess(success -> log.info("Reduced {} seats for flight {}: {}", seats, flightId, success));
     }
 
     @Override
     public Mono<Boolean> restoreSeats(Long flightId, Integer seats) {
-        return flightInventoryRepository.increaseAvailableSeats(flightId, seats)
-                .map(updated -> updated > 0)
+        Mono<Boolean> restored;
+        if (seatCounters.isEnabled()) {
+            restored = seatCounters.release(flightId, seats);
+        } else if (reservationDispatcher.isEnabled()) {
+            restored = reservationDispatcher.release(flightId, seats);
+        } else {
+            restored = flightInventoryRepository.increaseAvailableSeats(flightId, seats).map(updated -> updated > 0);
+        }
+        return restored
+                .doOnNext(success -> {
+                    if (success) {
+                        flightSearchIndex.adjustSeats(flightId, seats);
+                    }
+                })
                 .doOnSuccess(success -> log.info("Restored {} seats for flight {}: {}", seats, flightId, success));
     }
+
+    @Override
+    public boolean isSeatCountInDatabase() {
+        return !seatCounters.isEnabled() && !reservationDispatcher.isEnabled();
+    }
 }
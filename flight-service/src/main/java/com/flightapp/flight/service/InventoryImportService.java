@@ -0,0 +1,225 @@
+package com.flightapp.flight.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.InventoryImportBatch;
+import com.flightapp.flight.dto.InventoryImportError;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Streams bulk inventory imports through parsing, validation and batched multi-row upserts keyed on
+ * {@code flight_number}, emitting one progress report per batch. Only one batch is held in memory at a time.
+ * Re-publishing a season does not undo bookings; see {@link FlightInventoryBatchWriter#upsert(List)}.
+ */
+@Service
+@Slf4j
+public class InventoryImportService {
+
+    private final FlightInventoryRepository flightInventoryRepository;
+    private final FlightInventoryBatchWriter flightInventoryBatchWriter;
+    private final FlightSearchIndex flightSearchIndex;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+    private final Counter imported;
+    private final Counter failed;
+
+    public InventoryImportService(FlightInventoryRepository flightInventoryRepository,
+                                  FlightInventoryBatchWriter flightInventoryBatchWriter,
+                                  FlightSearchIndex flightSearchIndex,
+                                  Validator validator,
+                                  ObjectMapper objectMapper,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${flight.import.batch-size:500}") int batchSize) {
+        this.flightInventoryRepository = flightInventoryRepository;
+        this.flightInventoryBatchWriter = flightInventoryBatchWriter;
+        this.flightSearchIndex = flightSearchIndex;
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+        this.imported = Counter.builder("flight.import.rows").tag("status", "imported").register(meterRegistry);
+        this.failed = Counter.builder("flight.import.rows").tag("status", "failed").register(meterRegistry);
+    }
+
+    /**
+     * Imports flights from NDJSON lines of {@link FlightInventoryRequest}, or from CSV lines with a header row
+     * naming the same fields ({@code flightNumber,airline,origin,destination,departureTime,arrivalTime,
+     * availableSeats,price}). Times are ISO-8601 local date-times. Fields are plain comma separated values;
+     * quoting is not supported.
+     */
+    public Flux<InventoryImportBatch> importInventory(Flux<String> lines, boolean csv) {
+        Flux<Tuple2<Long, String>> numbered = lines.index()
+                .filter(line -> !line.getT2().isBlank());
+
+        Flux<Row> rows = csv
+                ? numbered.switchOnFirst((first, all) -> {
+                    if (!first.hasValue()) {
+                        return all.map(line -> Row.failed(line.getT1() + 1, null, "Missing CSV header"));
+                    }
+                    Map<String, Integer> header = csvHeader(first.get().getT2());
+                    return all.skip(1).map(line -> parseCsv(line.getT1() + 1, line.getT2(), header));
+                })
+                : numbered.map(line -> parseJson(line.getT1() + 1, line.getT2()));
+
+        return rows
+                .map(this::validate)
+                .buffer(batchSize)
+                .index()
+                .concatMap(batch -> writeBatch(batch.getT1() + 1, batch.getT2()))
+                .doOnNext(report -> {
+                    imported.increment(report.getImported());
+                    failed.increment(report.getFailed());
+                });
+    }
+
+    private Map<String, Integer> csvHeader(String line) {
+        String[] columns = line.split(",", -1);
+        Map<String, Integer> header = new HashMap<>();
+        for (int i = 0; i < columns.length; i++) {
+            header.put(columns[i].trim().replace("_", "").toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private Row parseCsv(long line, String text, Map<String, Integer> header) {
+        String[] fields = text.split(",", -1);
+        String flightNumber = csvField(fields, header, "flightnumber");
+        try {
+            FlightInventoryRequest request = FlightInventoryRequest.builder()
+                    .flightNumber(flightNumber)
+                    .airline(csvField(fields, header, "airline"))
+                    .origin(csvField(fields, header, "origin"))
+                    .destination(csvField(fields, header, "destination"))
+                    .departureTime(parsed(csvField(fields, header, "departuretime"), LocalDateTime::parse))
+                    .arrivalTime(parsed(csvField(fields, header, "arrivaltime"), LocalDateTime::parse))
+                    .availableSeats(parsed(csvField(fields, header, "availableseats"), Integer::valueOf))
+                    .price(parsed(csvField(fields, header, "price"), Double::valueOf))
+                    .build();
+            return new Row(line, request, null);
+        } catch (RuntimeException e) {
+            return Row.failed(line, FlightInventoryRequest.builder().flightNumber(flightNumber).build(),
+                    "Malformed CSV field: " + e.getMessage());
+        }
+    }
+
+    private static String csvField(String[] fields, Map<String, Integer> header, String column) {
+        Integer index = header.get(column);
+        if (index == null || index >= fields.length) {
+            return null;
+        }
+        String value = fields[index].trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    private static <T> T parsed(String value, Function<String, T> parser) {
+        return value != null ? parser.apply(value) : null;
+    }
+
+    private Row parseJson(long line, String text) {
+        try {
+            return new Row(line, objectMapper.readValue(text, FlightInventoryRequest.class), null);
+        } catch (Exception e) {
+            return Row.failed(line, null, "Malformed JSON");
+        }
+    }
+
+    private Row validate(Row row) {
+        if (row.error() != null) {
+            return row;
+        }
+        Set<ConstraintViolation<FlightInventoryRequest>> violations = validator.validate(row.request());
+        if (violations.isEmpty()) {
+            return row;
+        }
+        String message = violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        return Row.failed(row.line(), row.request(), message);
+    }
+
+    private Mono<InventoryImportBatch> writeBatch(long batch, List<Row> rows) {
+        List<Row> valid = rows.stream()
+                .filter(row -> row.error() == null)
+                .toList();
+        List<InventoryImportError> errors = new ArrayList<>();
+        rows.stream()
+                .filter(row -> row.error() != null)
+                .forEach(row -> errors.add(error(row, row.error())));
+
+        Mono<Integer> written = valid.isEmpty()
+                ? Mono.just(0)
+                : flightInventoryBatchWriter.upsert(valid.stream().map(Row::request).toList())
+                        .thenReturn(valid.size())
+                        .onErrorResume(e -> {
+                            // one multi-row statement, so the whole batch failed
+                            log.warn("Inventory import batch {} failed: {}", batch, e.getMessage());
+                            valid.forEach(row -> errors.add(error(row, "Batch write failed")));
+                            return Mono.just(0);
+                        })
+                        .flatMap(count -> count > 0 ? refreshIndex(valid).thenReturn(count) : Mono.just(count));
+
+        return written.map(count -> InventoryImportBatch.builder()
+                .batch(batch)
+                .firstLine(rows.get(0).line())
+                .lastLine(rows.get(rows.size() - 1).line())
+                .imported(count)
+                .failed(rows.size() - count)
+                .errors(errors)
+                .build());
+    }
+
+    /**
+     * Re-reads the written rows to learn their ids and stored seat counts, and hands them to the search index.
+     * The rows are already committed, so a failure here only delays them to the next index refresh.
+     */
+    private Mono<Void> refreshIndex(List<Row> rows) {
+        List<String> flightNumbers = rows.stream()
+                .map(row -> row.request().getFlightNumber())
+                .toList();
+        return flightInventoryRepository.findByFlightNumberIn(flightNumbers)
+                .doOnNext(flightSearchIndex::upsert)
+                .then()
+                .onErrorResume(e -> {
+                    log.warn("Could not index {} imported flights: {}", rows.size(), e.getMessage());
+                    return Mono.empty();
+                });
+    }
+
+    private static InventoryImportError error(Row row, String message) {
+        return InventoryImportError.builder()
+                .line(row.line())
+                .flightNumber(row.request() != null ? row.request().getFlightNumber() : null)
+                .message(message)
+                .build();
+    }
+
+    private record Row(long line, FlightInventoryRequest request, String error) {
+
+        static Row failed(long line, FlightInventoryRequest request, String error) {
+            return new Row(line, request, error);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.SeatBatchMode;
+import com.flightapp.flight.dto.SeatBatchRequest;
+import com.flightapp.flight.dto.SeatBatchResponse;
+import com.flightapp.flight.dto.SeatOperation;
+import com.flightapp.flight.dto.SeatOperationResult;
+import com.flightapp.flight.dto.SeatOperationStatus;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.seats.SeatCounters;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+/**
+ * Applies many seat changes in one call. In one transaction the touched rows are locked, every operation is
+ * decided in request order against the locked counts, and the net change per flight is written with a single
+ * multi-row {@code UPDATE}. With {@link SeatBatchMode#ALL_OR_NOTHING} nothing is written unless every operation
+ * fits; with {@link SeatBatchMode#PER_ITEM} the operations that fit are written and the rest are reported.
+ *
+ * <p>While {@link SeatCounters} own the seat counts, the operations go through the counters one by one instead,
+ * and an all-or-nothing batch that fails part way is undone in reverse order.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatBatchService {
+
+    private final FlightInventoryBatchWriter flightInventoryBatchWriter;
+    private final TransactionalOperator transactionalOperator;
+    private final SeatCounters seatCounters;
+    private final FlightSearchIndex flightSearchIndex;
+
+    public Mono<SeatBatchResponse> applyBatch(SeatBatchRequest request) {
+        List<SeatOperation> operations = request.getOperations();
+        boolean allOrNothing = request.getMode() != SeatBatchMode.PER_ITEM;
+        Mono<List<SeatOperationStatus>> statuses = seatCounters.isEnabled()
+                ? applyToCounters(operations, allOrNothing)
+                : applyInTransaction(operations, allOrNothing);
+        return statuses
+                .doOnNext(applied -> netDeltas(operations, applied).forEach(flightSearchIndex::adjustSeats))
+                .map(applied -> response(operations, applied))
+                .doOnSuccess(response -> log.info("Seat batch of {} operations: {} applied, {} rejected",
+                        operations.size(), response.getApplied(), response.getRejected()));
+    }
+
+    private Mono<List<SeatOperationStatus>> applyInTransaction(List<SeatOperation> operations, boolean allOrNothing) {
+        TreeSet<Long> flightIds = operations.stream()
+                .map(SeatOperation::getFlightId)
+                .collect(Collectors.toCollection(TreeSet::new));
+        return flightInventoryBatchWriter.lockSeats(flightIds)
+                .flatMap(seats -> {
+                    List<SeatOperationStatus> statuses = decide(operations, seats, allOrNothing);
+                    Map<Long, Integer> deltas = netDeltas(operations, statuses);
+                    if (deltas.isEmpty()) {
+                        return Mono.just(statuses);
+                    }
+                    return flightInventoryBatchWriter.addSeats(deltas).thenReturn(statuses);
+                })
+                .as(transactionalOperator::transactional);
+    }
+
+    /**
+     * Decides each operation in order against the seats left after the operations before it.
+     */
+    private static List<SeatOperationStatus> decide(List<SeatOperation> operations, Map<Long, Integer> seats,
+                                                    boolean allOrNothing) {
+        Map<Long, Integer> remaining = new HashMap<>(seats);
+        List<SeatOperationStatus> statuses = new ArrayList<>(operations.size());
+        for (SeatOperation operation : operations) {
+            Integer left = remaining.get(operation.getFlightId());
+            if (left == null) {
+                statuses.add(SeatOperationStatus.FLIGHT_NOT_FOUND);
+            } else if (left + operation.getDelta() < 0) {
+                statuses.add(SeatOperationStatus.INSUFFICIENT_SEATS);
+            } else {
+                remaining.put(operation.getFlightId(), left + operation.getDelta());
+                statuses.add(SeatOperationStatus.APPLIED);
+            }
+        }
+        if (allOrNothing && statuses.stream().anyMatch(status -> status != SeatOperationStatus.APPLIED)) {
+            statuses.replaceAll(status -> status == SeatOperationStatus.APPLIED ? SeatOperationStatus.NOT_APPLIED : status);
+        }
+        return statuses;
+    }
+
+    private Mono<List<SeatOperationStatus>> applyToCounters(List<SeatOperation> operations, boolean allOrNothing) {
+        return Flux.fromIterable(operations)
+                .concatMap(this::applyToCounter)
+                .takeUntil(status -> allOrNothing && status != SeatOperationStatus.APPLIED)
+                .collectList()
+                .flatMap(statuses -> {
+                    if (!allOrNothing || statuses.get(statuses.size() - 1) == SeatOperationStatus.APPLIED) {
+                        return Mono.just(statuses);
+                    }
+                    List<SeatOperationStatus> undone = new ArrayList<>(statuses);
+                    while (undone.size() < operations.size()) {
+                        undone.add(SeatOperationStatus.NOT_APPLIED);
+                    }
+                    return Flux.range(0, statuses.size() - 1)
+                            .map(i -> statuses.size() - 2 - i)
+                            .concatMap(i -> undo(operations.get(i)).doOnNext(reverted -> {
+                                if (reverted) {
+                                    undone.set(i, SeatOperationStatus.NOT_APPLIED);
+                                } else {
+                                    // the released seats were sold meanwhile; the release stands
+                                    log.warn("Could not undo seat operation on flight {}", operations.get(i).getFlightId());
+                                }
+                            }))
+                            .then(Mono.just(undone));
+                });
+    }
+
+    private Mono<SeatOperationStatus> applyToCounter(SeatOperation operation) {
+        if (operation.getDelta() < 0) {
+            return seatCounters.reserve(operation.getFlightId(), -operation.getDelta())
+                    .map(reserved -> reserved ? SeatOperationStatus.APPLIED : SeatOperationStatus.INSUFFICIENT_SEATS);
+        }
+        return seatCounters.release(operation.getFlightId(), operation.getDelta())
+                .map(released -> released ? SeatOperationStatus.APPLIED : SeatOperationStatus.FLIGHT_NOT_FOUND);
+    }
+
+    private Mono<Boolean> undo(SeatOperation operation) {
+        return operation.getDelta() < 0
+                ? seatCounters.release(operation.getFlightId(), -operation.getDelta())
+                : seatCounters.reserve(operation.getFlightId(), operation.getDelta());
+    }
+
+    private static Map<Long, Integer> netDeltas(List<SeatOperation> operations, List<SeatOperationStatus> statuses) {
+        Map<Long, Integer> deltas = new HashMap<>();
+        for (int i = 0; i < operations.size(); i++) {
+            if (statuses.get(i) == SeatOperationStatus.APPLIED) {
+                deltas.merge(operations.get(i).getFlightId(), operations.get(i).getDelta(), Integer::sum);
+            }
+        }
+        deltas.values().removeIf(delta -> delta == 0);
+        return deltas;
+    }
+
+    private static SeatBatchResponse response(List<SeatOperation> operations, List<SeatOperationStatus> statuses) {
+        List<SeatOperationResult> results = new ArrayList<>(operations.size());
+        int applied = 0;
+        for (int i = 0; i < operations.size(); i++) {
+            SeatOperation operation = operations.get(i);
+            results.add(SeatOperationResult.builder()
+                    .flightId(operation.getFlightId())
+                    .delta(operation.getDelta())
+                    .status(statuses.get(i))
+                    .build());
+            if (statuses.get(i) == SeatOperationStatus.APPLIED) {
+                applied++;
+            }
+        }
+        return SeatBatchResponse.builder()
+                .applied(applied)
+                .rejected(operations.size() - applied)
+                .results(results)
+                .build();
+    }
+}
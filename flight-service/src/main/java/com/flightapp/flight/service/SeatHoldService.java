@@ -0,0 +1,282 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.SeatHoldRequest;
+import com.flightapp.flight.entity.SeatHold;
+import com.flightapp.flight.repository.SeatHoldRepository;
+import com.flightapp.flight.seats.TimerWheel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Seat holds: seats are taken from the flight up front and go back automatically unless the hold is confirmed
+ * within its TTL, so a booking that fails half way cannot leak them. Expiry is tracked by a {@link TimerWheel}
+ * advanced every {@code flight.holds.tick-ms}, which costs the same whether ten or several hundred thousand holds
+ * are open. Holds are also stored in {@code seat_hold}, and the ones not yet ended are picked up again on startup.
+ *
+ * <p>The {@code seat_hold} row decides who ends a hold: a confirm deletes it while it is {@code OPEN}, and a release
+ * or expiry first moves it to {@code RETURNING}, claimed by this instance, so exactly one of them wins even when
+ * they run on different instances. Expiry is tracked by the instance that created the hold, but any instance can
+ * confirm or release it. A {@code RETURNING} row is deleted only once its seats are back, so a failed return is
+ * retried on a later tick. Each attempt first renews the claim; an instance that finds a claim unrenewed for
+ * {@code flight.holds.lease-seconds} takes it over, which is how a return cut short by a crash gets finished.
+ * When the seat count lives in {@code flight_inventory} the seats and the row change in one transaction, so the
+ * seats never go back twice; with seat counters or the dispatcher they do only if the row cannot be deleted for a
+ * whole lease.
+ */
+@Service
+@Slf4j
+public class SeatHoldService {
+
+    private static final String OPEN = "OPEN";
+    private static final String RETURNING = "RETURNING";
+    // only ever in memory: the seats are back but the row is not deleted yet
+    private static final String RETURNED = "RETURNED";
+
+    private final FlightService flightService;
+    private final SeatHoldRepository seatHoldRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final int defaultTtlSeconds;
+    private final long retryMillis;
+    private final int leaseSeconds;
+    private final String instanceId = UUID.randomUUID().toString();
+    private final TimerWheel<ActiveHold> expiries;
+    private final Map<Long, ActiveHold> active = new ConcurrentHashMap<>();
+
+    public SeatHoldService(FlightService flightService,
+                           SeatHoldRepository seatHoldRepository,
+                           TransactionalOperator transactionalOperator,
+                           @Value("${flight.holds.default-ttl-seconds:300}") int defaultTtlSeconds,
+                           @Value("${flight.holds.tick-ms:100}") long tickMillis,
+                           @Value("${flight.holds.retry-ms:5000}") long retryMillis,
+                           @Value("${flight.holds.lease-seconds:60}") int leaseSeconds) {
+        this.flightService = flightService;
+        this.seatHoldRepository = seatHoldRepository;
+        this.transactionalOperator = transactionalOperator;
+        this.defaultTtlSeconds = defaultTtlSeconds;
+        this.retryMillis = retryMillis;
+        this.leaseSeconds = leaseSeconds;
+        this.expiries = new TimerWheel<>(tickMillis, System.currentTimeMillis());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void recover() {
+        // a return claimed by another instance is only tried once its lease has run out
+        seatHoldRepository.findAll()
+                .doOnNext(hold -> track(hold, OPEN.equals(hold.getState())
+                        ? toMillis(hold.getExpiresAt()) : leaseEnd(hold)))
+                .count()
+                .subscribe(count -> log.info("Tracking {} open seat holds", count),
+                        error -> log.error("Could not load open seat holds: {}", error.getMessage()));
+    }
+
+    /**
+     * Emits the new hold, or nothing if the flight does not have the seats.
+     */
+    public Mono<SeatHold> hold(SeatHoldRequest request) {
+        int ttlSeconds = request.getTtlSeconds() != null ? request.getTtlSeconds() : defaultTtlSeconds;
+        return flightService.reduceSeats(request.getFlightId(), request.getSeats())
+                .filter(Boolean::booleanValue)
+                .flatMap(reduced -> {
+                    LocalDateTime now = LocalDateTime.now();
+                    SeatHold hold = SeatHold.builder()
+                            .flightId(request.getFlightId())
+                            .seats(request.getSeats())
+                            .state(OPEN)
+                            .expiresAt(now.plusSeconds(ttlSeconds))
+                            .createdAt(now)
+                            .build();
+                    return seatHoldRepository.save(hold)
+                            .onErrorResume(error -> flightService.restoreSeats(request.getFlightId(), request.getSeats())
+                                    .then(Mono.error(error)));
+                })
+                .doOnNext(hold -> track(hold, toMillis(hold.getExpiresAt())))
+                .doOnNext(hold -> log.info("Held {} seats on flight {} until {} (hold {})",
+                        hold.getSeats(), hold.getFlightId(), hold.getExpiresAt(), hold.getId()));
+    }
+
+    /**
+     * Keeps the held seats sold. Emits {@code false} if the hold is unknown, already ended or expired.
+     */
+    public Mono<Boolean> confirm(Long holdId) {
+        return Mono.defer(() -> {
+            ActiveHold ended = untrack(holdId);
+            if (ended != null && !OPEN.equals(ended.hold.getState())) {
+                // its seats are already on their way back
+                retryLater(ended.hold);
+                return Mono.just(false);
+            }
+            // a hold tracked by another instance is ended through its row alone
+            return seatHoldRepository.deleteHold(holdId)
+                    .map(deleted -> deleted > 0)
+                    .onErrorResume(error -> {
+                        // still in seat_hold, so it must stay open or a restart would return sold seats
+                        if (ended != null) {
+                            track(ended.hold, toMillis(ended.hold.getExpiresAt()));
+                        }
+                        return Mono.error(error);
+                    })
+                    .doOnNext(confirmed -> {
+                        if (confirmed) {
+                            log.info("Seat hold {} confirmed", holdId);
+                        }
+                    });
+        });
+    }
+
+    /**
+     * Returns the held seats to the flight. Emits {@code false} if the hold is unknown, already ended or expired.
+     */
+    public Mono<Boolean> release(Long holdId) {
+        return Mono.defer(() -> {
+            ActiveHold ended = untrack(holdId);
+            // a hold another instance is already returning is left to it
+            Mono<SeatHold> hold = ended != null ? Mono.just(ended.hold)
+                    : seatHoldRepository.findById(holdId).filter(found -> OPEN.equals(found.getState()));
+            return hold
+                    .flatMap(found -> returnSeats(found)
+                            .onErrorResume(error -> {
+                                retryLater(found);
+                                return Mono.error(error);
+                            }))
+                    .defaultIfEmpty(false)
+                    .doOnNext(released -> {
+                        if (released) {
+                            log.info("Seat hold {} released", holdId);
+                        }
+                    });
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${flight.holds.tick-ms:100}")
+    public void expire() {
+        for (ActiveHold expired : expiries.advance(System.currentTimeMillis())) {
+            if (!active.remove(expired.hold.getId(), expired)) {
+                continue;
+            }
+            returnSeats(expired.hold).subscribe(
+                    returned -> {
+                        if (returned) {
+                            log.info("Seat hold {} expired", expired.hold.getId());
+                        }
+                    },
+                    error -> {
+                        log.warn("Returning seats of expired hold {} failed, will retry: {}",
+                                expired.hold.getId(), error.getMessage());
+                        track(expired.hold, System.currentTimeMillis() + retryMillis);
+                    });
+        }
+    }
+
+    private void track(SeatHold hold, long deadlineMillis) {
+        ActiveHold tracked = new ActiveHold(hold);
+        active.put(hold.getId(), tracked);
+        tracked.timeout = expiries.schedule(tracked, deadlineMillis);
+    }
+
+    /**
+     * Tracks a hold whose release failed: an open one expires as planned, one already being returned is retried.
+     */
+    private void retryLater(SeatHold hold) {
+        track(hold, OPEN.equals(hold.getState())
+                ? toMillis(hold.getExpiresAt()) : System.currentTimeMillis() + retryMillis);
+    }
+
+    private ActiveHold untrack(Long holdId) {
+        ActiveHold removed = active.remove(holdId);
+        if (removed != null && removed.timeout != null) {
+            expiries.cancel(removed.timeout);
+        }
+        return removed;
+    }
+
+    /**
+     * Claims the hold for this instance, moving it to {@code RETURNING} if it is still open, restores its seats and
+     * only then deletes it. Emits {@code false} if a confirm ended the hold first or another instance is returning
+     * it. One whose seats this instance already put back skips the restore, so retries never return them twice.
+     */
+    private Mono<Boolean> returnSeats(SeatHold hold) {
+        Mono<Integer> claimed = OPEN.equals(hold.getState())
+                ? seatHoldRepository.claimForReturn(hold.getId(), instanceId)
+                : seatHoldRepository.renewClaim(hold.getId(), instanceId, leaseSeconds);
+        return claimed.flatMap(updated -> {
+            if (updated == 0) {
+                return OPEN.equals(hold.getState()) ? Mono.just(false) : watch(hold);
+            }
+            if (OPEN.equals(hold.getState())) {
+                hold.setState(RETURNING);
+            }
+            if (RETURNED.equals(hold.getState())) {
+                return deleteReturned(hold);
+            }
+            if (flightService.isSeatCountInDatabase()) {
+                return restoreSeats(hold)
+                        .then(Mono.defer(() -> deleteReturned(hold)))
+                        .flatMap(deleted -> deleted ? Mono.just(true)
+                                // undoes the restore; the retry finds the claim gone and leaves the hold alone
+                                : Mono.<Boolean>error(new IllegalStateException(
+                                        "Seat hold " + hold.getId() + " was taken over by another instance")))
+                        .as(transactionalOperator::transactional);
+            }
+            return restoreSeats(hold)
+                    .doOnNext(restored -> hold.setState(RETURNED))
+                    .then(Mono.defer(() -> deleteReturned(hold)));
+        });
+    }
+
+    /**
+     * Emits {@code true} once the seats are back, or an error so the return is retried if they could not be.
+     */
+    private Mono<Boolean> restoreSeats(SeatHold hold) {
+        return flightService.restoreSeats(hold.getFlightId(), hold.getSeats())
+                .filter(Boolean::booleanValue)
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException(
+                        "Seats of hold " + hold.getId() + " could not be returned to flight " + hold.getFlightId())));
+    }
+
+    /**
+     * Another instance holds the claim. Its row is looked at again once that claim could have run out, so a return
+     * whose owner died is still finished. Emits {@code false}.
+     */
+    private Mono<Boolean> watch(SeatHold hold) {
+        return seatHoldRepository.findById(hold.getId())
+                .filter(found -> RETURNING.equals(found.getState()))
+                .doOnNext(found -> track(found, leaseEnd(found)))
+                .thenReturn(false);
+    }
+
+    private Mono<Boolean> deleteReturned(SeatHold hold) {
+        return seatHoldRepository.deleteReturned(hold.getId(), instanceId).map(deleted -> deleted > 0);
+    }
+
+    private long leaseEnd(SeatHold hold) {
+        return hold.getClaimedAt() != null
+                ? toMillis(hold.getClaimedAt().plusSeconds(leaseSeconds)) : System.currentTimeMillis();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class ActiveHold {
+
+        private final SeatHold hold;
+        // set right after scheduling; an expiry in between finds this instance in active and still wins
+        private volatile TimerWheel.Timeout<ActiveHold> timeout;
+
+        private ActiveHold(SeatHold hold) {
+            this.hold = hold;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package com.flightapp.flight.service;
+
+import com.flightapp.flight.dto.SeatAssignmentRequest;
+import com.flightapp.flight.dto.SeatAssignmentResponse;
+import com.flightapp.flight.dto.SeatMapRequest;
+import com.flightapp.flight.dto.SeatMapResponse;
+import com.flightapp.flight.entity.SeatAssignment;
+import com.flightapp.flight.exception.InvalidSeatMapException;
+import com.flightapp.flight.repository.FlightSeatMapRepository;
+import com.flightapp.flight.repository.SeatAssignmentRepository;
+import com.flightapp.flight.seats.SeatMap;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Seat selection on top of the seat count. Each flight's {@link SeatMap} is loaded once from
+ * {@code flight_seat_map}, changed in memory and written back as a whole after every change.
+ *
+ * <p>{@code available_seats} stays the authority on how many seats can be sold; the map only decides which ones.
+ * A booking takes its seats from the count through {@link #reserve}, which records it in {@code seat_assignment},
+ * and may then choose up to that many seats in the map; choosing or releasing seats never touches the count.
+ * Cancelling the booking through {@link #restore} frees the seats it chose and puts all of its seats back on sale,
+ * the only path by which they return. Every taken seat is therefore backed by a sold one, and a flight never has
+ * fewer free seats in its map than seats left for sale. Bookings made without a reference, or before the map
+ * existed, simply leave their seats unassigned. Like the seat counters, the maps assume one instance handles a
+ * flight's seat operations, which also lets a flight found without a map be remembered as such until one is created
+ * here.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SeatMapService {
+
+    private static final Pattern SEAT = Pattern.compile("(\\d{1,3})([A-Z])");
+
+    private final FlightService flightService;
+    private final FlightSeatMapRepository flightSeatMapRepository;
+    private final SeatAssignmentRepository seatAssignmentRepository;
+    // empty for a flight known to have no seat map, so bookings on it do not look for one every time
+    private final Map<Long, Optional<SeatMap>> maps = new ConcurrentHashMap<>();
+
+    /**
+     * Emits nothing if the flight does not exist.
+     */
+    public Mono<SeatMapResponse> createSeatMap(Long flightId, SeatMapRequest request) {
+        int capacity = request.getSeatRows() * request.getSeatsPerRow();
+        return flightService.getFlightById(flightId)
+                .flatMap(flight -> {
+                    if (capacity < flight.getAvailableSeats()) {
+                        return Mono.error(new InvalidSeatMapException("Layout has " + capacity + " seats but "
+                                + flight.getAvailableSeats() + " are for sale"));
+                    }
+                    SeatMap map = new SeatMap(request.getSeatRows(), request.getSeatsPerRow());
+                    return flightSeatMapRepository.create(flightId, map.rows(), map.seatsPerRow(), map.toBytes())
+                            .onErrorMap(DuplicateKeyException.class,
+                                    error -> new InvalidSeatMapException("Flight already has a seat map"))
+                            .then(Mono.fromSupplier(() -> cache(flightId, map)));
+                })
+                .doOnNext(map -> log.info("Seat map of {}x{} created for flight {}", map.rows(), map.seatsPerRow(), flightId))
+                .map(map -> toResponse(flightId, map));
+    }
+
+    public Mono<SeatMapResponse> getSeatMap(Long flightId) {
+        return seatMap(flightId).map(map -> toResponse(flightId, map));
+    }
+
+    /**
+     * Takes {@code seats} from the flight for a booking. On a flight with a seat map the booking is recorded, so it
+     * can choose that many seats later.
+     */
+    public Mono<Boolean> reserve(Long flightId, int seats, String bookingRef) {
+        return flightService.reduceSeats(flightId, seats)
+                .flatMap(reduced -> {
+                    if (!reduced) {
+                        return Mono.just(false);
+                    }
+                    // the seats are already taken, so they go back whichever step fails
+                    return seatMap(flightId)
+                            .flatMap(map -> seatAssignmentRepository.save(SeatAssignment.builder()
+                                    .flightId(flightId)
+                                    .bookingRef(bookingRef)
+                                    .seats(seats)
+                                    .assignedSeats("")
+                                    .updatedAt(LocalDateTime.now())
+                                    .build()))
+                            .thenReturn(true)
+                            .onErrorResume(error -> flightService.restoreSeats(flightId, seats)
+                                    .then(Mono.error(error)));
+                });
+    }
+
+    /**
+     * Gives a booking's seats back: forgets the booking, frees the seats it chose in the map and puts its
+     * {@code seats} back on sale. The booking is forgotten first, so only one caller frees its seats, and a retry
+     * after a failure part way skips straight to the seat count.
+     */
+    public Mono<Boolean> restore(Long flightId, int seats, String bookingRef) {
+        return seatAssignmentRepository.findByFlightIdAndBookingRef(flightId, bookingRef)
+                .flatMap(assignment -> seatAssignmentRepository.deleteAssignment(assignment.getId())
+                        .filter(deleted -> deleted > 0)
+                        .flatMap(deleted -> seatMap(flightId))
+                        .flatMap(map -> {
+                            releaseAll(map, parse(split(assignment.getAssignedSeats()), map));
+                            return persist(flightId, map);
+                        }))
+                .then(Mono.defer(() -> flightService.restoreSeats(flightId, seats)));
+    }
+
+    /**
+     * Emits the assigned seats, an empty list if they are not free or the booking lost a race with another change
+     * to its seats, or nothing if the flight has no seat map. Fails if the booking holds no seats on the flight or
+     * would end up with more seats chosen than it holds.
+     */
+    public Mono<SeatAssignmentResponse> assignSeats(Long flightId, SeatAssignmentRequest request) {
+        return seatMap(flightId).flatMap(map -> booking(flightId, request.getBooking()).flatMap(assignment -> {
+            List<String> assigned = split(assignment.getAssignedSeats());
+            List<int[]> seats;
+            if (request.getSeats() != null && !request.getSeats().isEmpty()) {
+                seats = parse(request.getSeats(), map);
+                checkFits(assignment, assigned, seats.size());
+                if (!takeAll(map, seats)) {
+                    return Mono.just(assignment(flightId, List.of()));
+                }
+            } else if (request.getCount() != null) {
+                checkFits(assignment, assigned, request.getCount());
+                int first = map.takeAdjacent(request.getCount());
+                if (first < 0) {
+                    return Mono.just(assignment(flightId, List.of()));
+                }
+                seats = new ArrayList<>();
+                for (int i = 0; i < request.getCount(); i++) {
+                    seats.add(new int[]{first / map.seatsPerRow(), first % map.seatsPerRow() + i});
+                }
+            } else {
+                return Mono.error(new InvalidSeatMapException("Name the seats or give a count"));
+            }
+
+            List<int[]> taken = seats;
+            List<String> updated = new ArrayList<>(assigned);
+            updated.addAll(labels(taken));
+            // the map is written first: a crash in between leaves seats taken that nobody owns, never a seat two
+            // bookings own
+            return persist(flightId, map)
+                    .then(Mono.defer(() -> seatAssignmentRepository.updateAssignedSeats(
+                            assignment.getId(), assignment.getAssignedSeats(), String.join(",", updated))))
+                    .flatMap(changed -> changed > 0
+                            ? Mono.just(assignment(flightId, labels(taken)))
+                            : undo(flightId, map, taken).thenReturn(assignment(flightId, List.of())))
+                    .onErrorResume(error -> undo(flightId, map, taken).then(Mono.error(error)));
+        }));
+    }
+
+    /**
+     * Frees the named seats the booking has chosen, leaving its seats sold so it can choose others. Emits the seats
+     * freed.
+     */
+    public Mono<SeatAssignmentResponse> releaseSeats(Long flightId, SeatAssignmentRequest request) {
+        if (request.getSeats() == null || request.getSeats().isEmpty()) {
+            return Mono.error(new InvalidSeatMapException("Name the seats to release"));
+        }
+        return seatMap(flightId).flatMap(map -> booking(flightId, request.getBooking()).flatMap(assignment -> {
+            List<String> assigned = split(assignment.getAssignedSeats());
+            List<String> kept = new ArrayList<>(assigned);
+            List<int[]> released = new ArrayList<>();
+            for (int[] seat : parse(request.getSeats(), map)) {
+                // only seats this booking chose; anyone else's stay taken
+                if (kept.removeAll(labels(List.of(seat)))) {
+                    released.add(seat);
+                }
+            }
+            if (released.isEmpty()) {
+                return Mono.just(assignment(flightId, List.of()));
+            }
+            return seatAssignmentRepository.updateAssignedSeats(
+                            assignment.getId(), assignment.getAssignedSeats(), String.join(",", kept))
+                    .flatMap(changed -> {
+                        if (changed == 0) {
+                            return Mono.just(assignment(flightId, List.of()));
+                        }
+                        releaseAll(map, released);
+                        return persist(flightId, map).thenReturn(assignment(flightId, labels(released)));
+                    });
+        }));
+    }
+
+    private Mono<SeatAssignment> booking(Long flightId, String bookingRef) {
+        return seatAssignmentRepository.findByFlightIdAndBookingRef(flightId, bookingRef)
+                .switchIfEmpty(Mono.error(new InvalidSeatMapException(
+                        "Booking " + bookingRef + " holds no seats on flight " + flightId)));
+    }
+
+    private static void checkFits(SeatAssignment assignment, List<String> assigned, int more) {
+        if (assigned.size() + more > assignment.getSeats()) {
+            throw new InvalidSeatMapException("Booking holds " + assignment.getSeats() + " seats and has chosen "
+                    + assigned.size());
+        }
+    }
+
+    private Mono<Void> undo(Long flightId, SeatMap map, List<int[]> taken) {
+        releaseAll(map, taken);
+        return persist(flightId, map).onErrorResume(error -> Mono.empty());
+    }
+
+    private Mono<SeatMap> seatMap(Long flightId) {
+        Optional<SeatMap> cached = maps.get(flightId);
+        if (cached != null) {
+            return Mono.justOrEmpty(cached);
+        }
+        // a concurrent load of the same flight reads the same row, so whichever lands first is kept
+        return flightSeatMapRepository.findById(flightId)
+                .map(stored -> cache(flightId, new SeatMap(
+                        stored.getSeatRows(), stored.getSeatsPerRow(), stored.getTaken(), stored.getVersion())))
+                // a map created in the meantime is kept
+                .switchIfEmpty(Mono.fromRunnable(() -> maps.putIfAbsent(flightId, Optional.empty())));
+    }
+
+    /**
+     * Keeps {@code map} unless the flight already has one cached, replacing a cached absence. Returns the map kept.
+     */
+    private SeatMap cache(Long flightId, SeatMap map) {
+        return maps.compute(flightId, (id, cached) -> cached != null && cached.isPresent() ? cached : Optional.of(map))
+                .get();
+    }
+
+    private Mono<Void> persist(Long flightId, SeatMap map) {
+        long version = map.version();
+        return flightSeatMapRepository.saveTaken(flightId, map.toBytes(), version).then();
+    }
+
+    private static boolean takeAll(SeatMap map, List<int[]> seats) {
+        for (int i = 0; i < seats.size(); i++) {
+            if (!map.take(seats.get(i)[0], seats.get(i)[1])) {
+                releaseAll(map, seats.subList(0, i));
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void releaseAll(SeatMap map, List<int[]> seats) {
+        seats.forEach(seat -> map.release(seat[0], seat[1]));
+    }
+
+    private static List<int[]> parse(List<String> labels, SeatMap map) {
+        Set<String> unique = new LinkedHashSet<>(labels);
+        List<int[]> seats = new ArrayList<>(unique.size());
+        for (String label : unique) {
+            Matcher matcher = SEAT.matcher(label);
+            if (!matcher.matches()) {
+                throw new InvalidSeatMapException("Invalid seat " + label);
+            }
+            int row = Integer.parseInt(matcher.group(1)) - 1;
+            int seat = matcher.group(2).charAt(0) - 'A';
+            if (row < 0 || row >= map.rows() || seat >= map.seatsPerRow()) {
+                throw new InvalidSeatMapException("No seat " + label + " on this flight");
+            }
+            seats.add(new int[]{row, seat});
+        }
+        return seats;
+    }
+
+    private static List<String> split(String labels) {
+        return labels == null || labels.isEmpty() ? List.of() : List.of(labels.split(","));
+    }
+
+    private static List<String> labels(List<int[]> seats) {
+        return seats.stream().map(seat -> (seat[0] + 1) + String.valueOf((char) ('A' + seat[1]))).toList();
+    }
+
+    private static SeatAssignmentResponse assignment(Long flightId, List<String> seats) {
+        return SeatAssignmentResponse.builder()
+                .flightId(flightId)
+                .seats(seats)
+                .build();
+    }
+
+    private static SeatMapResponse toResponse(Long flightId, SeatMap map) {
+        List<String> rows = new ArrayList<>(map.rows());
+        for (int row = 0; row < map.rows(); row++) {
+            StringBuilder seats = new StringBuilder(map.seatsPerRow());
+            for (int seat = 0; seat < map.seatsPerRow(); seat++) {
+                seats.append(map.isTaken(row, seat) ? 'X' : '.');
+            }
+            rows.add(seats.toString());
+        }
+        return SeatMapResponse.builder()
+                .flightId(flightId)
+                .seatRows(map.rows())
+                .seatsPerRow(map.seatsPerRow())
+                .freeSeats(map.freeSeats())
+                .rows(rows)
+                .build();
+    }
+}
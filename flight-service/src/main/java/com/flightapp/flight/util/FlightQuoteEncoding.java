@@ -0,0 +1,40 @@
+package com.flightapp.flight.util;
+
+import com.flightapp.flight.dto.FlightQuote;
+import org.springframework.http.MediaType;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-layout binary form of a {@link FlightQuote}, served instead of JSON when the client accepts
+ * {@value #MEDIA_TYPE_VALUE}: the seat count as a 4-byte int, the price as an 8-byte double, then the flight number
+ * as a 2-byte length and UTF-8 bytes, all big-endian.
+ */
+public final class FlightQuoteEncoding {
+
+    public static final String MEDIA_TYPE_VALUE = "application/x-flight-quote";
+    public static final MediaType MEDIA_TYPE = MediaType.parseMediaType(MEDIA_TYPE_VALUE);
+
+    private FlightQuoteEncoding() {
+    }
+
+    public static byte[] encode(FlightQuote quote) {
+        byte[] flightNumber = quote.getFlightNumber().getBytes(StandardCharsets.UTF_8);
+        return ByteBuffer.allocate(Integer.BYTES + Double.BYTES + Short.BYTES + flightNumber.length)
+                .putInt(quote.getAvailableSeats())
+                .putDouble(quote.getPrice())
+                .putShort((short) flightNumber.length)
+                .put(flightNumber)
+                .array();
+    }
+
+    public static FlightQuote decode(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        int availableSeats = buffer.getInt();
+        double price = buffer.getDouble();
+        byte[] flightNumber = new byte[buffer.getShort()];
+        buffer.get(flightNumber);
+        return new FlightQuote(new String(flightNumber, StandardCharsets.UTF_8), availableSeats, price);
+    }
+}
@@ -0,0 +1,61 @@
+package com.flightapp.flight.util;
+
+import com.flightapp.flight.dto.FlightSortOrder;
+import com.flightapp.flight.exception.InvalidCursorException;
+import com.flightapp.flight.index.FlightRecord;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset position in a sorted search result: the sort key and id of the last flight returned. Encoded as
+ * URL-safe Base64 of {@code SORT:key:id} so clients treat it as opaque.
+ */
+public record FlightSearchCursor(FlightSortOrder sort, double key, long id) {
+
+    public static FlightSearchCursor after(FlightSortOrder sort, FlightRecord flight) {
+        return new FlightSearchCursor(sort, sort.key(flight), flight.id());
+    }
+
+    public static FlightSearchCursor decode(String cursor, FlightSortOrder expectedSort) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new InvalidCursorException("Malformed cursor");
+            }
+            FlightSortOrder sort = FlightSortOrder.valueOf(parts[0]);
+            if (sort != expectedSort) {
+                throw new InvalidCursorException("Cursor was issued for sort order " + sort);
+            }
+            return new FlightSearchCursor(sort, Double.parseDouble(parts[1]), Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Malformed cursor");
+        }
+    }
+
+    public String encode() {
+        String raw = sort.name() + ":" + key + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Index of the first flight in {@code sorted} (ordered by {@link FlightSortOrder#comparator()}) that comes
+     * after this position. Flights added or removed since the previous page do not shift the position.
+     */
+    public int firstIndexAfter(List<FlightRecord> sorted) {
+        int low = 0;
+        int high = sorted.size();
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            FlightRecord flight = sorted.get(mid);
+            int compared = Double.compare(sort.key(flight), key);
+            if (compared < 0 || (compared == 0 && flight.id() <= id)) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+}
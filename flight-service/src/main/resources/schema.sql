@@ -11,6 +11,74 @@ CREATE TABLE IF NOT EXISTS flight_inventory (
     status VARCHAR(20) NOT NULL,
     created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
     updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    INDEX idx_flight_search (origin, destination, departure_time),
+    -- equality on route and status, then the range on departure_time; the few rows of a route/day are read from the
+    -- table, since covering available_seats and updated_at would rewrite an index entry on every booking
+    INDEX idx_flight_search (origin, destination, status, departure_time),
     INDEX idx_flight_number (flight_number)
 );
+
+CREATE TABLE IF NOT EXISTS flight_schedule (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    flight_number VARCHAR(11) NOT NULL,
+    airline VARCHAR(100) NOT NULL,
+    origin VARCHAR(100) NOT NULL,
+    destination VARCHAR(100) NOT NULL,
+    departure_time TIME NOT NULL,
+    duration_minutes INT NOT NULL,
+    -- bit (ISO day of week - 1) set for each operating day, Monday = 1
+    days_of_week TINYINT NOT NULL,
+    valid_from DATE NOT NULL,
+    valid_to DATE NOT NULL,
+    available_seats INT NOT NULL,
+    price DECIMAL(10, 2) NOT NULL,
+    status VARCHAR(20) NOT NULL,
+    -- last day whose flights have been written to flight_inventory
+    materialized_through DATE,
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    INDEX idx_schedule_materialization (status, materialized_through)
+);
+
+CREATE TABLE IF NOT EXISTS seat_hold (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    flight_id BIGINT NOT NULL,
+    seats INT NOT NULL,
+    -- OPEN until confirmed (row deleted) or until its seats start going back to the flight (RETURNING)
+    state VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    expires_at DATETIME NOT NULL,
+    -- the instance returning the seats and when it last claimed them; another may take over once the lease runs out
+    claimed_by VARCHAR(64),
+    claimed_at DATETIME(6),
+    created_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS flight_seat_map (
+    flight_id BIGINT PRIMARY KEY,
+    seat_rows INT NOT NULL,
+    seats_per_row INT NOT NULL,
+    -- one big-endian 64-bit word per row, bit n set when seat n of the row (A = 0) is taken
+    taken BLOB NOT NULL,
+    -- grows with every change; a snapshot only replaces an older one
+    version BIGINT NOT NULL,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS seat_journal_checkpoint (
+    -- one row per seat journal directory, named by the id stored in that directory
+    journal_id VARCHAR(64) PRIMARY KEY,
+    -- every segment up to this one is already in flight_inventory and is skipped on recovery
+    flushed_segment BIGINT NOT NULL,
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE IF NOT EXISTS seat_assignment (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    flight_id BIGINT NOT NULL,
+    -- the booking that took these seats from available_seats; only its cancellation gives them back
+    booking_ref VARCHAR(64) NOT NULL,
+    seats INT NOT NULL,
+    -- seats of the booking chosen in flight_seat_map so far, comma separated, never more than seats of them
+    assigned_seats VARCHAR(1024) NOT NULL DEFAULT '',
+    updated_at DATETIME DEFAULT CURRENT_TIMESTAMP,
+    UNIQUE KEY uk_seat_assignment_booking (flight_id, booking_ref)
+);
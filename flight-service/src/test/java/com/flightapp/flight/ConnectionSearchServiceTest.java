@@ -0,0 +1,127 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.ConnectionSearchRequest;
+import com.flightapp.flight.dto.ConnectionSearchResponse;
+import com.flightapp.flight.dto.Itinerary;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.RouteGraph;
+import com.flightapp.flight.service.ConnectionSearchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConnectionSearchServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 15);
+
+    private RouteGraph routeGraph;
+    private ConnectionSearchService service;
+
+    @BeforeEach
+    void setUp() {
+        routeGraph = new RouteGraph();
+        service = new ConnectionSearchService(routeGraph, Duration.ofMinutes(45), Duration.ofHours(6),
+                Duration.ofSeconds(5), 10);
+    }
+
+    private static FlightRecord flight(long id, String origin, String destination, int departHour, int arriveHour,
+                                       double price) {
+        return FlightRecord.from(FlightInventory.builder()
+                .id(id)
+                .flightNumber("AI" + id)
+                .airline("Air India")
+                .origin(origin)
+                .destination(destination)
+                .departureTime(DAY.atTime(departHour, 0))
+                .arrivalTime(DAY.atTime(arriveHour, 0))
+                .availableSeats(100)
+                .price(price)
+                .status("ACTIVE")
+                .build());
+    }
+
+    private ConnectionSearchResponse search(String origin, String destination, Integer maxStops) {
+        return service.searchConnections(ConnectionSearchRequest.builder()
+                .origin(origin)
+                .destination(destination)
+                .travelDate(DAY)
+                .maxStops(maxStops)
+                .build()).block();
+    }
+
+    private static List<List<String>> routes(ConnectionSearchResponse response) {
+        return response.getItineraries().stream()
+                .map(Itinerary::getLegs)
+                .map(legs -> legs.stream().map(FlightInventory::getFlightNumber).toList())
+                .toList();
+    }
+
+    @Test
+    void testNotReady_ReturnsIncomplete() {
+        ConnectionSearchResponse response = search("DEL", "BLR", null);
+
+        assertFalse(response.getComplete());
+        assertTrue(response.getItineraries().isEmpty());
+    }
+
+    @Test
+    void testOneStop_RespectsLayoverWindow() {
+        routeGraph.onReload(List.of(
+                flight(1, "DEL", "BOM", 8, 10, 3000),
+                flight(2, "BOM", "BLR", 10, 12, 2000),   // 0 min layover
+                flight(3, "BOM", "BLR", 11, 13, 2500),   // 60 min layover
+                flight(4, "BOM", "BLR", 17, 19, 1000),   // 7 h layover
+                flight(5, "DEL", "BLR", 9, 12, 9000)));  // direct, not a connection
+
+        ConnectionSearchResponse response = search("DEL", "BLR", null);
+
+        assertTrue(response.getComplete());
+        assertEquals(List.of(List.of("AI1", "AI3")), routes(response));
+        Itinerary itinerary = response.getItineraries().get(0);
+        assertEquals(1, itinerary.getStops());
+        assertEquals(5500.0, itinerary.getTotalPrice());
+        assertEquals(300, itinerary.getTotalDurationMinutes());
+    }
+
+    @Test
+    void testTwoStops_OrderedByPriceAndLimitedByMaxStops() {
+        routeGraph.onReload(List.of(
+                flight(1, "DEL", "BOM", 6, 8, 3000),
+                flight(2, "BOM", "HYD", 9, 10, 1000),
+                flight(3, "HYD", "BLR", 11, 12, 1000),
+                flight(4, "BOM", "BLR", 9, 11, 6000)));
+
+        assertEquals(List.of(List.of("AI1", "AI2", "AI3"), List.of("AI1", "AI4")), routes(search("DEL", "BLR", 2)));
+        assertEquals(List.of(List.of("AI1", "AI4")), routes(search("DEL", "BLR", 1)));
+    }
+
+    @Test
+    void testSkipsSoldOutLegsAndAirportRevisits() {
+        routeGraph.onReload(List.of(
+                flight(1, "DEL", "BOM", 6, 8, 3000),
+                flight(2, "BOM", "DEL", 9, 11, 3000),
+                flight(3, "DEL", "BLR", 12, 14, 3000),
+                flight(4, "BOM", "BLR", 9, 11, 3000).withAvailableSeats(0)));
+
+        assertTrue(search("DEL", "BLR", 2).getItineraries().isEmpty());
+    }
+
+    @Test
+    void testGraphFollowsIncrementalChanges() {
+        FlightRecord secondLeg = flight(2, "BOM", "BLR", 10, 12, 2000);
+        routeGraph.onReload(List.of(flight(1, "DEL", "BOM", 8, 9, 3000), secondLeg));
+        assertEquals(1, search("DEL", "BLR", 1).getItineraries().size());
+
+        routeGraph.onFlightChanged(secondLeg, secondLeg.withAvailableSeats(0));
+        assertTrue(search("DEL", "BLR", 1).getItineraries().isEmpty());
+
+        routeGraph.onFlightChanged(null, flight(3, "BOM", "BLR", 11, 13, 2000));
+        assertEquals(List.of(List.of("AI1", "AI3")), routes(search("DEL", "BLR", 1)));
+    }
+}
@@ -0,0 +1,134 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.DestinationFare;
+import com.flightapp.flight.dto.ExploreRequest;
+import com.flightapp.flight.dto.ExploreResponse;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.OriginFares;
+import com.flightapp.flight.service.ExploreService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ExploreServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 15);
+
+    private OriginFares originFares;
+    private ExploreService service;
+
+    @BeforeEach
+    void setUp() {
+        originFares = new OriginFares();
+        service = new ExploreService(originFares, 10);
+    }
+
+    private static FlightRecord flight(long id, String destination, LocalDate day, double price) {
+        return FlightRecord.from(FlightInventory.builder()
+                .id(id)
+                .flightNumber("AI" + id)
+                .airline("Air India")
+                .origin("DEL")
+                .destination(destination)
+                .departureTime(day.atTime(8, 0))
+                .arrivalTime(day.atTime(10, 0))
+                .availableSeats(100)
+                .price(price)
+                .status("ACTIVE")
+                .build());
+    }
+
+    private ExploreResponse explore(LocalDate from, LocalDate to, Integer limit) {
+        return service.explore(ExploreRequest.builder()
+                .origin("del")
+                .fromDate(from)
+                .toDate(to)
+                .limit(limit)
+                .build()).block();
+    }
+
+    private static List<String> destinations(ExploreResponse response) {
+        return response.getDestinations().stream().map(DestinationFare::getDestination).toList();
+    }
+
+    @Test
+    void testNotReady_ReturnsIncomplete() {
+        ExploreResponse response = explore(DAY, DAY, null);
+
+        assertFalse(response.getComplete());
+        assertTrue(response.getDestinations().isEmpty());
+    }
+
+    @Test
+    void testCheapestFlightPerDestination_WithinWindow() {
+        originFares.onReload(List.of(
+                flight(1, "BOM", DAY, 5000),
+                flight(2, "BOM", DAY.plusDays(1), 3000),
+                flight(3, "BLR", DAY, 4000),
+                flight(4, "GOI", DAY.plusDays(5), 1000),   // outside the window
+                flight(5, "HYD", DAY, 2000).withAvailableSeats(0)));
+
+        ExploreResponse response = explore(DAY, DAY.plusDays(2), null);
+
+        assertTrue(response.getComplete());
+        assertEquals(List.of("BOM", "BLR"), destinations(response));
+        assertEquals(2L, response.getDestinations().get(0).getFlightId());
+        assertEquals(3000.0, response.getDestinations().get(0).getPrice());
+    }
+
+    @Test
+    void testLimitKeepsCheapestDestinations() {
+        originFares.onReload(List.of(
+                flight(1, "BOM", DAY, 5000),
+                flight(2, "BLR", DAY, 4000),
+                flight(3, "GOI", DAY, 6000)));
+
+        assertEquals(List.of("BLR", "BOM"), destinations(explore(DAY, DAY, 2)));
+    }
+
+    @Test
+    void testFollowsIncrementalChanges() {
+        FlightRecord cheapest = flight(1, "BOM", DAY, 2000);
+        originFares.onReload(List.of(cheapest, flight(2, "BLR", DAY, 4000)));
+
+        originFares.onFlightChanged(cheapest, cheapest.withAvailableSeats(0));
+        assertEquals(List.of("BLR"), destinations(explore(DAY, DAY, null)));
+
+        originFares.onFlightChanged(null, flight(3, "GOI", DAY, 1500));
+        assertEquals(List.of("GOI", "BLR"), destinations(explore(DAY, DAY, null)));
+    }
+
+    @Test
+    void testNextFlightOnTheDayTakesOverWhenCheapestSellsOut() {
+        FlightRecord cheapest = flight(1, "BOM", DAY, 2000);
+        originFares.onReload(List.of(
+                cheapest,
+                flight(2, "BOM", DAY, 4500),
+                flight(3, "BLR", DAY, 3000),
+                flight(4, "BOM", DAY.plusDays(3), 1000)));
+
+        originFares.onFlightChanged(cheapest, cheapest.withAvailableSeats(0));
+        ExploreResponse response = explore(DAY, DAY.plusDays(1), null);
+
+        assertEquals(List.of("BLR", "BOM"), destinations(response));
+        assertEquals(2L, response.getDestinations().get(1).getFlightId());
+    }
+
+    @Test
+    void testRejectsReversedRange() {
+        StepVerifier.create(service.explore(ExploreRequest.builder()
+                        .origin("DEL")
+                        .fromDate(DAY)
+                        .toDate(DAY.minusDays(1))
+                        .build()))
+                .expectError(InvalidDateRangeException.class)
+                .verify();
+    }
+}
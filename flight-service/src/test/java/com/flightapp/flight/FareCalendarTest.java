@@ -0,0 +1,155 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.FareCalendarDay;
+import com.flightapp.flight.dto.FareCalendarRequest;
+import com.flightapp.flight.dto.FlightSearchRow;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.index.FareCalendar;
+import com.flightapp.flight.index.FareCalendar.DayFare;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.service.FareCalendarService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FareCalendarTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 15);
+
+    @Mock
+    private FlightInventoryRepository flightInventoryRepository;
+
+    private FareCalendar fareCalendar;
+    private FareCalendarService service;
+
+    @BeforeEach
+    void setUp() {
+        fareCalendar = new FareCalendar();
+        service = new FareCalendarService(fareCalendar, flightInventoryRepository, 31);
+    }
+
+    private static FlightRecord flight(long id, LocalDate day, double price) {
+        return FlightRecord.from(FlightInventory.builder()
+                .id(id)
+                .flightNumber("AI" + id)
+                .airline("Air India")
+                .origin("DEL")
+                .destination("BOM")
+                .departureTime(day.atTime(8, 0))
+                .arrivalTime(day.atTime(10, 0))
+                .availableSeats(100)
+                .price(price)
+                .status("ACTIVE")
+                .build());
+    }
+
+    private static FareCalendarRequest request(LocalDate from, LocalDate to) {
+        return FareCalendarRequest.builder()
+                .origin("del")
+                .destination("bom")
+                .fromDate(from)
+                .toDate(to)
+                .build();
+    }
+
+    @Test
+    void testReload_AggregatesBookableFlightsPerDay() {
+        fareCalendar.onReload(List.of(
+                flight(1, DAY, 5000),
+                flight(2, DAY, 4500),
+                flight(3, DAY, 3000).withAvailableSeats(0),
+                flight(4, DAY.plusDays(1), 6000)));
+
+        Map<LocalDate, DayFare> fares = fareCalendar.fares("DEL", "BOM", DAY, DAY.plusDays(3));
+
+        assertEquals(new DayFare(4500, 2), fares.get(DAY));
+        assertEquals(new DayFare(6000, 1), fares.get(DAY.plusDays(1)));
+        assertEquals(2, fares.size());
+    }
+
+    @Test
+    void testIncrementalChanges_UpdateMinimumAndCount() {
+        FlightRecord cheapest = flight(1, DAY, 4000);
+        fareCalendar.onReload(List.of(cheapest, flight(2, DAY, 5000)));
+
+        fareCalendar.onFlightChanged(cheapest, cheapest.withAvailableSeats(0));
+        assertEquals(new DayFare(5000, 1), fareCalendar.fares("DEL", "BOM", DAY, DAY).get(DAY));
+
+        fareCalendar.onFlightChanged(cheapest.withAvailableSeats(0), cheapest.withAvailableSeats(5));
+        fareCalendar.onFlightChanged(null, flight(3, DAY, 3500));
+        assertEquals(new DayFare(3500, 3), fareCalendar.fares("DEL", "BOM", DAY, DAY).get(DAY));
+    }
+
+    @Test
+    void testUntrackedChange_NotReadyUntilReload() {
+        fareCalendar.onReload(List.of(flight(1, DAY, 5000)));
+        assertTrue(fareCalendar.isReady());
+
+        fareCalendar.onUntrackedChange(99L);
+        assertFalse(fareCalendar.isReady());
+
+        fareCalendar.onReload(List.of(flight(1, DAY, 5000), flight(99, DAY, 4000)));
+        assertTrue(fareCalendar.isReady());
+        assertEquals(new DayFare(4000, 2), fareCalendar.fares("DEL", "BOM", DAY, DAY).get(DAY));
+    }
+
+    @Test
+    void testFlightMovedToAnotherDay_LeavesOldDayEmpty() {
+        FlightRecord original = flight(1, DAY, 4000);
+        fareCalendar.onReload(List.of(original));
+
+        fareCalendar.onFlightChanged(original, flight(1, DAY.plusDays(2), 4000));
+
+        Map<LocalDate, DayFare> fares = fareCalendar.fares("DEL", "BOM", DAY, DAY.plusDays(2));
+        assertEquals(List.of(DAY.plusDays(2)), List.copyOf(fares.keySet()));
+    }
+
+    @Test
+    void testService_ReturnsEveryDayOfTheRange() {
+        fareCalendar.onReload(List.of(flight(1, DAY, 4000), flight(2, DAY.plusDays(2), 3000)));
+
+        StepVerifier.create(service.fareCalendar(request(DAY.minusDays(1), DAY.plusDays(2))).map(FareCalendarDay::getFlightCount))
+                .expectNext(0, 1, 0, 1)
+                .verifyComplete();
+        verifyNoInteractions(flightInventoryRepository);
+    }
+
+    @Test
+    void testService_QueriesDatabaseUntilLoaded() {
+        when(flightInventoryRepository.findBookableFlights(eq("del"), eq("bom"), any(), any()))
+                .thenReturn(Flux.just(
+                        FlightSearchRow.builder().departureTime(DAY.atTime(8, 0)).price(5000.0).build(),
+                        FlightSearchRow.builder().departureTime(DAY.atTime(14, 0)).price(4500.0).build()));
+
+        StepVerifier.create(service.fareCalendar(request(DAY, DAY.plusDays(1))))
+                .expectNext(FareCalendarDay.builder().date(DAY).minPrice(4500.0).flightCount(2).build())
+                .expectNext(FareCalendarDay.builder().date(DAY.plusDays(1)).flightCount(0).build())
+                .verifyComplete();
+    }
+
+    @Test
+    void testService_RejectsInvalidRanges() {
+        StepVerifier.create(service.fareCalendar(request(DAY, DAY.minusDays(1))))
+                .expectError(InvalidDateRangeException.class)
+                .verify();
+        StepVerifier.create(service.fareCalendar(request(DAY, DAY.plusDays(31))))
+                .expectError(InvalidDateRangeException.class)
+                .verify();
+    }
+}
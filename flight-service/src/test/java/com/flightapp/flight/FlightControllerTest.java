@@ -1,10 +1,45 @@
 package com.flightapp.flight;
 
 import com.flightapp.flight.controller.FlightController;
+import com.flightapp.flight.dto.ConnectionSearchRequest;
+import com.flightapp.flight.dto.ConnectionSearchResponse;
+import com.flightapp.flight.dto.DestinationFare;
+import com.flightapp.flight.dto.ExploreRequest;
+import com.flightapp.flight.dto.ExploreResponse;
+import com.flightapp.flight.dto.FareCalendarDay;
+import com.flightapp.flight.dto.FareCalendarRequest;
 import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightQuote;
+import com.flightapp.flight.dto.FlightScheduleRequest;
+import com.flightapp.flight.dto.FlightSearchPage;
+import com.flightapp.flight.dto.FlightSearchPageRequest;
 import com.flightapp.flight.dto.FlightSearchRequest;
+import com.flightapp.flight.dto.FlightSortOrder;
+import com.flightapp.flight.dto.InventoryImportBatch;
+import com.flightapp.flight.dto.Itinerary;
+import com.flightapp.flight.dto.SeatAssignmentRequest;
+import com.flightapp.flight.dto.SeatAssignmentResponse;
+import com.flightapp.flight.dto.SeatBatchRequest;
+import com.flightapp.flight.dto.SeatBatchResponse;
+import com.flightapp.flight.dto.SeatHoldRequest;
+import com.flightapp.flight.dto.SeatMapRequest;
+import com.flightapp.flight.dto.SeatOperation;
 import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.entity.FlightSchedule;
+import com.flightapp.flight.entity.SeatHold;
+import com.flightapp.flight.exception.InvalidCursorException;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.exception.InvalidSeatMapException;
+import com.flightapp.flight.service.ConnectionSearchService;
+import com.flightapp.flight.service.ExploreService;
+import com.flightapp.flight.service.FareCalendarService;
+import com.flightapp.flight.service.FlightScheduleService;
 import com.flightapp.flight.service.FlightService;
+import com.flightapp.flight.service.InventoryImportService;
+import com.flightapp.flight.service.SeatBatchService;
+import com.flightapp.flight.service.SeatHoldService;
+import com.flightapp.flight.service.SeatMapService;
+import com.flightapp.flight.util.FlightQuoteEncoding;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -17,10 +52,16 @@ import reactor.core.publisher.Mono;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @WebFluxTest(FlightController.class)
@@ -32,6 +73,30 @@ class FlightControllerTest {
     @MockBean
     private FlightService flightService;
 
+    @MockBean
+    private ConnectionSearchService connectionSearchService;
+
+    @MockBean
+    private FareCalendarService fareCalendarService;
+
+    @MockBean
+    private ExploreService exploreService;
+
+    @MockBean
+    private InventoryImportService inventoryImportService;
+
+    @MockBean
+    private FlightScheduleService flightScheduleService;
+
+    @MockBean
+    private SeatBatchService seatBatchService;
+
+    @MockBean
+    private SeatHoldService seatHoldService;
+
+    @MockBean
+    private SeatMapService seatMapService;
+
     private FlightInventory testFlight;
     private FlightInventoryRequest testRequest;
     private FlightSearchRequest searchRequest;
@@ -100,6 +165,178 @@ class FlightControllerTest {
                 .hasSize(0);
     }
 
+    @Test
+    void testSearchFlightsPage_Success() {
+        when(flightService.searchFlightsPage(any(FlightSearchPageRequest.class)))
+                .thenReturn(Mono.just(FlightSearchPage.builder()
+                        .flights(List.of(testFlight))
+                        .nextCursor("cursor")
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/flights/search/page")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FlightSearchPageRequest.builder()
+                        .origin("DEL")
+                        .destination("BOM")
+                        .travelDate(LocalDate.of(2025, 12, 15))
+                        .sort(FlightSortOrder.PRICE)
+                        .limit(1)
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.flights[0].flightNumber").isEqualTo("AI101")
+                .jsonPath("$.nextCursor").isEqualTo("cursor");
+    }
+
+    @Test
+    void testSearchFlightsPage_InvalidCursor() {
+        when(flightService.searchFlightsPage(any(FlightSearchPageRequest.class)))
+                .thenReturn(Mono.error(new InvalidCursorException("Malformed cursor")));
+
+        webTestClient.post()
+                .uri("/api/flights/search/page")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FlightSearchPageRequest.builder()
+                        .origin("DEL")
+                        .destination("BOM")
+                        .travelDate(LocalDate.of(2025, 12, 15))
+                        .cursor("not-a-cursor")
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testStreamFlights_Success() {
+        when(flightService.streamFlights(any(FlightSearchPageRequest.class)))
+                .thenReturn(Flux.just(testFlight));
+
+        webTestClient.post()
+                .uri("/api/flights/search/stream")
+                .contentType(MediaType.APPLICATION_JSON)
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue(searchRequest)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(FlightInventory.class)
+                .contains(testFlight);
+    }
+
+    @Test
+    void testSearchConnections_Success() {
+        when(connectionSearchService.searchConnections(any(ConnectionSearchRequest.class)))
+                .thenReturn(Mono.just(ConnectionSearchResponse.builder()
+                        .itineraries(List.of(Itinerary.builder()
+                                .legs(List.of(testFlight, testFlight))
+                                .stops(1)
+                                .totalPrice(10000.0)
+                                .build()))
+                        .complete(true)
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/flights/search/connections")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ConnectionSearchRequest.builder()
+                        .origin("DEL")
+                        .destination("BLR")
+                        .travelDate(LocalDate.of(2025, 12, 15))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.itineraries[0].stops").isEqualTo(1)
+                .jsonPath("$.complete").isEqualTo(true);
+    }
+
+    @Test
+    void testSearchConnections_InvalidRequest() {
+        webTestClient.post()
+                .uri("/api/flights/search/connections")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ConnectionSearchRequest.builder()
+                        .origin("DEL")
+                        .destination("BLR")
+                        .travelDate(LocalDate.of(2025, 12, 15))
+                        .maxStops(3)
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testFareCalendar_Success() {
+        when(fareCalendarService.fareCalendar(any(FareCalendarRequest.class)))
+                .thenReturn(Flux.just(FareCalendarDay.builder()
+                        .date(LocalDate.of(2025, 12, 15))
+                        .minPrice(4500.0)
+                        .flightCount(2)
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/flights/search/calendar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FareCalendarRequest.builder()
+                        .origin("DEL")
+                        .destination("BOM")
+                        .fromDate(LocalDate.of(2025, 12, 12))
+                        .toDate(LocalDate.of(2025, 12, 18))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$[0].minPrice").isEqualTo(4500.0)
+                .jsonPath("$[0].flightCount").isEqualTo(2);
+    }
+
+    @Test
+    void testFareCalendar_InvalidRange() {
+        when(fareCalendarService.fareCalendar(any(FareCalendarRequest.class)))
+                .thenReturn(Flux.error(new InvalidDateRangeException("To date is before from date")));
+
+        webTestClient.post()
+                .uri("/api/flights/search/calendar")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FareCalendarRequest.builder()
+                        .origin("DEL")
+                        .destination("BOM")
+                        .fromDate(LocalDate.of(2025, 12, 18))
+                        .toDate(LocalDate.of(2025, 12, 12))
+                        .build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testExplore_Success() {
+        when(exploreService.explore(any(ExploreRequest.class)))
+                .thenReturn(Mono.just(ExploreResponse.builder()
+                        .destinations(List.of(DestinationFare.builder()
+                                .destination("BOM")
+                                .price(4500.0)
+                                .flightId(1L)
+                                .build()))
+                        .complete(true)
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/flights/search/explore")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(ExploreRequest.builder()
+                        .origin("DEL")
+                        .fromDate(LocalDate.of(2025, 12, 15))
+                        .toDate(LocalDate.of(2025, 12, 22))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.destinations[0].destination").isEqualTo("BOM")
+                .jsonPath("$.complete").isEqualTo(true);
+    }
+
     @Test
     void testAddInventory_Success() {
         when(flightService.addInventory(any(FlightInventoryRequest.class)))
@@ -115,6 +352,70 @@ class FlightControllerTest {
                 .isEqualTo(testFlight);
     }
 
+    @Test
+    void testImportInventory_StreamsBatchReports() {
+        when(inventoryImportService.importInventory(any(), eq(true)))
+                .thenReturn(Flux.just(InventoryImportBatch.builder()
+                        .batch(1L)
+                        .imported(1)
+                        .failed(0)
+                        .errors(List.of())
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/flights/add/bulk")
+                .contentType(MediaType.parseMediaType("text/csv"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .bodyValue("flightNumber,airline\nAI101,Air India\n")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .expectBodyList(InventoryImportBatch.class)
+                .hasSize(1);
+    }
+
+    @Test
+    void testCreateSchedule_Success() {
+        when(flightScheduleService.createSchedule(any(FlightScheduleRequest.class)))
+                .thenReturn(Mono.just(FlightSchedule.builder()
+                        .id(1L)
+                        .flightNumber("AI101")
+                        .materializedThrough(LocalDate.of(2026, 1, 13))
+                        .build()));
+
+        webTestClient.post()
+                .uri("/api/flights/schedules")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(FlightScheduleRequest.builder()
+                        .flightNumber("AI101")
+                        .airline("Air India")
+                        .origin("DEL")
+                        .destination("BOM")
+                        .departureTime(LocalTime.of(8, 0))
+                        .durationMinutes(150)
+                        .validFrom(LocalDate.of(2025, 12, 1))
+                        .validTo(LocalDate.of(2026, 3, 31))
+                        .availableSeats(180)
+                        .price(5000.0)
+                        .build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isEqualTo(1)
+                .jsonPath("$.materializedThrough").isEqualTo("2026-01-13");
+    }
+
+    @Test
+    void testGetSchedule_NotFound() {
+        when(flightScheduleService.getSchedule(anyLong()))
+                .thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/api/flights/schedules/999")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     void testGetFlightById_Success() {
         when(flightService.getFlightById(anyLong()))
@@ -178,6 +479,20 @@ class FlightControllerTest {
                 .isEqualTo(true);
     }
 
+    @Test
+    void testRestoreSeats_WithBookingFreesItsSeatMapSeats() {
+        when(seatMapService.restore(1L, 2, "PNR1")).thenReturn(Mono.just(true));
+
+        webTestClient.put()
+                .uri("/api/flights/inventory/1/restore-seats?seats=2&booking=PNR1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(Boolean.class)
+                .isEqualTo(true);
+
+        verify(flightService, never()).restoreSeats(anyLong(), anyInt());
+    }
+
     @Test
     void testRestoreSeats_Failed() {
         when(flightService.restoreSeats(anyLong(), anyInt()))
@@ -190,4 +505,161 @@ class FlightControllerTest {
                 .expectBody(Boolean.class)
                 .isEqualTo(false);
     }
+
+    @Test
+    void testApplySeatBatch_Success() {
+        SeatBatchResponse response = SeatBatchResponse.builder().applied(2).rejected(0).results(List.of()).build();
+        when(seatBatchService.applyBatch(any(SeatBatchRequest.class))).thenReturn(Mono.just(response));
+
+        webTestClient.put()
+                .uri("/api/flights/inventory/seats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SeatBatchRequest.builder()
+                        .operations(List.of(new SeatOperation(1L, -2), new SeatOperation(2L, 3)))
+                        .build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SeatBatchResponse.class)
+                .isEqualTo(response);
+    }
+
+    @Test
+    void testApplySeatBatch_EmptyBatch() {
+        webTestClient.put()
+                .uri("/api/flights/inventory/seats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SeatBatchRequest.builder().operations(List.of()).build())
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testHoldSeats_Created() {
+        SeatHold hold = SeatHold.builder().id(1L).flightId(1L).seats(2).build();
+        when(seatHoldService.hold(any(SeatHoldRequest.class))).thenReturn(Mono.just(hold));
+
+        webTestClient.post()
+                .uri("/api/flights/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SeatHoldRequest.builder().flightId(1L).seats(2).build())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(SeatHold.class)
+                .isEqualTo(hold);
+    }
+
+    @Test
+    void testHoldSeats_NotEnoughSeats() {
+        when(seatHoldService.hold(any(SeatHoldRequest.class))).thenReturn(Mono.empty());
+
+        webTestClient.post()
+                .uri("/api/flights/holds")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SeatHoldRequest.builder().flightId(1L).seats(200).build())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testConfirmHold_Expired() {
+        when(seatHoldService.confirm(1L)).thenReturn(Mono.just(false));
+
+        webTestClient.post()
+                .uri("/api/flights/holds/1/confirm")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    void testReleaseHold() {
+        when(seatHoldService.release(1L)).thenReturn(Mono.just(true));
+
+        webTestClient.delete()
+                .uri("/api/flights/holds/1")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    void testCreateSeatMap_LayoutTooSmall() {
+        when(seatMapService.createSeatMap(eq(1L), any(SeatMapRequest.class)))
+                .thenReturn(Mono.error(new InvalidSeatMapException("Layout has 120 seats but 180 are for sale")));
+
+        webTestClient.put()
+                .uri("/api/flights/inventory/1/seat-map")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(new SeatMapRequest(20, 6))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void testAssignSeats_Assigned() {
+        SeatAssignmentResponse assignment = new SeatAssignmentResponse(1L, List.of("2A", "2B"));
+        when(seatMapService.assignSeats(eq(1L), any(SeatAssignmentRequest.class))).thenReturn(Mono.just(assignment));
+
+        webTestClient.post()
+                .uri("/api/flights/inventory/1/seat-map/assign")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SeatAssignmentRequest.builder().booking("PNR1").count(2).build())
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody(SeatAssignmentResponse.class)
+                .isEqualTo(assignment);
+    }
+
+    @Test
+    void testAssignSeats_NotAvailable() {
+        when(seatMapService.assignSeats(eq(1L), any(SeatAssignmentRequest.class)))
+                .thenReturn(Mono.just(new SeatAssignmentResponse(1L, List.of())));
+
+        webTestClient.post()
+                .uri("/api/flights/inventory/1/seat-map/assign")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(SeatAssignmentRequest.builder().booking("PNR1").seats(List.of("1A")).build())
+                .exchange()
+                .expectStatus().isEqualTo(409);
+    }
+
+    @Test
+    void testGetFlightQuote_Json() {
+        FlightQuote quote = new FlightQuote("AI101", 150, 5000.0);
+        when(flightService.getFlightQuote(1L)).thenReturn(Mono.just(quote));
+
+        webTestClient.get()
+                .uri("/api/flights/inventory/1/quote")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(MediaType.APPLICATION_JSON)
+                .expectBody(FlightQuote.class)
+                .isEqualTo(quote);
+    }
+
+    @Test
+    void testGetFlightQuote_Binary() {
+        FlightQuote quote = new FlightQuote("AI101", 150, 5000.0);
+        when(flightService.getFlightQuote(1L)).thenReturn(Mono.just(quote));
+
+        byte[] body = webTestClient.get()
+                .uri("/api/flights/inventory/1/quote")
+                .accept(FlightQuoteEncoding.MEDIA_TYPE)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentType(FlightQuoteEncoding.MEDIA_TYPE)
+                .expectBody(byte[].class)
+                .returnResult()
+                .getResponseBody();
+
+        assertEquals(quote, FlightQuoteEncoding.decode(body));
+    }
+
+    @Test
+    void testGetFlightQuote_NotFound() {
+        when(flightService.getFlightQuote(999L)).thenReturn(Mono.empty());
+
+        webTestClient.get()
+                .uri("/api/flights/inventory/999/quote")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
 }
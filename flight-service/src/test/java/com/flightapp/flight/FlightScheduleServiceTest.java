@@ -0,0 +1,178 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightScheduleRequest;
+import com.flightapp.flight.entity.FlightSchedule;
+import com.flightapp.flight.exception.InvalidDateRangeException;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.repository.FlightScheduleRepository;
+import com.flightapp.flight.service.FlightScheduleService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.EnumSet;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightScheduleServiceTest {
+
+    @Mock
+    private FlightScheduleRepository flightScheduleRepository;
+
+    @Mock
+    private FlightInventoryRepository flightInventoryRepository;
+
+    @Mock
+    private FlightInventoryBatchWriter flightInventoryBatchWriter;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    private FlightScheduleService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new FlightScheduleService(flightScheduleRepository, flightInventoryRepository,
+                flightInventoryBatchWriter, flightSearchIndex, 6, 3, 2);
+    }
+
+    private static FlightSchedule schedule(Integer daysOfWeek) {
+        return FlightSchedule.builder()
+                .id(1L)
+                .flightNumber("AI101")
+                .airline("Air India")
+                .origin("DEL")
+                .destination("BOM")
+                .departureTime(LocalTime.of(22, 30))
+                .durationMinutes(150)
+                .daysOfWeek(daysOfWeek)
+                .validFrom(LocalDate.of(2025, 12, 1))
+                .validTo(LocalDate.of(2026, 3, 31))
+                .availableSeats(180)
+                .price(5000.0)
+                .status("ACTIVE")
+                .build();
+    }
+
+    private static FlightScheduleRequest request(LocalDate validFrom, LocalDate validTo) {
+        return FlightScheduleRequest.builder()
+                .flightNumber("AI101")
+                .airline("Air India")
+                .origin("DEL")
+                .destination("BOM")
+                .departureTime(LocalTime.of(8, 0))
+                .durationMinutes(150)
+                .validFrom(validFrom)
+                .validTo(validTo)
+                .availableSeats(180)
+                .price(5000.0)
+                .build();
+    }
+
+    @Test
+    void testOccurrences_OnlyOnOperatingDays() {
+        int weekdays = FlightScheduleService.daysMask(EnumSet.range(DayOfWeek.MONDAY, DayOfWeek.FRIDAY));
+
+        // 2025-12-01 is a Monday
+        List<FlightInventoryRequest> flights = FlightScheduleService.occurrences(schedule(weekdays),
+                LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 14));
+
+        assertEquals(10, flights.size());
+        assertEquals("AI101-20251201", flights.get(0).getFlightNumber());
+        assertEquals("AI101-20251212", flights.get(9).getFlightNumber());
+    }
+
+    @Test
+    void testOccurrences_OvernightArrival() {
+        FlightInventoryRequest flight = FlightScheduleService.occurrences(schedule(FlightScheduleService.daysMask(null)),
+                LocalDate.of(2025, 12, 1), LocalDate.of(2025, 12, 1)).get(0);
+
+        assertEquals(LocalDateTime.of(2025, 12, 1, 22, 30), flight.getDepartureTime());
+        assertEquals(LocalDateTime.of(2025, 12, 2, 1, 0), flight.getArrivalTime());
+        assertEquals(180, flight.getAvailableSeats());
+    }
+
+    @Test
+    void testCreateSchedule_ExpandsUpToHorizonInBatches() {
+        LocalDate today = LocalDate.now();
+        when(flightScheduleRepository.save(any(FlightSchedule.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(flightInventoryBatchWriter.insertNew(anyList()))
+                .thenAnswer(invocation -> Mono.just((long) invocation.<List<?>>getArgument(0).size()));
+        when(flightInventoryRepository.findByFlightNumberIn(anyCollection())).thenReturn(Flux.empty());
+
+        StepVerifier.create(service.createSchedule(request(today.minusDays(10), today.plusDays(30))))
+                .assertNext(schedule -> assertEquals(today.plusDays(6), schedule.getMaterializedThrough()))
+                .verifyComplete();
+
+        // today through today + 6, never the past days of the schedule
+        ArgumentCaptor<List<FlightInventoryRequest>> batches = ArgumentCaptor.forClass(List.class);
+        verify(flightInventoryBatchWriter, times(3)).insertNew(batches.capture());
+        assertEquals(7, batches.getAllValues().stream().mapToInt(List::size).sum());
+    }
+
+    @Test
+    void testMaterializeHorizon_AddsOnlyNewDays() {
+        LocalDate today = LocalDate.now();
+        FlightSchedule schedule = schedule(FlightScheduleService.daysMask(null));
+        schedule.setValidFrom(today.minusDays(10));
+        schedule.setValidTo(today.plusDays(30));
+        schedule.setMaterializedThrough(today.plusDays(5));
+        when(flightScheduleRepository.findPendingMaterialization(today.plusDays(6))).thenReturn(Flux.just(schedule));
+        when(flightScheduleRepository.save(any(FlightSchedule.class)))
+                .thenAnswer(invocation -> Mono.just(invocation.getArgument(0)));
+        when(flightInventoryBatchWriter.insertNew(anyList())).thenReturn(Mono.just(1L));
+        when(flightInventoryRepository.findByFlightNumberIn(anyCollection())).thenReturn(Flux.empty());
+
+        service.materializeHorizon();
+
+        ArgumentCaptor<List<FlightInventoryRequest>> batch = ArgumentCaptor.forClass(List.class);
+        verify(flightInventoryBatchWriter).insertNew(batch.capture());
+        assertEquals(1, batch.getValue().size());
+        assertEquals(today.plusDays(6), schedule.getMaterializedThrough());
+    }
+
+    @Test
+    void testMaterializeHorizon_FailedInsertKeepsProgress() {
+        LocalDate today = LocalDate.now();
+        FlightSchedule schedule = schedule(FlightScheduleService.daysMask(null));
+        schedule.setValidFrom(today.minusDays(10));
+        schedule.setValidTo(today.plusDays(30));
+        schedule.setMaterializedThrough(today.plusDays(5));
+        when(flightScheduleRepository.findPendingMaterialization(today.plusDays(6))).thenReturn(Flux.just(schedule));
+        when(flightInventoryBatchWriter.insertNew(anyList()))
+                .thenReturn(Mono.error(new IllegalStateException("Data truncated for column 'airline'")));
+
+        service.materializeHorizon();
+
+        assertEquals(today.plusDays(5), schedule.getMaterializedThrough());
+        verify(flightScheduleRepository, never()).save(any(FlightSchedule.class));
+    }
+
+    @Test
+    void testCreateSchedule_RejectsReversedRange() {
+        StepVerifier.create(service.createSchedule(request(LocalDate.of(2026, 3, 1), LocalDate.of(2026, 2, 1))))
+                .expectError(InvalidDateRangeException.class)
+                .verify();
+        verifyNoInteractions(flightScheduleRepository);
+    }
+}
@@ -0,0 +1,113 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.cache.FlightSearchCache;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import com.flightapp.flight.index.SortedFlights;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightSearchCacheTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 15);
+    private static final RouteDay DEL_BOM = RouteDay.of("DEL", "BOM", DAY);
+    private static final RouteDay DEL_BLR = RouteDay.of("DEL", "BLR", DAY);
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private static FlightRecord flight(long id, String destination, int seats) {
+        LocalDateTime departure = DAY.atTime(8, 0);
+        return new FlightRecord(id, "AI10" + id, "Air India", "DEL", destination, departure, departure.plusHours(2),
+                seats, 5000.0, "ACTIVE", null, null);
+    }
+
+    private Mono<SortedFlights> load(RouteDay key) {
+        loads.incrementAndGet();
+        return Mono.just(SortedFlights.of(List.of(flight(1L, key.destination(), 10))));
+    }
+
+    private void search(FlightSearchCache cache, RouteDay key) {
+        StepVerifier.create(cache.get(key, this::load))
+                .expectNextCount(1)
+                .verifyComplete();
+    }
+
+    private static FlightSearchCache cache(Duration seatStaleness) {
+        return new FlightSearchCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(1), seatStaleness);
+    }
+
+    @Test
+    void testRepeatedSearchIsServedFromCache() {
+        FlightSearchCache cache = cache(Duration.ZERO);
+
+        search(cache, DEL_BOM);
+        search(cache, DEL_BOM);
+
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testSeatChangeInvalidatesOnlyThatRouteDay() {
+        FlightSearchCache cache = cache(Duration.ZERO);
+        search(cache, DEL_BOM);
+        search(cache, DEL_BLR);
+
+        cache.onFlightChanged(flight(1L, "BOM", 10), flight(1L, "BOM", 8));
+        search(cache, DEL_BOM);
+        search(cache, DEL_BLR);
+
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void testSeatStalenessKeepsEntryWhileFlightStaysBookable() {
+        FlightSearchCache cache = cache(Duration.ofSeconds(30));
+        search(cache, DEL_BOM);
+
+        cache.onFlightChanged(flight(1L, "BOM", 10), flight(1L, "BOM", 8));
+        search(cache, DEL_BOM);
+        assertEquals(1, loads.get());
+
+        cache.onFlightChanged(flight(1L, "BOM", 8), flight(1L, "BOM", 0));
+        search(cache, DEL_BOM);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testChangeDuringLoadIsNotCached() {
+        FlightSearchCache cache = cache(Duration.ZERO);
+
+        StepVerifier.create(cache.get(DEL_BOM, key -> {
+                    cache.onFlightChanged(flight(1L, "BOM", 10), flight(1L, "BOM", 8));
+                    return load(key);
+                }))
+                .expectNextCount(1)
+                .verifyComplete();
+        search(cache, DEL_BOM);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testReloadClearsEverything() {
+        FlightSearchCache cache = cache(Duration.ZERO);
+        search(cache, DEL_BOM);
+        search(cache, DEL_BLR);
+
+        cache.onReload(List.of());
+        search(cache, DEL_BOM);
+        search(cache, DEL_BLR);
+
+        assertEquals(4, loads.get());
+    }
+}
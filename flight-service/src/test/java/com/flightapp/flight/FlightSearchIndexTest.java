@@ -0,0 +1,201 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.FlightSortOrder;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.index.FlightInventoryListener;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class FlightSearchIndexTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 12, 15);
+
+    @Mock
+    private FlightInventoryRepository flightInventoryRepository;
+
+    @Mock
+    private FlightInventoryListener listener;
+
+    private FlightSearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new FlightSearchIndex(flightInventoryRepository, List.of(listener), new SimpleMeterRegistry(), true);
+    }
+
+    private FlightInventory flight(long id, String flightNumber, String origin, String destination, int hour, int seats) {
+        return FlightInventory.builder()
+                .id(id)
+                .flightNumber(flightNumber)
+                .airline("Air India")
+                .origin(origin)
+                .destination(destination)
+                .departureTime(DAY.atTime(hour, 0))
+                .arrivalTime(DAY.atTime(hour + 2, 0))
+                .availableSeats(seats)
+                .price(5000.0)
+                .status("ACTIVE")
+                .build();
+    }
+
+    private static List<String> flightNumbers(List<FlightRecord> flights) {
+        return flights.stream().map(FlightRecord::flightNumber).toList();
+    }
+
+    @Test
+    void testNotReadyUntilLoaded() {
+        assertFalse(index.isReady());
+
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.empty());
+        index.refresh();
+
+        assertTrue(index.isReady());
+    }
+
+    @Test
+    void testSearch_SortedByDepartureAndSkipsSoldOut() {
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(
+                flight(1L, "AI101", "DEL", "BOM", 14, 100),
+                flight(2L, "6E202", "DEL", "BOM", 8, 100),
+                flight(3L, "SG303", "DEL", "BOM", 11, 0),
+                flight(4L, "AI404", "DEL", "BLR", 9, 100)));
+        index.refresh();
+
+        assertEquals(List.of("6E202", "AI101"), flightNumbers(index.search("DEL", "BOM", DAY)));
+        assertEquals(List.of("6E202", "AI101"), flightNumbers(index.search("del", "bom", DAY)));
+        assertTrue(index.search("DEL", "BOM", DAY.plusDays(1)).isEmpty());
+    }
+
+    @Test
+    void testSearch_SkipsInactiveFlights() {
+        FlightInventory cancelled = flight(2L, "6E202", "DEL", "BOM", 9, 100);
+        cancelled.setStatus("CANCELLED");
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 100), cancelled));
+        index.refresh();
+
+        assertEquals(List.of("AI101"), flightNumbers(index.search("DEL", "BOM", DAY)));
+    }
+
+    @Test
+    void testUpsert_AddsFlightInDepartureOrder() {
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(
+                flight(1L, "AI101", "DEL", "BOM", 8, 100),
+                flight(2L, "6E202", "DEL", "BOM", 14, 100)));
+        index.refresh();
+
+        index.upsert(flight(3L, "SG303", "DEL", "BOM", 11, 50));
+
+        assertEquals(List.of("AI101", "SG303", "6E202"), flightNumbers(index.search("DEL", "BOM", DAY)));
+    }
+
+    @Test
+    void testUpsert_MovesFlightToNewRouteDay() {
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 100)));
+        index.refresh();
+
+        FlightInventory moved = flight(1L, "AI101", "DEL", "BOM", 8, 100);
+        moved.setDepartureTime(DAY.plusDays(1).atTime(8, 0));
+        index.upsert(moved);
+
+        assertTrue(index.search("DEL", "BOM", DAY).isEmpty());
+        assertEquals(List.of("AI101"), flightNumbers(index.search("DEL", "BOM", DAY.plusDays(1))));
+    }
+
+    @Test
+    void testSorted_KeepsEveryOrderAcrossChanges() {
+        FlightInventory cheap = flight(1L, "AI101", "DEL", "BOM", 14, 100);
+        cheap.setPrice(3000.0);
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(cheap, flight(2L, "6E202", "DEL", "BOM", 8, 100)));
+        index.refresh();
+
+        FlightInventory cheapest = flight(3L, "SG303", "DEL", "BOM", 11, 50);
+        cheapest.setPrice(2500.0);
+        index.upsert(cheapest);
+        index.adjustSeats(1L, -100);
+
+        RouteDay routeDay = RouteDay.of("DEL", "BOM", DAY);
+        // sold-out flights stay in place; readers skip them
+        assertEquals(List.of("SG303", "AI101", "6E202"), flightNumbers(index.sorted(routeDay).in(FlightSortOrder.PRICE)));
+        assertEquals(List.of("6E202", "SG303", "AI101"), flightNumbers(index.sorted(routeDay).in(FlightSortOrder.DEPARTURE_TIME)));
+    }
+
+    @Test
+    void testAdjustSeats() {
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 2)));
+        index.refresh();
+
+        index.adjustSeats(1L, -2);
+        assertTrue(index.search("DEL", "BOM", DAY).isEmpty());
+
+        index.adjustSeats(1L, 1);
+        List<FlightRecord> flights = index.search("DEL", "BOM", DAY);
+        assertEquals(1, flights.size());
+        assertEquals(1, flights.get(0).availableSeats());
+    }
+
+    @Test
+    void testListenersNotified() {
+        when(flightInventoryRepository.findAll()).thenReturn(Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 10)));
+        index.refresh();
+        verify(listener).onReload(argThat(flights -> flights.size() == 1));
+
+        index.adjustSeats(1L, -3);
+        verify(listener).onFlightChanged(
+                FlightRecord.from(flight(1L, "AI101", "DEL", "BOM", 8, 10)),
+                FlightRecord.from(flight(1L, "AI101", "DEL", "BOM", 8, 7)));
+
+        index.adjustSeats(99L, -1);
+        verify(listener).onUntrackedChange(99L);
+    }
+
+    @Test
+    void testRefresh_ReplacesStaleState() {
+        when(flightInventoryRepository.findAll())
+                .thenReturn(Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 100)))
+                .thenReturn(Flux.just(flight(2L, "6E202", "DEL", "BOM", 9, 100)));
+        index.refresh();
+        index.refresh();
+
+        assertEquals(List.of("6E202"), flightNumbers(index.search("DEL", "BOM", DAY)));
+    }
+
+    @Test
+    void testRefresh_KeepsLocalChangeMadeDuringReload() {
+        when(flightInventoryRepository.findAll())
+                .thenReturn(Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 10)))
+                .thenReturn(Flux.defer(() -> {
+                    // a booking lands between the reload query and the swap
+                    index.adjustSeats(1L, -4);
+                    return Flux.just(flight(1L, "AI101", "DEL", "BOM", 8, 10));
+                }));
+        index.refresh();
+        index.refresh();
+
+        assertEquals(6, index.search("DEL", "BOM", DAY).get(0).availableSeats());
+    }
+
+    @Test
+    void testFlightRecord_RoundTrip() {
+        FlightInventory inventory = flight(1L, "AI101", "DEL", "BOM", 8, 100);
+        inventory.setCreatedAt(LocalDateTime.of(2025, 1, 1, 0, 0));
+
+        assertEquals(inventory, FlightRecord.from(inventory).toInventory());
+    }
+}
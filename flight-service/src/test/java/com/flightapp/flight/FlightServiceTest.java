@@ -1,9 +1,22 @@
 package com.flightapp.flight;
 
+import com.flightapp.flight.cache.FlightSearchCache;
 import com.flightapp.flight.dto.FlightInventoryRequest;
+import com.flightapp.flight.dto.FlightQuote;
+import com.flightapp.flight.dto.FlightSearchPage;
+import com.flightapp.flight.dto.FlightSearchPageRequest;
 import com.flightapp.flight.dto.FlightSearchRequest;
+import com.flightapp.flight.dto.FlightSearchRow;
+import com.flightapp.flight.dto.FlightSortOrder;
 import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.exception.InvalidCursorException;
+import com.flightapp.flight.index.FlightRecord;
+import com.flightapp.flight.index.FlightRecord.RouteDay;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.index.SortedFlights;
 import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.seats.ReservationDispatcher;
+import com.flightapp.flight.seats.SeatCounters;
 import com.flightapp.flight.service.FlightServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,8 +31,13 @@ import reactor.test.StepVerifier;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.LocalTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -28,6 +46,18 @@ class FlightServiceTest {
     @Mock
     private FlightInventoryRepository flightInventoryRepository;
 
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @Mock
+    private FlightSearchCache flightSearchCache;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    @Mock
+    private ReservationDispatcher reservationDispatcher;
+
     @InjectMocks
     private FlightServiceImpl flightService;
 
@@ -68,19 +98,137 @@ class FlightServiceTest {
                 .build();
     }
 
+    @SuppressWarnings("unchecked")
+    private void passThroughSearchCache() {
+        when(flightSearchCache.get(any(RouteDay.class), any()))
+                .thenAnswer(invocation -> invocation.<Function<RouteDay, Mono<SortedFlights>>>getArgument(1)
+                        .apply(invocation.getArgument(0)));
+    }
+
     @Test
     void testSearchFlights() {
-        when(flightInventoryRepository.findByOriginAndDestinationAndDepartureTimeBetween(
-                anyString(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class)))
-                .thenReturn(Flux.just(testFlight));
+        passThroughSearchCache();
+        testFlight.setCreatedAt(LocalDateTime.of(2025, 11, 1, 9, 0));
+        testFlight.setUpdatedAt(LocalDateTime.of(2025, 11, 2, 9, 0));
+        FlightSearchRow row = FlightSearchRow.builder()
+                .id(1L)
+                .flightNumber("AI101")
+                .airline("Air India")
+                .departureTime(LocalDateTime.of(2025, 12, 15, 8, 0))
+                .arrivalTime(LocalDateTime.of(2025, 12, 15, 10, 30))
+                .availableSeats(150)
+                .price(5000.0)
+                .createdAt(LocalDateTime.of(2025, 11, 1, 9, 0))
+                .updatedAt(LocalDateTime.of(2025, 11, 2, 9, 0))
+                .build();
+        when(flightInventoryRepository.findBookableFlights(
+                eq("DEL"), eq("BOM"), any(LocalDateTime.class), any(LocalDateTime.class)))
+                .thenReturn(Flux.just(row));
 
         StepVerifier.create(flightService.searchFlights(searchRequest))
                 .expectNext(testFlight)
                 .verifyComplete();
 
         verify(flightInventoryRepository, times(1))
-                .findByOriginAndDestinationAndDepartureTimeBetween(
-                        anyString(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class));
+                .findBookableFlights(anyString(), anyString(), any(LocalDateTime.class), any(LocalDateTime.class));
+    }
+
+    @Test
+    void testSearchFlights_ServedFromIndex() {
+        passThroughSearchCache();
+        when(flightSearchIndex.isReady()).thenReturn(true);
+        when(flightSearchIndex.sorted(RouteDay.of("DEL", "BOM", LocalDate.of(2025, 12, 15))))
+                .thenReturn(SortedFlights.of(List.of(FlightRecord.from(testFlight))));
+
+        StepVerifier.create(flightService.searchFlights(searchRequest))
+                .expectNext(testFlight)
+                .verifyComplete();
+
+        verifyNoInteractions(flightInventoryRepository);
+    }
+
+    @Test
+    void testSearchFlights_ServedFromCache() {
+        when(flightSearchCache.get(any(RouteDay.class), any()))
+                .thenReturn(Mono.just(SortedFlights.of(List.of(FlightRecord.from(testFlight)))));
+
+        StepVerifier.create(flightService.searchFlights(searchRequest))
+                .expectNext(testFlight)
+                .verifyComplete();
+
+        verifyNoInteractions(flightInventoryRepository, flightSearchIndex);
+    }
+
+    private FlightRecord record(long id, int hour, double price, int durationMinutes) {
+        LocalDateTime departure = LocalDateTime.of(2025, 12, 15, hour, 0);
+        return new FlightRecord(id, "AI10" + id, "Air India", "DEL", "BOM", departure,
+                departure.plusMinutes(durationMinutes), 100, price, "ACTIVE", null, null);
+    }
+
+    private FlightSearchPageRequest pageRequest(FlightSortOrder sort, Integer limit, String cursor) {
+        return FlightSearchPageRequest.builder()
+                .origin("DEL")
+                .destination("BOM")
+                .travelDate(LocalDate.of(2025, 12, 15))
+                .sort(sort)
+                .limit(limit)
+                .cursor(cursor)
+                .build();
+    }
+
+    @Test
+    void testSearchFlightsPage_SortedWithKeysetCursor() {
+        when(flightSearchCache.get(any(RouteDay.class), any())).thenReturn(Mono.just(SortedFlights.of(List.of(
+                record(1L, 8, 5000.0, 150),
+                record(2L, 9, 4500.0, 180),
+                record(3L, 10, 4500.0, 120)))));
+
+        FlightSearchPage first = flightService.searchFlightsPage(pageRequest(FlightSortOrder.PRICE, 2, null)).block();
+        assertEquals(List.of(2L, 3L), first.getFlights().stream().map(FlightInventory::getId).toList());
+        assertNotNull(first.getNextCursor());
+
+        FlightSearchPage second = flightService.searchFlightsPage(pageRequest(FlightSortOrder.PRICE, 2, first.getNextCursor())).block();
+        assertEquals(List.of(1L), second.getFlights().stream().map(FlightInventory::getId).toList());
+        assertNull(second.getNextCursor());
+    }
+
+    @Test
+    void testSearchFlightsPage_CursorFromOtherSortRejected() {
+        when(flightSearchCache.get(any(RouteDay.class), any())).thenReturn(Mono.just(SortedFlights.of(List.of(
+                record(1L, 8, 5000.0, 150),
+                record(2L, 9, 4500.0, 180)))));
+        String cursor = flightService.searchFlightsPage(pageRequest(FlightSortOrder.PRICE, 1, null)).block().getNextCursor();
+
+        StepVerifier.create(flightService.searchFlightsPage(pageRequest(FlightSortOrder.DURATION, 1, cursor)))
+                .expectError(InvalidCursorException.class)
+                .verify();
+    }
+
+    @Test
+    void testStreamFlights_SortedByDuration() {
+        when(flightSearchCache.get(any(RouteDay.class), any())).thenReturn(Mono.just(SortedFlights.of(List.of(
+                record(1L, 8, 5000.0, 150),
+                record(2L, 9, 4500.0, 180),
+                record(3L, 10, 4500.0, 120)))));
+
+        StepVerifier.create(flightService.streamFlights(pageRequest(FlightSortOrder.DURATION, null, null))
+                        .map(FlightInventory::getId))
+                .expectNext(3L, 1L, 2L)
+                .verifyComplete();
+    }
+
+    @Test
+    void testStreamFlights_SkipsFlightsNoLongerBookable() {
+        FlightRecord soldOut = record(2L, 9, 4500.0, 180).withAvailableSeats(0);
+        when(flightSearchCache.get(any(RouteDay.class), any())).thenReturn(Mono.just(SortedFlights.of(List.of(
+                record(1L, 8, 5000.0, 150),
+                soldOut,
+                record(3L, 10, 4000.0, 120)))));
+
+        StepVerifier.create(flightService.streamFlights(pageRequest(FlightSortOrder.PRICE, null, null))
+                        .map(FlightInventory::getId))
+                .expectNext(3L, 1L)
+                .verifyComplete();
     }
 
     @Test
@@ -95,6 +243,7 @@ class FlightServiceTest {
                 .verifyComplete();
 
         verify(flightInventoryRepository, times(1)).save(any(FlightInventory.class));
+        verify(flightSearchIndex).upsert(testFlight);
     }
 
     @Test
@@ -119,6 +268,7 @@ class FlightServiceTest {
                 .verifyComplete();
 
         verify(flightInventoryRepository, times(1)).reduceAvailableSeats(1L, 2);
+        verify(flightSearchIndex).adjustSeats(1L, -2);
     }
 
     @Test
@@ -131,5 +281,56 @@ class FlightServiceTest {
                 .verifyComplete();
 
         verify(flightInventoryRepository, times(1)).increaseAvailableSeats(1L, 2);
+        verify(flightSearchIndex).adjustSeats(1L, 2);
+    }
+
+    @Test
+    void testReduceSeats_WithSeatCounters() {
+        when(seatCounters.isEnabled()).thenReturn(true);
+        when(seatCounters.reserve(1L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(flightService.reduceSeats(1L, 2))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(flightInventoryRepository, never()).reduceAvailableSeats(any(), any());
+        verify(flightSearchIndex).adjustSeats(1L, -2);
+    }
+
+    @Test
+    void testRestoreSeats_ThroughReservationQueue() {
+        when(reservationDispatcher.isEnabled()).thenReturn(true);
+        when(reservationDispatcher.release(1L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(flightService.restoreSeats(1L, 2))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(flightInventoryRepository, never()).increaseAvailableSeats(any(), any());
+        verify(flightSearchIndex).adjustSeats(1L, 2);
+    }
+
+    @Test
+    void testGetFlightById_ReportsCounterSeats() {
+        when(flightInventoryRepository.findById(1L))
+                .thenReturn(Mono.just(testFlight));
+        when(seatCounters.available(1L)).thenReturn(Optional.of(120));
+
+        StepVerifier.create(flightService.getFlightById(1L))
+                .assertNext(flight -> assertEquals(120, flight.getAvailableSeats()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testGetFlightQuote_ReadsProjectionWithCurrentSeats() {
+        when(flightInventoryRepository.findQuoteById(1L))
+                .thenReturn(Mono.just(new FlightQuote("AI101", 150, 5000.0)));
+        when(seatCounters.available(1L)).thenReturn(Optional.of(120));
+
+        StepVerifier.create(flightService.getFlightQuote(1L))
+                .expectNext(new FlightQuote("AI101", 120, 5000.0))
+                .verifyComplete();
+
+        verify(flightInventoryRepository, never()).findById(anyLong());
     }
 }
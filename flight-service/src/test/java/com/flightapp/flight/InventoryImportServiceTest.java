@@ -0,0 +1,136 @@
+package com.flightapp.flight;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.flight.dto.InventoryImportBatch;
+import com.flightapp.flight.dto.InventoryImportError;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.service.InventoryImportService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryImportServiceTest {
+
+    private static final String JSON_ROW = "{\"flightNumber\":\"%s\",\"airline\":\"Air India\",\"origin\":\"DEL\","
+            + "\"destination\":\"BOM\",\"departureTime\":\"2025-12-15T08:00:00\",\"arrivalTime\":\"2025-12-15T10:30:00\","
+            + "\"availableSeats\":150,\"price\":5000.0}";
+
+    @Mock
+    private FlightInventoryRepository flightInventoryRepository;
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+    private InventoryImportService service;
+
+    @BeforeEach
+    void setUp() {
+        executeSpec = mock(DatabaseClient.GenericExecuteSpec.class, RETURNS_SELF);
+        service = new InventoryImportService(flightInventoryRepository, new FlightInventoryBatchWriter(databaseClient),
+                flightSearchIndex, Validation.buildDefaultValidatorFactory().getValidator(),
+                new ObjectMapper().findAndRegisterModules(), new SimpleMeterRegistry(), 2);
+    }
+
+    private void stubWrites(Mono<Long> result) {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        doReturn(fetchSpec).when(executeSpec).fetch();
+        when(fetchSpec.rowsUpdated()).thenReturn(result);
+    }
+
+    private static String json(String flightNumber) {
+        return JSON_ROW.formatted(flightNumber);
+    }
+
+    @Test
+    void testNdjson_WritesOneUpsertPerBatchAndIndexesRows() {
+        stubWrites(Mono.just(1L));
+        FlightInventory saved = FlightInventory.builder().id(1L).flightNumber("AI101").build();
+        when(flightInventoryRepository.findByFlightNumberIn(anyCollection())).thenReturn(Flux.just(saved));
+
+        List<InventoryImportBatch> batches = service.importInventory(
+                Flux.just(json("AI101"), json("AI102"), "", json("AI103")), false).collectList().block();
+
+        assertEquals(2, batches.size());
+        assertEquals(1L, batches.get(0).getBatch());
+        assertEquals(2, batches.get(0).getImported());
+        assertEquals(4L, batches.get(1).getFirstLine());
+        assertEquals(1, batches.get(1).getImported());
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient, times(2)).sql(sql.capture());
+        assertTrue(sql.getValue().contains("ON DUPLICATE KEY UPDATE"));
+        verify(flightSearchIndex, times(2)).upsert(saved);
+    }
+
+    @Test
+    void testInvalidRows_ReportedWithoutBlockingTheBatch() {
+        List<InventoryImportBatch> batches = service.importInventory(
+                Flux.just("not json", json("AI101").replace("150", "0")), false).collectList().block();
+
+        assertEquals(1, batches.size());
+        InventoryImportBatch batch = batches.get(0);
+        assertEquals(0, batch.getImported());
+        assertEquals(2, batch.getFailed());
+        assertEquals(List.of("Malformed JSON", "Available seats must be at least 1"),
+                batch.getErrors().stream().map(InventoryImportError::getMessage).toList());
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void testCsv_ParsesByHeaderAndReportsBadFields() {
+        stubWrites(Mono.just(1L));
+        when(flightInventoryRepository.findByFlightNumberIn(anyCollection())).thenReturn(Flux.empty());
+
+        List<InventoryImportBatch> batches = service.importInventory(Flux.just(
+                "flight_number,airline,origin,destination,departure_time,arrival_time,available_seats,price",
+                "AI101,Air India,DEL,BOM,2025-12-15T08:00:00,2025-12-15T10:30:00,150,5000",
+                "AI102,Air India,DEL,BOM,tomorrow,2025-12-15T10:30:00,150,5000"), true).collectList().block();
+
+        assertEquals(1, batches.size());
+        assertEquals(1, batches.get(0).getImported());
+        InventoryImportError error = batches.get(0).getErrors().get(0);
+        assertEquals(3L, error.getLine());
+        assertEquals("AI102", error.getFlightNumber());
+    }
+
+    @Test
+    void testFailedStatement_FailsOnlyItsBatch() {
+        stubWrites(Mono.error(new DataIntegrityViolationException("Data too long")));
+
+        List<InventoryImportBatch> batches = service.importInventory(
+                Flux.just(json("AI101"), json("AI102")), false).collectList().block();
+
+        assertEquals(0, batches.get(0).getImported());
+        assertEquals(2, batches.get(0).getErrors().size());
+        verify(flightSearchIndex, never()).upsert(any());
+    }
+}
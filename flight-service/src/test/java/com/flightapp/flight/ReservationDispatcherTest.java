@@ -0,0 +1,108 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.seats.ReservationDispatcher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReservationDispatcherTest {
+
+    @Mock
+    private FlightInventoryRepository flightInventoryRepository;
+
+    private ReservationDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() {
+        dispatcher = new ReservationDispatcher(flightInventoryRepository, true, 256);
+    }
+
+    @Test
+    void testQueuedRequests_AppliedAsOneStatement() {
+        Sinks.One<Integer> firstUpdate = Sinks.one();
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -1)).thenReturn(firstUpdate.asMono());
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -2)).thenReturn(Mono.just(1));
+
+        CompletableFuture<Boolean> first = dispatcher.reserve(1L, 1).toFuture();
+        // queued behind the running statement
+        CompletableFuture<Boolean> second = dispatcher.reserve(1L, 3).toFuture();
+        CompletableFuture<Boolean> third = dispatcher.release(1L, 1).toFuture();
+        firstUpdate.tryEmitValue(1);
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertTrue(third.join());
+        verify(flightInventoryRepository).adjustAvailableSeats(1L, -2);
+        verify(flightInventoryRepository, never()).findAvailableSeats(any());
+    }
+
+    @Test
+    void testBatchThatDoesNotFit_AdmitsInArrivalOrder() {
+        Sinks.One<Integer> firstUpdate = Sinks.one();
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -1)).thenReturn(firstUpdate.asMono());
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -6)).thenReturn(Mono.just(0));
+        when(flightInventoryRepository.findAvailableSeats(1L)).thenReturn(Mono.just(3));
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -3)).thenReturn(Mono.just(1));
+
+        CompletableFuture<Boolean> first = dispatcher.reserve(1L, 1).toFuture();
+        CompletableFuture<Boolean> second = dispatcher.reserve(1L, 2).toFuture();
+        CompletableFuture<Boolean> third = dispatcher.reserve(1L, 3).toFuture();
+        CompletableFuture<Boolean> fourth = dispatcher.reserve(1L, 1).toFuture();
+        firstUpdate.tryEmitValue(1);
+
+        assertTrue(first.join());
+        assertTrue(second.join());
+        assertFalse(third.join());
+        assertTrue(fourth.join());
+    }
+
+    @Test
+    void testCountKeepsChanging_AppliesReleasesAndRejectsReservations() {
+        Sinks.One<Integer> firstUpdate = Sinks.one();
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -1)).thenReturn(firstUpdate.asMono());
+        // every conditional update loses to another writer, although the count read back says the batch fits
+        when(flightInventoryRepository.adjustAvailableSeats(1L, 0)).thenReturn(Mono.just(0));
+        when(flightInventoryRepository.findAvailableSeats(1L)).thenReturn(Mono.just(5));
+        when(flightInventoryRepository.increaseAvailableSeats(1L, 2)).thenReturn(Mono.just(1));
+
+        CompletableFuture<Boolean> first = dispatcher.reserve(1L, 1).toFuture();
+        CompletableFuture<Boolean> reservation = dispatcher.reserve(1L, 2).toFuture();
+        CompletableFuture<Boolean> release = dispatcher.release(1L, 2).toFuture();
+        firstUpdate.tryEmitValue(1);
+
+        assertTrue(first.join());
+        assertFalse(reservation.join());
+        assertTrue(release.join());
+        verify(flightInventoryRepository, times(3)).adjustAvailableSeats(1L, 0);
+        verify(flightInventoryRepository).increaseAvailableSeats(1L, 2);
+    }
+
+    @Test
+    void testUnknownFlight() {
+        when(flightInventoryRepository.adjustAvailableSeats(9L, 2)).thenReturn(Mono.just(0));
+        when(flightInventoryRepository.findAvailableSeats(9L)).thenReturn(Mono.empty());
+
+        assertFalse(dispatcher.release(9L, 2).block());
+    }
+
+    @Test
+    void testFailedStatement_FailsItsCallersOnly() {
+        when(flightInventoryRepository.adjustAvailableSeats(1L, -1))
+                .thenReturn(Mono.error(new IllegalStateException("connection reset")))
+                .thenReturn(Mono.just(1));
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.reserve(1L, 1).block());
+        assertTrue(dispatcher.reserve(1L, 1).block());
+    }
+}
@@ -0,0 +1,146 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.SeatBatchMode;
+import com.flightapp.flight.dto.SeatBatchRequest;
+import com.flightapp.flight.dto.SeatOperation;
+import com.flightapp.flight.dto.SeatOperationResult;
+import com.flightapp.flight.dto.SeatOperationStatus;
+import com.flightapp.flight.index.FlightSearchIndex;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.seats.SeatCounters;
+import com.flightapp.flight.service.SeatBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatBatchServiceTest {
+
+    @Mock
+    private FlightInventoryBatchWriter flightInventoryBatchWriter;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    @Mock
+    private SeatCounters seatCounters;
+
+    @Mock
+    private FlightSearchIndex flightSearchIndex;
+
+    @InjectMocks
+    private SeatBatchService seatBatchService;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(transactionalOperator.transactional(any(Mono.class)))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    private static SeatBatchRequest batch(SeatBatchMode mode, SeatOperation... operations) {
+        return SeatBatchRequest.builder().operations(List.of(operations)).mode(mode).build();
+    }
+
+    private static List<SeatOperationStatus> statuses(List<SeatOperationResult> results) {
+        return results.stream().map(SeatOperationResult::getStatus).toList();
+    }
+
+    @Test
+    void testAllOrNothing_AppliesNetDeltaPerFlightInOneStatement() {
+        when(flightInventoryBatchWriter.lockSeats(Set.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, 5, 2L, 0)));
+        when(flightInventoryBatchWriter.addSeats(Map.of(1L, -3, 2L, 4))).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(seatBatchService.applyBatch(batch(null,
+                        new SeatOperation(1L, -4), new SeatOperation(2L, 4), new SeatOperation(1L, 1))))
+                .assertNext(response -> {
+                    assertEquals(3, response.getApplied());
+                    assertEquals(0, response.getRejected());
+                })
+                .verifyComplete();
+
+        verify(flightSearchIndex).adjustSeats(1L, -3);
+        verify(flightSearchIndex).adjustSeats(2L, 4);
+    }
+
+    @Test
+    void testAllOrNothing_WritesNothingWhenOneOperationDoesNotFit() {
+        when(flightInventoryBatchWriter.lockSeats(Set.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, 5, 2L, 1)));
+
+        StepVerifier.create(seatBatchService.applyBatch(batch(SeatBatchMode.ALL_OR_NOTHING,
+                        new SeatOperation(1L, -2), new SeatOperation(2L, -2))))
+                .assertNext(response -> {
+                    assertEquals(0, response.getApplied());
+                    assertEquals(List.of(SeatOperationStatus.NOT_APPLIED, SeatOperationStatus.INSUFFICIENT_SEATS),
+                            statuses(response.getResults()));
+                })
+                .verifyComplete();
+
+        verify(flightInventoryBatchWriter, never()).addSeats(any());
+        verifyNoInteractions(flightSearchIndex);
+    }
+
+    @Test
+    void testPerItem_AppliesOperationsThatFit() {
+        when(flightInventoryBatchWriter.lockSeats(Set.of(1L, 9L))).thenReturn(Mono.just(Map.of(1L, 3)));
+        when(flightInventoryBatchWriter.addSeats(Map.of(1L, -2))).thenReturn(Mono.just(1L));
+
+        StepVerifier.create(seatBatchService.applyBatch(batch(SeatBatchMode.PER_ITEM,
+                        new SeatOperation(1L, -2), new SeatOperation(1L, -2), new SeatOperation(9L, 1))))
+                .assertNext(response -> {
+                    assertEquals(1, response.getApplied());
+                    assertEquals(2, response.getRejected());
+                    assertEquals(List.of(SeatOperationStatus.APPLIED, SeatOperationStatus.INSUFFICIENT_SEATS,
+                            SeatOperationStatus.FLIGHT_NOT_FOUND), statuses(response.getResults()));
+                })
+                .verifyComplete();
+
+        verify(flightSearchIndex).adjustSeats(1L, -2);
+    }
+
+    @Test
+    void testWriteFailure_PropagatesAndLeavesIndexAlone() {
+        when(flightInventoryBatchWriter.lockSeats(Set.of(1L))).thenReturn(Mono.just(Map.of(1L, 3)));
+        when(flightInventoryBatchWriter.addSeats(Map.of(1L, -1))).thenReturn(Mono.error(new RuntimeException("DB down")));
+
+        StepVerifier.create(seatBatchService.applyBatch(batch(null, new SeatOperation(1L, -1))))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        verifyNoInteractions(flightSearchIndex);
+    }
+
+    @Test
+    void testSeatCounters_AllOrNothingUndoesAppliedOperations() {
+        when(seatCounters.isEnabled()).thenReturn(true);
+        when(seatCounters.reserve(1L, 2)).thenReturn(Mono.just(true));
+        when(seatCounters.reserve(2L, 5)).thenReturn(Mono.just(false));
+        when(seatCounters.release(1L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seatBatchService.applyBatch(batch(null,
+                        new SeatOperation(1L, -2), new SeatOperation(2L, -5), new SeatOperation(3L, -1))))
+                .assertNext(response -> assertEquals(List.of(SeatOperationStatus.NOT_APPLIED,
+                        SeatOperationStatus.INSUFFICIENT_SEATS, SeatOperationStatus.NOT_APPLIED),
+                        statuses(response.getResults())))
+                .verifyComplete();
+
+        verify(seatCounters, never()).reserve(eq(3L), anyInt());
+        verify(flightSearchIndex, never()).adjustSeats(anyLong(), anyInt());
+        verifyNoInteractions(flightInventoryBatchWriter, transactionalOperator);
+    }
+}
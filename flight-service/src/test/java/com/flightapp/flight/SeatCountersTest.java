@@ -0,0 +1,174 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.repository.FlightInventoryBatchWriter;
+import com.flightapp.flight.repository.FlightInventoryRepository;
+import com.flightapp.flight.repository.SeatJournalCheckpointRepository;
+import com.flightapp.flight.seats.SeatCounters;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.FetchSpec;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatCountersTest {
+
+    @TempDir
+    Path journalDirectory;
+
+    @Mock
+    private FlightInventoryRepository flightInventoryRepository;
+
+    @Mock
+    private DatabaseClient databaseClient;
+
+    @Mock
+    private FetchSpec<Map<String, Object>> fetchSpec;
+
+    @Mock
+    private SeatJournalCheckpointRepository checkpointRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private DatabaseClient.GenericExecuteSpec executeSpec;
+    // the checkpoint row, as MySQL would keep it across restarts
+    private final AtomicLong flushedSegment = new AtomicLong();
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        executeSpec = mock(DatabaseClient.GenericExecuteSpec.class, RETURNS_SELF);
+        lenient().when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(inv -> inv.getArgument(0));
+        lenient().when(checkpointRepository.findFlushedSegment(anyString()))
+                .thenAnswer(inv -> flushedSegment.get() == 0 ? Mono.empty() : Mono.just(flushedSegment.get()));
+        lenient().when(checkpointRepository.markFlushed(anyString(), anyLong())).thenAnswer(inv -> {
+            flushedSegment.accumulateAndGet(inv.getArgument(1), Math::max);
+            return Mono.just(1);
+        });
+    }
+
+    private SeatCounters counters() throws Exception {
+        SeatCounters counters = new SeatCounters(flightInventoryRepository, new FlightInventoryBatchWriter(databaseClient),
+                checkpointRepository, transactionalOperator, true, journalDirectory.toString(), false);
+        counters.recover();
+        return counters;
+    }
+
+    private List<Path> segments(Path directory) throws Exception {
+        try (var files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".journal")).toList();
+        }
+    }
+
+    private void stubFlight(long id, int seats) {
+        when(flightInventoryRepository.findById(id))
+                .thenReturn(Mono.just(FlightInventory.builder().id(id).availableSeats(seats).build()));
+    }
+
+    private void stubWrites() {
+        when(databaseClient.sql(anyString())).thenReturn(executeSpec);
+        doReturn(fetchSpec).when(executeSpec).fetch();
+        when(fetchSpec.rowsUpdated()).thenReturn(Mono.just(1L));
+    }
+
+    @Test
+    void testReserve_NeverOversells() throws Exception {
+        stubFlight(1L, 3);
+        SeatCounters counters = counters();
+
+        assertTrue(counters.reserve(1L, 2).block());
+        assertFalse(counters.reserve(1L, 2).block());
+        assertTrue(counters.release(1L, 1).block());
+        assertTrue(counters.reserve(1L, 2).block());
+
+        assertEquals(Optional.of(0), counters.available(1L));
+        verify(flightInventoryRepository, times(1)).findById(1L);
+        verifyNoInteractions(databaseClient);
+    }
+
+    @Test
+    void testReserve_UnknownFlight() throws Exception {
+        when(flightInventoryRepository.findById(9L)).thenReturn(Mono.empty());
+
+        assertFalse(counters().reserve(9L, 1).block());
+    }
+
+    @Test
+    void testFlush_WritesNetDeltaAndClearsJournal() throws Exception {
+        stubFlight(1L, 10);
+        stubWrites();
+        SeatCounters counters = counters();
+        counters.reserve(1L, 2).block();
+        counters.reserve(1L, 3).block();
+
+        counters.flush();
+
+        verify(executeSpec).bind("id0", 1L);
+        verify(executeSpec).bind("delta0", -5);
+        verify(checkpointRepository).markFlushed(anyString(), anyLong());
+        for (Path segment : segments(journalDirectory)) {
+            assertEquals(0, Files.size(segment));
+        }
+    }
+
+    @Test
+    void testRecover_AppliesJournalLeftByCrash() throws Exception {
+        stubFlight(1L, 10);
+        SeatCounters crashed = counters();
+        crashed.reserve(1L, 4).block();
+        crashed.release(1L, 1).block();
+        // no flush and no shutdown: the process died
+
+        stubWrites();
+        counters();
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(databaseClient).sql(sql.capture());
+        assertTrue(sql.getValue().startsWith("UPDATE flight_inventory"));
+        verify(executeSpec).bind("delta0", -3);
+    }
+
+    @Test
+    void testRecover_SkipsSegmentsFlushedBeforeCrash() throws Exception {
+        stubFlight(1L, 10);
+        stubWrites();
+        SeatCounters crashed = counters();
+        crashed.reserve(1L, 4).block();
+        Path copies = Files.createDirectory(journalDirectory.resolve("copies"));
+        for (Path segment : segments(journalDirectory)) {
+            Files.copy(segment, copies.resolve(segment.getFileName()));
+        }
+        crashed.flush();
+        // the process died after the flush committed but before its segments were deleted
+        for (Path segment : segments(copies)) {
+            Files.copy(segment, journalDirectory.resolve(segment.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+        }
+
+        counters();
+
+        verify(databaseClient, times(1)).sql(anyString());
+        verify(executeSpec, times(1)).bind("delta0", -4);
+    }
+}
@@ -0,0 +1,254 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.SeatHoldRequest;
+import com.flightapp.flight.entity.SeatHold;
+import com.flightapp.flight.repository.SeatHoldRepository;
+import com.flightapp.flight.service.FlightService;
+import com.flightapp.flight.service.SeatHoldService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatHoldServiceTest {
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private SeatHoldRepository seatHoldRepository;
+
+    @Mock
+    private TransactionalOperator transactionalOperator;
+
+    private SeatHoldService seatHoldService;
+
+    @BeforeEach
+    void setUp() {
+        seatHoldService = new SeatHoldService(flightService, seatHoldRepository, transactionalOperator, 300, 1, 1, 60);
+    }
+
+    private void stubSave() {
+        when(seatHoldRepository.save(any(SeatHold.class))).thenAnswer(invocation -> {
+            SeatHold hold = invocation.getArgument(0);
+            hold.setId(1L);
+            return Mono.just(hold);
+        });
+    }
+
+    private static SeatHoldRequest request(int seats) {
+        return SeatHoldRequest.builder().flightId(7L).seats(seats).build();
+    }
+
+    @Test
+    void testHold_TakesSeats() {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        stubSave();
+
+        StepVerifier.create(seatHoldService.hold(request(2)))
+                .assertNext(hold -> {
+                    assertEquals(1L, hold.getId());
+                    assertTrue(hold.getExpiresAt().isAfter(LocalDateTime.now().plusSeconds(299)));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void testHold_NotEnoughSeats() {
+        when(flightService.reduceSeats(7L, 200)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(seatHoldService.hold(request(200)))
+                .verifyComplete();
+
+        verifyNoInteractions(seatHoldRepository);
+    }
+
+    @Test
+    void testHold_SaveFailureReturnsSeats() {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        when(seatHoldRepository.save(any(SeatHold.class))).thenReturn(Mono.error(new RuntimeException("DB down")));
+        when(flightService.restoreSeats(7L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seatHoldService.hold(request(2)))
+                .expectError(RuntimeException.class)
+                .verify();
+
+        verify(flightService).restoreSeats(7L, 2);
+    }
+
+    @Test
+    void testConfirm_KeepsSeatsSoldOnlyOnce() {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        stubSave();
+        when(seatHoldRepository.deleteHold(1L)).thenReturn(Mono.just(1), Mono.just(0));
+        when(seatHoldRepository.findById(1L)).thenReturn(Mono.empty());
+        seatHoldService.hold(request(2)).block();
+
+        StepVerifier.create(seatHoldService.confirm(1L)).expectNext(true).verifyComplete();
+        StepVerifier.create(seatHoldService.confirm(1L)).expectNext(false).verifyComplete();
+        StepVerifier.create(seatHoldService.release(1L)).expectNext(false).verifyComplete();
+
+        verify(flightService, never()).restoreSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testRelease_ReturnsSeats() {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        stubSave();
+        when(seatHoldRepository.claimForReturn(eq(1L), anyString())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 2)).thenReturn(Mono.just(true));
+        when(seatHoldRepository.deleteReturned(eq(1L), anyString())).thenReturn(Mono.just(1));
+        seatHoldService.hold(request(2)).block();
+
+        StepVerifier.create(seatHoldService.release(1L)).expectNext(true).verifyComplete();
+
+        verify(flightService).restoreSeats(7L, 2);
+        verify(seatHoldRepository).deleteReturned(eq(1L), anyString());
+    }
+
+    @Test
+    void testRelease_FailedRestoreRetriedOnLaterTick() throws Exception {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        stubSave();
+        when(seatHoldRepository.claimForReturn(eq(1L), anyString())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 2))
+                .thenReturn(Mono.error(new RuntimeException("DB down")))
+                .thenReturn(Mono.just(true));
+        when(seatHoldRepository.renewClaim(eq(1L), anyString(), eq(60))).thenReturn(Mono.just(1));
+        when(seatHoldRepository.deleteReturned(eq(1L), anyString())).thenReturn(Mono.just(1));
+        seatHoldService.hold(request(2)).block();
+
+        StepVerifier.create(seatHoldService.release(1L)).expectError(RuntimeException.class).verify();
+        // the row is still there, so the hold cannot be confirmed in between
+        StepVerifier.create(seatHoldService.confirm(1L)).expectNext(false).verifyComplete();
+        Thread.sleep(5);
+        seatHoldService.expire();
+
+        verify(seatHoldRepository, times(1)).claimForReturn(eq(1L), anyString());
+        verify(seatHoldRepository).renewClaim(eq(1L), anyString(), eq(60));
+        verify(flightService, times(2)).restoreSeats(7L, 2);
+        verify(seatHoldRepository).deleteReturned(eq(1L), anyString());
+        verify(seatHoldRepository, never()).deleteHold(anyLong());
+    }
+
+    @Test
+    void testConfirm_HoldTrackedByAnotherInstance() {
+        when(seatHoldRepository.deleteHold(5L)).thenReturn(Mono.just(1));
+
+        StepVerifier.create(seatHoldService.confirm(5L)).expectNext(true).verifyComplete();
+    }
+
+    @Test
+    void testRelease_HoldTrackedByAnotherInstance() {
+        when(seatHoldRepository.findById(5L)).thenReturn(Mono.just(SeatHold.builder().id(5L).flightId(7L).seats(3)
+                .state("OPEN").expiresAt(LocalDateTime.now().plusMinutes(5)).build()));
+        when(seatHoldRepository.claimForReturn(eq(5L), anyString())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 3)).thenReturn(Mono.just(true));
+        when(seatHoldRepository.deleteReturned(eq(5L), anyString())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(seatHoldService.release(5L)).expectNext(true).verifyComplete();
+
+        verify(flightService).restoreSeats(7L, 3);
+    }
+
+    @Test
+    void testExpire_ReturnsSeatsOfRecoveredHold() throws Exception {
+        SeatHold expired = SeatHold.builder().id(3L).flightId(7L).seats(4).state("OPEN")
+                .expiresAt(LocalDateTime.now().minusSeconds(1)).build();
+        when(seatHoldRepository.findAll()).thenReturn(Flux.just(expired));
+        when(seatHoldRepository.claimForReturn(eq(3L), anyString())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 4)).thenReturn(Mono.just(true));
+        when(seatHoldRepository.deleteReturned(eq(3L), anyString())).thenReturn(Mono.just(1));
+        when(seatHoldRepository.deleteHold(3L)).thenReturn(Mono.just(0));
+
+        seatHoldService.recover();
+        Thread.sleep(5);
+        seatHoldService.expire();
+
+        verify(flightService).restoreSeats(7L, 4);
+        StepVerifier.create(seatHoldService.confirm(3L)).expectNext(false).verifyComplete();
+    }
+
+    @Test
+    void testRelease_RestoreThatReturnsFalseIsRetried() throws Exception {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        stubSave();
+        when(seatHoldRepository.claimForReturn(eq(1L), anyString())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 2)).thenReturn(Mono.just(false), Mono.just(true));
+        when(seatHoldRepository.renewClaim(eq(1L), anyString(), eq(60))).thenReturn(Mono.just(1));
+        when(seatHoldRepository.deleteReturned(eq(1L), anyString())).thenReturn(Mono.just(1));
+        seatHoldService.hold(request(2)).block();
+
+        StepVerifier.create(seatHoldService.release(1L)).expectError(IllegalStateException.class).verify();
+        Thread.sleep(5);
+        seatHoldService.expire();
+
+        verify(flightService, times(2)).restoreSeats(7L, 2);
+        verify(seatHoldRepository).deleteReturned(eq(1L), anyString());
+    }
+
+    @Test
+    void testRelease_SeatCountInDatabaseRestoredWithRowDeletion() {
+        when(flightService.reduceSeats(7L, 2)).thenReturn(Mono.just(true));
+        stubSave();
+        when(flightService.isSeatCountInDatabase()).thenReturn(true);
+        when(transactionalOperator.transactional(any(Mono.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        when(seatHoldRepository.claimForReturn(eq(1L), anyString())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 2)).thenReturn(Mono.just(true));
+        when(seatHoldRepository.deleteReturned(eq(1L), anyString())).thenReturn(Mono.just(0));
+        seatHoldService.hold(request(2)).block();
+
+        // the row was taken over, so the transaction must roll the restore back
+        StepVerifier.create(seatHoldService.release(1L)).expectError(IllegalStateException.class).verify();
+
+        verify(transactionalOperator).transactional(any(Mono.class));
+    }
+
+    @Test
+    void testExpire_RecoveredReturnClaimedBeforeRestore() throws Exception {
+        SeatHold returning = SeatHold.builder().id(3L).flightId(7L).seats(4).state("RETURNING")
+                .expiresAt(LocalDateTime.now().minusMinutes(5)).build();
+        when(seatHoldRepository.findAll()).thenReturn(Flux.just(returning));
+        when(seatHoldRepository.renewClaim(eq(3L), anyString(), eq(60))).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(7L, 4)).thenReturn(Mono.just(true));
+        when(seatHoldRepository.deleteReturned(eq(3L), anyString())).thenReturn(Mono.just(1));
+
+        seatHoldService.recover();
+        Thread.sleep(5);
+        seatHoldService.expire();
+
+        verify(flightService).restoreSeats(7L, 4);
+    }
+
+    @Test
+    void testExpire_ReturnClaimedByAnotherInstanceLeftToIt() throws Exception {
+        SeatHold returning = SeatHold.builder().id(3L).flightId(7L).seats(4).state("RETURNING")
+                .expiresAt(LocalDateTime.now().minusMinutes(5)).build();
+        when(seatHoldRepository.findAll()).thenReturn(Flux.just(returning));
+        when(seatHoldRepository.renewClaim(eq(3L), anyString(), eq(60))).thenReturn(Mono.just(0));
+        when(seatHoldRepository.findById(3L)).thenReturn(Mono.empty());
+
+        seatHoldService.recover();
+        Thread.sleep(5);
+        seatHoldService.expire();
+
+        verify(flightService, never()).restoreSeats(anyLong(), anyInt());
+        verify(seatHoldRepository, never()).deleteReturned(anyLong(), anyString());
+    }
+}
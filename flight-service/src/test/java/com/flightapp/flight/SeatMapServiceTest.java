@@ -0,0 +1,262 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.dto.SeatAssignmentRequest;
+import com.flightapp.flight.dto.SeatMapRequest;
+import com.flightapp.flight.entity.FlightInventory;
+import com.flightapp.flight.entity.FlightSeatMap;
+import com.flightapp.flight.entity.SeatAssignment;
+import com.flightapp.flight.exception.InvalidSeatMapException;
+import com.flightapp.flight.repository.FlightSeatMapRepository;
+import com.flightapp.flight.repository.SeatAssignmentRepository;
+import com.flightapp.flight.seats.SeatMap;
+import com.flightapp.flight.service.FlightService;
+import com.flightapp.flight.service.SeatMapService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class SeatMapServiceTest {
+
+    @Mock
+    private FlightService flightService;
+
+    @Mock
+    private FlightSeatMapRepository flightSeatMapRepository;
+
+    @Mock
+    private SeatAssignmentRepository seatAssignmentRepository;
+
+    @InjectMocks
+    private SeatMapService seatMapService;
+
+    private void stubStoredMap(SeatMap map) {
+        when(flightSeatMapRepository.findById(1L)).thenReturn(Mono.just(FlightSeatMap.builder()
+                .flightId(1L)
+                .seatRows(map.rows())
+                .seatsPerRow(map.seatsPerRow())
+                .taken(map.toBytes())
+                .version(map.version())
+                .build()));
+    }
+
+    private void stubBooking(int seats, String assignedSeats) {
+        when(seatAssignmentRepository.findByFlightIdAndBookingRef(1L, "PNR1")).thenReturn(Mono.just(SeatAssignment.builder()
+                .id(5L)
+                .flightId(1L)
+                .bookingRef("PNR1")
+                .seats(seats)
+                .assignedSeats(assignedSeats)
+                .build()));
+    }
+
+    private static SeatAssignmentRequest.SeatAssignmentRequestBuilder forBooking() {
+        return SeatAssignmentRequest.builder().booking("PNR1");
+    }
+
+    @Test
+    void testCreateSeatMap_LayoutSmallerThanSeatsForSale() {
+        when(flightService.getFlightById(1L))
+                .thenReturn(Mono.just(FlightInventory.builder().id(1L).availableSeats(180).build()));
+
+        StepVerifier.create(seatMapService.createSeatMap(1L, new SeatMapRequest(20, 6)))
+                .expectError(InvalidSeatMapException.class)
+                .verify();
+
+        verifyNoInteractions(flightSeatMapRepository);
+    }
+
+    @Test
+    void testReserve_RecordsBookingOnFlightWithSeatMap() {
+        stubStoredMap(new SeatMap(2, 4));
+        when(flightService.reduceSeats(1L, 2)).thenReturn(Mono.just(true));
+        when(seatAssignmentRepository.save(any(SeatAssignment.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        StepVerifier.create(seatMapService.reserve(1L, 2, "PNR1")).expectNext(true).verifyComplete();
+
+        verify(seatAssignmentRepository).save(argThat(assignment ->
+                assignment.getBookingRef().equals("PNR1") && assignment.getSeats() == 2));
+    }
+
+    @Test
+    void testReserve_SeatMapLookupFailureReturnsSeats() {
+        when(flightService.reduceSeats(1L, 2)).thenReturn(Mono.just(true));
+        when(flightSeatMapRepository.findById(1L)).thenReturn(Mono.error(new RuntimeException("DB down")));
+        when(flightService.restoreSeats(1L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seatMapService.reserve(1L, 2, "PNR1")).expectError(RuntimeException.class).verify();
+
+        verify(flightService).restoreSeats(1L, 2);
+        verifyNoInteractions(seatAssignmentRepository);
+    }
+
+    @Test
+    void testReserve_FlightWithoutSeatMapLookedUpOnce() {
+        when(flightService.reduceSeats(1L, 2)).thenReturn(Mono.just(true));
+        when(flightSeatMapRepository.findById(1L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(seatMapService.reserve(1L, 2, "PNR1")).expectNext(true).verifyComplete();
+        StepVerifier.create(seatMapService.reserve(1L, 2, "PNR2")).expectNext(true).verifyComplete();
+
+        verify(flightSeatMapRepository, times(1)).findById(1L);
+        verifyNoInteractions(seatAssignmentRepository);
+    }
+
+    @Test
+    void testCreateSeatMap_ReplacesRememberedAbsence() {
+        when(flightService.reduceSeats(1L, 2)).thenReturn(Mono.just(true));
+        when(flightSeatMapRepository.findById(1L)).thenReturn(Mono.empty());
+        when(flightService.getFlightById(1L))
+                .thenReturn(Mono.just(FlightInventory.builder().id(1L).availableSeats(6).build()));
+        when(flightSeatMapRepository.create(eq(1L), eq(2), eq(4), any())).thenReturn(Mono.just(1));
+        when(seatAssignmentRepository.save(any(SeatAssignment.class))).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+
+        seatMapService.reserve(1L, 2, "PNR1").block();
+        StepVerifier.create(seatMapService.createSeatMap(1L, new SeatMapRequest(2, 4)))
+                .assertNext(map -> assertEquals(8, map.getFreeSeats()))
+                .verifyComplete();
+        StepVerifier.create(seatMapService.reserve(1L, 2, "PNR2")).expectNext(true).verifyComplete();
+
+        verify(seatAssignmentRepository).save(argThat(assignment -> assignment.getBookingRef().equals("PNR2")));
+    }
+
+    @Test
+    void testAssignSeats_AdjacentGroupChosenWithinBooking() {
+        SeatMap stored = new SeatMap(2, 4);
+        stored.take(0, 1);
+        stubStoredMap(stored);
+        stubBooking(3, "");
+        when(flightSeatMapRepository.saveTaken(eq(1L), any(byte[].class), anyLong())).thenReturn(Mono.just(1));
+        when(seatAssignmentRepository.updateAssignedSeats(5L, "", "2A,2B,2C")).thenReturn(Mono.just(1));
+
+        StepVerifier.create(seatMapService.assignSeats(1L, forBooking().count(3).build()))
+                .assertNext(assignment -> assertEquals(List.of("2A", "2B", "2C"), assignment.getSeats()))
+                .verifyComplete();
+
+        // the booking already took these seats from the count
+        verify(flightService, never()).reduceSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testAssignSeats_NoMoreThanTheBookingHolds() {
+        stubStoredMap(new SeatMap(2, 4));
+        stubBooking(2, "1A");
+
+        StepVerifier.create(seatMapService.assignSeats(1L, forBooking().seats(List.of("1B", "1C")).build()))
+                .expectError(InvalidSeatMapException.class)
+                .verify();
+
+        StepVerifier.create(seatMapService.getSeatMap(1L))
+                .assertNext(seatMap -> assertEquals(8, seatMap.getFreeSeats()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testAssignSeats_UnknownBooking() {
+        stubStoredMap(new SeatMap(2, 4));
+        when(seatAssignmentRepository.findByFlightIdAndBookingRef(1L, "PNR1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(seatMapService.assignSeats(1L, forBooking().count(1).build()))
+                .expectError(InvalidSeatMapException.class)
+                .verify();
+    }
+
+    @Test
+    void testAssignSeats_LostRaceUndoesMapChange() {
+        stubStoredMap(new SeatMap(2, 4));
+        stubBooking(2, "");
+        when(flightSeatMapRepository.saveTaken(eq(1L), any(byte[].class), anyLong())).thenReturn(Mono.just(1));
+        when(seatAssignmentRepository.updateAssignedSeats(5L, "", "1A,1B")).thenReturn(Mono.just(0));
+
+        StepVerifier.create(seatMapService.assignSeats(1L, forBooking().seats(List.of("1A", "1B")).build()))
+                .assertNext(assignment -> assertTrue(assignment.getSeats().isEmpty()))
+                .verifyComplete();
+
+        StepVerifier.create(seatMapService.getSeatMap(1L))
+                .assertNext(seatMap -> assertEquals(8, seatMap.getFreeSeats()))
+                .verifyComplete();
+    }
+
+    @Test
+    void testAssignSeats_TakenSeatIsNotAssignedAgain() {
+        SeatMap stored = new SeatMap(2, 4);
+        stored.take(1, 3);
+        stubStoredMap(stored);
+        stubBooking(2, "");
+
+        StepVerifier.create(seatMapService.assignSeats(1L, forBooking().seats(List.of("2C", "2D")).build()))
+                .assertNext(assignment -> assertTrue(assignment.getSeats().isEmpty()))
+                .verifyComplete();
+
+        verify(seatAssignmentRepository, never()).updateAssignedSeats(anyLong(), any(), any());
+    }
+
+    @Test
+    void testAssignSeats_UnknownSeat() {
+        stubStoredMap(new SeatMap(2, 4));
+        stubBooking(1, "");
+
+        StepVerifier.create(seatMapService.assignSeats(1L, forBooking().seats(List.of("3A")).build()))
+                .expectError(InvalidSeatMapException.class)
+                .verify();
+    }
+
+    @Test
+    void testReleaseSeats_FreesOnlySeatsOfTheBookingAndKeepsThemSold() {
+        SeatMap stored = new SeatMap(2, 4);
+        stored.take(0, 0);
+        stored.take(0, 1);
+        stubStoredMap(stored);
+        stubBooking(2, "1A");
+        when(seatAssignmentRepository.updateAssignedSeats(5L, "1A", "")).thenReturn(Mono.just(1));
+        when(flightSeatMapRepository.saveTaken(eq(1L), any(byte[].class), anyLong())).thenReturn(Mono.just(1));
+
+        StepVerifier.create(seatMapService.releaseSeats(1L, forBooking().seats(List.of("1A", "1B")).build()))
+                .assertNext(assignment -> assertEquals(List.of("1A"), assignment.getSeats()))
+                .verifyComplete();
+
+        verify(flightService, never()).restoreSeats(anyLong(), anyInt());
+    }
+
+    @Test
+    void testRestore_CancelledBookingFreesItsAssignedSeat() {
+        SeatMap stored = new SeatMap(2, 4);
+        stored.take(0, 0);
+        stubStoredMap(stored);
+        stubBooking(2, "1A");
+        when(seatAssignmentRepository.deleteAssignment(5L)).thenReturn(Mono.just(1));
+        when(flightSeatMapRepository.saveTaken(eq(1L), any(byte[].class), anyLong())).thenReturn(Mono.just(1));
+        when(flightService.restoreSeats(1L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seatMapService.restore(1L, 2, "PNR1")).expectNext(true).verifyComplete();
+
+        StepVerifier.create(seatMapService.getSeatMap(1L))
+                .assertNext(seatMap -> assertEquals(8, seatMap.getFreeSeats()))
+                .verifyComplete();
+        verify(flightService, times(1)).restoreSeats(1L, 2);
+    }
+
+    @Test
+    void testRestore_RetryAfterBookingForgottenOnlyRestoresCount() {
+        stubBooking(2, "1A");
+        when(seatAssignmentRepository.deleteAssignment(5L)).thenReturn(Mono.just(0));
+        when(flightService.restoreSeats(1L, 2)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(seatMapService.restore(1L, 2, "PNR1")).expectNext(true).verifyComplete();
+
+        verifyNoInteractions(flightSeatMapRepository);
+    }
+}
@@ -0,0 +1,89 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.seats.SeatMap;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SeatMapTest {
+
+    @Test
+    void testTake_EachSeatOnlyOnce() {
+        SeatMap map = new SeatMap(2, 6);
+
+        assertTrue(map.take(1, 3));
+        assertFalse(map.take(1, 3));
+        assertTrue(map.release(1, 3));
+        assertFalse(map.release(1, 3));
+        assertEquals(12, map.freeSeats());
+    }
+
+    @Test
+    void testTakeAdjacent_FindsRunInsideOneRow() {
+        SeatMap map = new SeatMap(2, 6);
+        // row 1: A B . D . F
+        map.take(0, 0);
+        map.take(0, 1);
+        map.take(0, 3);
+        map.take(0, 5);
+
+        // no three adjacent free seats in row 1, so row 2 fills as A-C and then D-F
+        assertEquals(6, map.takeAdjacent(3));
+        assertEquals(9, map.takeAdjacent(3));
+        assertEquals(-1, map.takeAdjacent(2));
+        assertEquals(2, map.takeAdjacent(1));
+        assertEquals(1, map.freeSeats());
+    }
+
+    @Test
+    void testTakeAdjacent_MoreThanARow() {
+        assertEquals(-1, new SeatMap(3, 6).takeAdjacent(7));
+    }
+
+    @Test
+    void testToBytes_RoundTrip() {
+        SeatMap map = new SeatMap(3, 10);
+        map.take(0, 9);
+        map.take(2, 4);
+        long version = map.version();
+
+        SeatMap restored = new SeatMap(3, 10, map.toBytes(), version);
+
+        assertTrue(restored.isTaken(0, 9));
+        assertTrue(restored.isTaken(2, 4));
+        assertEquals(28, restored.freeSeats());
+        assertEquals(2, restored.version());
+    }
+
+    @Test
+    void testConcurrentGroups_NeverOverlap() throws Exception {
+        SeatMap map = new SeatMap(50, 6);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        Set<Integer> seats = ConcurrentHashMap.newKeySet();
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            futures.add(executor.submit(() -> {
+                int first = map.takeAdjacent(2);
+                if (first >= 0) {
+                    assertTrue(seats.add(first));
+                    assertTrue(seats.add(first + 1));
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        executor.shutdown();
+
+        assertEquals(300, seats.size());
+        assertEquals(0, map.freeSeats());
+    }
+}
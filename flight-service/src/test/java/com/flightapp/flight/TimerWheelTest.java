@@ -0,0 +1,62 @@
+package com.flightapp.flight;
+
+import com.flightapp.flight.seats.TimerWheel;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimerWheelTest {
+
+    @Test
+    void testAdvance_NeverFiresEarly() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 0);
+        wheel.schedule("hold", 55);
+
+        assertEquals(List.of(), wheel.advance(59));
+        assertEquals(List.of("hold"), wheel.advance(60));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testAdvance_CascadesFromCoarserLevels() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 0);
+        wheel.schedule("far", 1_000_000);
+        wheel.schedule("middle", 50_000);
+        wheel.schedule("near", 30);
+
+        assertEquals(List.of("near"), wheel.advance(49_999));
+        assertEquals(List.of("middle"), wheel.advance(50_000));
+        assertEquals(List.of(), wheel.advance(999_999));
+        assertEquals(List.of("far"), wheel.advance(1_000_000));
+    }
+
+    @Test
+    void testAdvance_BeyondTopLevelIsReplaced() {
+        TimerWheel<String> wheel = new TimerWheel<>(1, 0);
+        wheel.schedule("beyond", 20_000_000);
+
+        assertEquals(List.of(), wheel.advance(19_999_999));
+        assertEquals(List.of("beyond"), wheel.advance(20_000_000));
+    }
+
+    @Test
+    void testSchedule_PastDeadlineFiresOnNextTick() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 1_000);
+        wheel.schedule("late", 500);
+
+        assertEquals(List.of("late"), wheel.advance(1_010));
+    }
+
+    @Test
+    void testCancel() {
+        TimerWheel<String> wheel = new TimerWheel<>(10, 0);
+        TimerWheel.Timeout<String> timeout = wheel.schedule("hold", 5_000);
+        wheel.schedule("other", 5_000);
+
+        assertTrue(wheel.cancel(timeout));
+        assertFalse(wheel.cancel(timeout));
+        assertEquals(List.of("other"), wheel.advance(5_000));
+    }
+}